@@ -0,0 +1,150 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.navercorp.openwhisk.intellij.utils.FileHelper.readFile;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares JsonParserUtils with the plain ObjectMapper calls it used to make, on the test fixtures.
+ * The *WithMapper benchmarks are the baseline: a new reader or writer per call and a Map for beautifyJson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParserUtilsBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private String actions;
+    private byte[] actionsBytes;
+    private String activations;
+    private byte[] activationsBytes;
+    private String activation;
+    private WhiskActivationWithLogs parsedActivation;
+    private List<Map<String, Object>> params;
+
+    @Setup
+    public void setUp() throws IOException {
+        actions = readFile("actions.json");
+        actionsBytes = actions.getBytes(UTF_8);
+        activations = readFile("activations.json");
+        activationsBytes = activations.getBytes(UTF_8);
+        activation = readFile("activation_with_log.json");
+        parsedActivation = JsonParserUtils.parseWhiskActivation(activation).orElseThrow(IllegalStateException::new);
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, "value" + i);
+        }
+        params = ParameterUtils.mapToListMap(map);
+    }
+
+    @Benchmark
+    public List<WhiskActionMetaData> parseActionsWithMapper() throws IOException {
+        return Arrays.asList(mapper.readValue(actions, WhiskActionMetaData[].class));
+    }
+
+    @Benchmark
+    public List<WhiskActionMetaData> parseActions() throws IOException {
+        return JsonParserUtils.parseWhiskActions(actions);
+    }
+
+    @Benchmark
+    public int streamActions(Blackhole blackhole) throws IOException {
+        return JsonParserUtils.streamWhiskActions(new ByteArrayInputStream(actionsBytes), blackhole::consume);
+    }
+
+    @Benchmark
+    public List<WhiskActivationMetaData> parseActivationsWithMapper() throws IOException {
+        return Arrays.asList(mapper.readValue(activations, WhiskActivationMetaData[].class));
+    }
+
+    @Benchmark
+    public List<WhiskActivationMetaData> parseActivations() throws IOException {
+        return JsonParserUtils.parseWhiskActivations(activations);
+    }
+
+    @Benchmark
+    public int streamActivations(Blackhole blackhole) throws IOException {
+        return JsonParserUtils.streamWhiskActivations(new ByteArrayInputStream(activationsBytes), blackhole::consume);
+    }
+
+    @Benchmark
+    public String beautifyJsonWithMapper() throws IOException {
+        Map<?, ?> map = mapper.readValue(activation, Map.class);
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(map);
+    }
+
+    @Benchmark
+    public String beautifyJson() throws IOException {
+        return JsonParserUtils.beautifyJson(activation);
+    }
+
+    @Benchmark
+    public String writeActivationWithMapper() throws IOException {
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(parsedActivation);
+    }
+
+    @Benchmark
+    public String writeActivation() throws IOException {
+        return JsonParserUtils.writeWhiskActivationToJson(parsedActivation);
+    }
+
+    @Benchmark
+    public String writeParameters() throws IOException {
+        return JsonParserUtils.writeParameterToJson(params);
+    }
+
+    @Benchmark
+    public String writeListMap() throws IOException {
+        return JsonParserUtils.writeListMapToJson(params);
+    }
+
+    /**
+     * Same benchmarks with the Afterburner module registered.
+     */
+    @Fork(value = 1, jvmArgsAppend = "-D" + JsonParserUtils.AFTERBURNER_PROPERTY + "=true")
+    public static class WithAfterburner extends JsonParserUtilsBenchmark {
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts default parameters between the key/value list of the API and the map edited in the dialogs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterUtilsBenchmark {
+    @Param({"5", "50"})
+    public int size;
+
+    private Map<String, Object> map;
+    private List<Map<String, Object>> listMap;
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put("key" + i, i % 2 == 0 ? "value" + i : i);
+        }
+        listMap = ParameterUtils.mapToListMap(map);
+        json = JsonParserUtils.writeMapToJson(map);
+    }
+
+    @Benchmark
+    public Map<String, Object> listMapToMap() {
+        return ParameterUtils.listMapToMap(listMap);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> mapToListMap() {
+        return ParameterUtils.mapToListMap(map);
+    }
+
+    @Benchmark
+    public Optional<String> validateParams() {
+        return ParameterUtils.validateParams(json);
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.model;
+
+import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.navercorp.openwhisk.intellij.utils.FileHelper.readFile;
+
+/**
+ * Reads the annotations of every action of actions.json, the way the tree renderer and the dialogs do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhiskActionBenchmark {
+    private List<WhiskActionMetaData> actions;
+
+    @Setup
+    public void setUp() throws IOException {
+        actions = JsonParserUtils.parseWhiskActions(readFile("actions.json"));
+    }
+
+    @Benchmark
+    public void getKind(Blackhole blackhole) {
+        for (WhiskActionMetaData action : actions) {
+            blackhole.consume(action.getKind());
+        }
+    }
+
+    @Benchmark
+    public void getKindExtension(Blackhole blackhole) {
+        for (WhiskActionMetaData action : actions) {
+            blackhole.consume(action.getKindExtension());
+        }
+    }
+
+    @Benchmark
+    public void getCodeType(Blackhole blackhole) {
+        for (WhiskActionMetaData action : actions) {
+            blackhole.consume(action.getCodeType());
+        }
+    }
+
+    @Benchmark
+    public void flags(Blackhole blackhole) {
+        for (WhiskActionMetaData action : actions) {
+            blackhole.consume(action.isWebAction());
+            blackhole.consume(action.isRawHttp());
+            blackhole.consume(action.isCustomOptions());
+            blackhole.consume(action.isFinalDefaultParameter());
+        }
+    }
+}
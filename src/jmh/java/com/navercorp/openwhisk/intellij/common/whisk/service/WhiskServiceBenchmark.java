@@ -0,0 +1,104 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full service calls, from the request through the pooled client to the parsed entities, against the fake controller
+ * of the tests with a namespace of 100 actions and 1000 activations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhiskServiceBenchmark {
+    private FakeWhiskController controller;
+    private WhiskAuth auth;
+
+    @Setup
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(5, 100, 10, 1000).start();
+        auth = controller.getAuth();
+    }
+
+    @TearDown
+    public void tearDown() {
+        controller.close();
+    }
+
+    @Benchmark
+    public List<WhiskActionMetaData> getWhiskActions() throws IOException {
+        return WhiskActionService.getInstance().getWhiskActions(auth);
+    }
+
+    @Benchmark
+    public Optional<ExecutableWhiskAction> getWhiskAction() throws IOException {
+        return WhiskActionService.getInstance().getWhiskAction(auth, Optional.empty(), Optional.empty(), "action1");
+    }
+
+    @Benchmark
+    public List<WhiskActivationMetaData> getWhiskActivations() throws IOException {
+        return WhiskActivationService.getInstance().getWhiskActivations(auth, Optional.empty(), 100, 0);
+    }
+
+    /**
+     * What the explorer waits for when a namespace is expanded.
+     */
+    @Benchmark
+    public WhiskNamespace loadNamespace() throws Exception {
+        return WhiskEntityLoader.getInstance().loadNamespace(auth, new WhiskNamespace(auth.getAuth(), FakeWhiskController.NAMESPACE)).get();
+    }
+
+    /**
+     * What the run window waits for, the action is read before it is invoked.
+     */
+    @Benchmark
+    public String invokeWhiskAction() throws IOException {
+        WhiskActionService service = WhiskActionService.getInstance();
+        ExecutableWhiskAction action = service.getWhiskAction(auth, Optional.empty(), Optional.empty(), "action1").orElseThrow();
+        return service.invokeWhiskAction(auth, Optional.empty(), action.getWhiskPackage(), action.getName(), "{}");
+    }
+
+    @Benchmark
+    public List<WhiskActivationMetaData> paginateWhiskActivations() throws IOException {
+        return WhiskActivationService.getInstance().paginateWhiskActivations(auth, Optional.empty()).collectAll();
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the explorer tree of one namespace with the given number of entities, the way it is built when the
+ * namespace is expanded, and refreshes it with an unchanged snapshot.
+ * A tenth of the entities are triggers, a twentieth are packages, and half of the actions are in packages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhiskTreeBenchmark {
+    private static final String APIHOST = "https://localhost:31001";
+
+    @Param({"10", "1000", "10000"})
+    public int entities;
+
+    private WhiskNamespace namespace;
+    private WhiskTree builtTree;
+    private WhiskLazyTreeNode builtNamespaceNode;
+    private String lastActionName;
+
+    @Setup
+    public void setUp() {
+        namespace = createNamespace(entities);
+        builtTree = createTree(namespace);
+        builtNamespaceNode = getNamespaceNode(builtTree);
+        builtTree.replaceChildren(builtNamespaceNode, WhiskTree.createNamespaceChildren(namespace));
+
+        WhiskActionMetaData last = namespace.getActions().get(namespace.getActions().size() - 1);
+        lastActionName = "/" + last.getNamespace() + "/" + last.getName();
+    }
+
+    @Benchmark
+    public WhiskTree setTree() {
+        WhiskTree tree = createTree(namespace);
+        tree.replaceChildren(getNamespaceNode(tree), WhiskTree.createNamespaceChildren(namespace));
+        return tree;
+    }
+
+    @Benchmark
+    public List<DefaultMutableTreeNode> refreshUnchanged() {
+        return builtTree.applyChildren(builtNamespaceNode, WhiskTree.createNamespaceChildren(namespace));
+    }
+
+    @Benchmark
+    public Optional<DefaultMutableTreeNode> findNode() {
+        return builtTree.findNode(APIHOST, lastActionName);
+    }
+
+    private static WhiskTree createTree(WhiskNamespace ns) {
+        WhiskEndpoint endpoint = new WhiskEndpoint("local", APIHOST, Collections.singletonList(ns));
+        return new WhiskTree(Collections.singletonList(endpoint), null, null);
+    }
+
+    private static WhiskLazyTreeNode getNamespaceNode(WhiskTree tree) {
+        DefaultMutableTreeNode root = (DefaultMutableTreeNode) tree.getRoot();
+        return (WhiskLazyTreeNode) root.getFirstChild().getChildAt(0);
+    }
+
+    static WhiskNamespace createNamespace(int entities) {
+        int triggerCount = entities / 10;
+        int packageCount = Math.max(1, entities / 20);
+        int actionCount = Math.max(1, entities - triggerCount - packageCount);
+
+        List<WhiskPackage> packages = new ArrayList<>();
+        for (int i = 0; i < packageCount; i++) {
+            packages.add(new WhiskPackage("pkg" + i, "ns", false, i, "0.0.1", new ArrayList<>(), false));
+        }
+        List<WhiskActionMetaData> actions = new ArrayList<>();
+        for (int i = 0; i < actionCount; i++) {
+            String actionNamespace = i % 2 == 0 ? "ns/pkg" + (i / 2 % packageCount) : "ns";
+            actions.add(new WhiskActionMetaData("action" + i, actionNamespace, "0.0.1", i, false, new ArrayList<>(), null, null));
+        }
+        List<WhiskTriggerMetaData> triggers = new ArrayList<>();
+        for (int i = 0; i < triggerCount; i++) {
+            triggers.add(new WhiskTriggerMetaData("trigger" + i, "ns", "0.0.1", i, false, new ArrayList<>()));
+        }
+        return new WhiskNamespace("auth", "ns", packages, actions, triggers);
+    }
+}
@@ -0,0 +1,382 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.service;
+
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.filters.TextConsoleBuilderFactory;
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
+import com.navercorp.openwhisk.intellij.common.utils.CommandRunner;
+import com.navercorp.openwhisk.intellij.common.utils.EventUtils;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
+import com.navercorp.openwhisk.intellij.common.utils.ManifestParserUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuthWithName;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.DeployResult;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.WhiskManifest;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmd;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmdResponse;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployManifest;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskManifestDeployer;
+import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.InvalidateWhiskNamespaceListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Runs wskdeploy commands, and deploys manifests without wskdeploy, in one cancellable background task per request,
+ * with a console in the Run tool window that shows the output as it is written.
+ * The runs of a matrix share that task and console, each line is tagged with the number of its run.
+ * Commands to different namespaces run side by side on one executor, no more than MAX_PARALLEL_COMMANDS at once,
+ * the others wait in its queue without holding a thread.
+ */
+public class WskDeployExecutionService {
+    private static final Logger LOG = Logger.getInstance(WskDeployExecutionService.class);
+    private static final SimpleNotifier NOTIFIER = SimpleNotifier.getInstance();
+
+    public static final int MAX_PARALLEL_COMMANDS = 3;
+
+    private static final long CHECK_CANCELED_INTERVAL_MS = 100;
+
+    private final Project project;
+    private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("WskDeploy Runner", MAX_PARALLEL_COMMANDS);
+
+    public WskDeployExecutionService(Project project) {
+        this.project = project;
+    }
+
+    public void run(WskDeployCmd cmd, WhiskAuthWithName target) {
+        runAll(Collections.singletonList(cmd), Collections.singletonList(target));
+    }
+
+    /**
+     * Runs every command against every target in one task, and once all of them are done a summary shows the result
+     * and time of each run next to the total wall-clock time.
+     * All commands are built before any is started, so a missing file fails the whole matrix up front.
+     */
+    public void runAll(List<WskDeployCmd> cmds, List<WhiskAuthWithName> targets) {
+        List<WskDeployRun> runs = new ArrayList<>();
+        for (WskDeployCmd cmd : cmds) {
+            for (WhiskAuthWithName target : targets) {
+                String[] command = cmd.toCmd(target.getAuth());
+                String title = "wskdeploy " + cmd.getCmdName() + " " + cmd.getManifest().getName() + " to " + target.getName();
+                runs.add(new WskDeployRun(title, cmd.toCmdString(), target, (output, indicator) -> execute(command, output, indicator)));
+            }
+        }
+        startAll("wskdeploy", runs);
+    }
+
+    /**
+     * Deploys every manifest to every target without wskdeploy, skipping the entities that have not changed.
+     */
+    public void deployAll(List<WskDeployManifest> manifests, List<WhiskAuthWithName> targets) {
+        List<WskDeployRun> runs = new ArrayList<>();
+        for (WskDeployManifest manifest : manifests) {
+            for (WhiskAuthWithName target : targets) {
+                String title = "Deploy " + manifest.getName() + " to " + target.getName() + " (unchanged skipped)";
+                runs.add(new WskDeployRun(title, manifest.getFullPath(), target, (output, indicator) -> deploy(manifest, target, output, indicator)));
+            }
+        }
+        startAll("Deploy", runs);
+    }
+
+    private void startAll(String name, List<WskDeployRun> runs) {
+        String title = runs.size() == 1 ? runs.get(0).title : name + " " + runs.size() + " runs";
+        ConsoleView console = showConsole(title);
+        for (int i = 0; i < runs.size(); i++) {
+            runs.get(i).attach(console, runs.size() == 1 ? "" : "[" + (i + 1) + "] ");
+        }
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, title, true) {
+            private long wallClockMs;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                long startedAt = System.nanoTime();
+                List<CompletableFuture<Void>> started = new ArrayList<>();
+                for (WskDeployRun run : runs) {
+                    started.add(CompletableFuture.runAsync(() -> run.execute(indicator), executor));
+                }
+                awaitAll(runs, started, indicator);
+                wallClockMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            }
+
+            @Override
+            public void onSuccess() {
+                finish(runs, console, wallClockMs);
+            }
+
+            @Override
+            public void onCancel() {
+                console.print("\nCancelled.\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+                finish(runs, console, wallClockMs);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                LOG.error("Failed to run " + title, error);
+                finish(runs, console, wallClockMs);
+            }
+        });
+    }
+
+    /**
+     * Shows which runs are done and which are running, until all of them are done.
+     * The runs check the same indicator, so a cancelled task waits only until their processes are killed.
+     */
+    private static void awaitAll(List<WskDeployRun> runs, List<CompletableFuture<Void>> started, ProgressIndicator indicator) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(started.toArray(new CompletableFuture[0]));
+        while (true) {
+            long done = runs.stream().filter(WskDeployRun::isDone).count();
+            indicator.setFraction((double) done / runs.size());
+            indicator.setText(done + " of " + runs.size() + " done");
+            indicator.setText2(runs.stream().filter(WskDeployRun::isRunning).map(run -> run.title).collect(Collectors.joining(", ")));
+            try {
+                all.get(CHECK_CANCELED_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                // update the progress again
+            } catch (ExecutionException e) {
+                // every run catches its own failures
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            }
+        }
+    }
+
+    private void finish(List<WskDeployRun> runs, ConsoleView console, long wallClockMs) {
+        invalidateTargets(runs);
+        if (runs.size() == 1) {
+            notifyFinished(runs.get(0));
+        } else {
+            summarize(runs, console, wallClockMs);
+        }
+    }
+
+    private void notifyFinished(WskDeployRun run) {
+        if (run.isCancelled()) {
+            return;
+        }
+        if (run.isSucceeded()) {
+            NOTIFIER.notify(project, run.title + " succeeded.", NotificationType.INFORMATION);
+        } else {
+            NOTIFIER.notify(project, run.title + " failed, see the console for the output.", NotificationType.ERROR);
+        }
+    }
+
+    /**
+     * Only the namespaces of the targets are loaded again, a failed or cancelled run may have deployed some entities as well.
+     */
+    private void invalidateTargets(List<WskDeployRun> runs) {
+        for (WskDeployRun run : runs) {
+            if (run.isDone()) {
+                EventUtils.publish(project, InvalidateWhiskNamespaceListener.TOPIC, l -> l.invalidateWhiskNamespace(run.target.getAuth()));
+            }
+        }
+    }
+
+    private void summarize(List<WskDeployRun> runs, ConsoleView console, long wallClockMs) {
+        console.print("\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+        long succeeded = 0;
+        long totalMs = 0;
+        for (WskDeployRun run : runs) {
+            if (run.isSucceeded()) {
+                succeeded++;
+            }
+            totalMs += run.elapsedMs;
+            ConsoleViewContentType type = run.isSucceeded() ? ConsoleViewContentType.NORMAL_OUTPUT : ConsoleViewContentType.ERROR_OUTPUT;
+            console.print(String.format("%s%-10s %s (%s)%n", run.prefix, run.getStatus(), run.title, formatSeconds(run.elapsedMs)), type);
+        }
+
+        String summary = succeeded + " of " + runs.size() + " runs succeeded in " + formatSeconds(wallClockMs);
+        console.print(String.format("%n%s, the runs took %s in total.%n", summary, formatSeconds(totalMs)),
+                ConsoleViewContentType.SYSTEM_OUTPUT);
+
+        NotificationType type = succeeded == runs.size() ? NotificationType.INFORMATION : NotificationType.ERROR;
+        NOTIFIER.notify(project, summary + ", see the summary in the Run tool window.", type);
+    }
+
+    private ConsoleView showConsole(String title) {
+        ConsoleView console = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
+        RunContentDescriptor descriptor = new RunContentDescriptor(console, null, console.getComponent(), title);
+        RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+        return console;
+    }
+
+    /**
+     * The process tree is killed when the task is cancelled or when the timeout passes.
+     */
+    private int execute(String[] command, Output output, ProgressIndicator indicator) throws IOException, InterruptedException {
+        CommandRunner runner = CommandRunner.start(command, (line, error) ->
+                output.print(line, error ? ConsoleViewContentType.ERROR_OUTPUT : ConsoleViewContentType.NORMAL_OUTPUT),
+                CommandRunner.DEFAULT_MAX_LINES);
+        WskDeployCmdResponse response = runner.await(CommandRunner.DEFAULT_TIMEOUT_MINUTES, TimeUnit.MINUTES, indicator);
+        output.print("Process finished with exit code " + response.getExistCode(), ConsoleViewContentType.SYSTEM_OUTPUT);
+        return response.getExistCode();
+    }
+
+    /**
+     * Entities are PUT by {@link WhiskManifestDeployer}, the manifest is parsed in the task as it reads the code.
+     */
+    private int deploy(WskDeployManifest manifest, WhiskAuthWithName target, Output output, ProgressIndicator indicator)
+            throws IOException, ExecutionException, InterruptedException {
+        WhiskManifest parsed = ManifestParserUtils.parse(Paths.get(manifest.getFullPath()));
+        parsed.getWarnings().forEach(warning -> output.print(warning, ConsoleViewContentType.LOG_WARNING_OUTPUT));
+
+        CompletableFuture<DeployResult> deploying = WhiskManifestDeployer.getInstance()
+                .deploy(target.getAuth(), parsed, line -> output.print(line, ConsoleViewContentType.NORMAL_OUTPUT));
+        DeployResult result = FutureUtils.waitFor(deploying, indicator);
+        output.print(result.toSummary(), ConsoleViewContentType.SYSTEM_OUTPUT);
+        return result.hasFailures() ? 1 : 0;
+    }
+
+    private static String formatSeconds(long ms) {
+        return String.format("%.1f s", ms / 1000.0);
+    }
+
+    /**
+     * Prints the lines of one run to the shared console.
+     */
+    @FunctionalInterface
+    private interface Output {
+        void print(String line, ConsoleViewContentType type);
+    }
+
+    /**
+     * The work of a run, it returns the exit code.
+     */
+    @FunctionalInterface
+    private interface Work {
+        int run(Output output, ProgressIndicator indicator) throws IOException, ExecutionException, InterruptedException;
+    }
+
+    /**
+     * One command or deploy against one target, the result fields are written on the executor and read in the EDT once the task is done.
+     */
+    private static class WskDeployRun {
+        private final String title;
+        private final String header;
+        private final WhiskAuthWithName target;
+        private final Work work;
+
+        private ConsoleView console;
+        private String prefix;
+        private volatile boolean running;
+        private volatile boolean done;
+        private volatile Integer exitCode;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+        private volatile long elapsedMs;
+
+        WskDeployRun(String title, String header, WhiskAuthWithName target, Work work) {
+            this.title = title;
+            this.header = header;
+            this.target = target;
+            this.work = work;
+        }
+
+        void attach(ConsoleView runConsole, String linePrefix) {
+            this.console = runConsole;
+            this.prefix = linePrefix;
+            print(title, ConsoleViewContentType.SYSTEM_OUTPUT);
+            print(header, ConsoleViewContentType.SYSTEM_OUTPUT);
+        }
+
+        void print(String text, ConsoleViewContentType type) {
+            for (String line : text.split("\n", -1)) {
+                console.print(prefix + line + "\n", type);
+            }
+        }
+
+        /**
+         * Never throws, a failure or cancellation is kept in the result fields and shown in the console.
+         */
+        void execute(ProgressIndicator indicator) {
+            long startedAt = System.nanoTime();
+            running = true;
+            try {
+                indicator.checkCanceled();
+                exitCode = work.run(this::print, indicator);
+            } catch (ProcessCanceledException e) {
+                cancelled = true;
+            } catch (IOException | ExecutionException | RuntimeException e) {
+                Throwable error = e instanceof ExecutionException ? e.getCause() : e;
+                LOG.warn("Failed to run " + title, error);
+                failure = error;
+                print(Objects.toString(error.getMessage(), error.toString()), ConsoleViewContentType.ERROR_OUTPUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            } finally {
+                elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                running = false;
+                done = true;
+            }
+        }
+
+        boolean isRunning() {
+            return running;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        boolean isSucceeded() {
+            return !cancelled && failure == null && exitCode != null && exitCode == 0;
+        }
+
+        String getStatus() {
+            if (cancelled) {
+                return "CANCELLED";
+            } else if (isSucceeded()) {
+                return "SUCCEEDED";
+            } else if (failure != null || exitCode == null) {
+                return "ERROR";
+            }
+            return "FAILED(" + exitCode + ")";
+        }
+    }
+}
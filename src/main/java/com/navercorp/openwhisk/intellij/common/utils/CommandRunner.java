@@ -0,0 +1,193 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.utils;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmdResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Runs a command and reads its stdout and stderr at the same time, so a process that fills one pipe is never blocked
+ * while the other is being read.
+ * Every line goes to the listener as soon as it is read, and only the last lines of each stream are kept for the response.
+ */
+public class CommandRunner {
+    private static final Logger LOG = Logger.getInstance(CommandRunner.class);
+
+    public static final int DEFAULT_MAX_LINES = 10000;
+    public static final long DEFAULT_TIMEOUT_MINUTES = 30;
+
+    private static final long CHECK_CANCELED_INTERVAL_MS = 100;
+
+    private final Process process;
+    private final CompletableFuture<WskDeployCmdResponse> result;
+
+    private CommandRunner(Process process, CompletableFuture<WskDeployCmdResponse> result) {
+        this.process = process;
+        this.result = result;
+    }
+
+    /**
+     * The listener is called on the reading threads, the lines of stdout and stderr may interleave.
+     */
+    public static CommandRunner start(String[] command, OutputListener listener, int maxLines) throws IOException {
+        if (maxLines < 1) {
+            throw new IllegalArgumentException("At least one line must be kept: " + maxLines);
+        }
+        Process process = new ProcessBuilder(command).start();
+        process.getOutputStream().close(); // nothing is written to the command
+
+        LineBuffer output = new LineBuffer(maxLines);
+        LineBuffer errorOutput = new LineBuffer(maxLines);
+        CompletableFuture<Void> pumps = CompletableFuture.allOf(
+                pump(process.getInputStream(), output, line -> listener.onOutput(line, false)),
+                pump(process.getErrorStream(), errorOutput, line -> listener.onOutput(line, true)));
+        CompletableFuture<WskDeployCmdResponse> result = process.onExit()
+                .thenCombine(pumps, (exited, ignore) -> new WskDeployCmdResponse(exited.exitValue(), output.toString(), errorOutput.toString()));
+        return new CommandRunner(process, result);
+    }
+
+    /**
+     * Completes once the process has exited and both streams are read to the end.
+     */
+    public CompletableFuture<WskDeployCmdResponse> getResult() {
+        return result;
+    }
+
+    /**
+     * Waits for the response, the process is killed if it runs longer than the timeout.
+     */
+    public WskDeployCmdResponse await(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        return await(timeout, unit, new EmptyProgressIndicator());
+    }
+
+    /**
+     * Waits for the response, the process is killed if it runs longer than the timeout or if the indicator is cancelled.
+     */
+    public WskDeployCmdResponse await(long timeout, TimeUnit unit, ProgressIndicator indicator) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            while (true) {
+                indicator.checkCanceled();
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    kill();
+                    throw new IOException("The command did not finish within " + formatTimeout(timeout, unit) + " and was killed.");
+                }
+                try {
+                    return result.get(Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(CHECK_CANCELED_INTERVAL_MS)), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // check the indicator and the deadline again
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("The output of the command cannot be read.", e.getCause());
+        } catch (ProcessCanceledException | InterruptedException e) {
+            kill();
+            throw e;
+        }
+    }
+
+    private static String formatTimeout(long timeout, TimeUnit unit) {
+        return timeout + " " + unit.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Kills the process and every process it started.
+     */
+    public void kill() {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    private static CompletableFuture<Void> pump(InputStream stream, LineBuffer buffer, Consumer<String> consumer) {
+        return CompletableFuture.runAsync(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    buffer.add(line);
+                    consumer.accept(line);
+                }
+            } catch (IOException e) {
+                // the stream is closed when the process is killed
+                LOG.debug("Stopped reading the command output", e);
+            }
+        }, AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Receives the output of a command line by line.
+     */
+    @FunctionalInterface
+    public interface OutputListener {
+        void onOutput(String line, boolean error);
+    }
+
+    /**
+     * Keeps the last lines, and the number of lines dropped before them.
+     */
+    static final class LineBuffer {
+        private final int maxLines;
+        private final ArrayDeque<String> lines = new ArrayDeque<>();
+        private long dropped;
+
+        LineBuffer(int maxLines) {
+            this.maxLines = maxLines;
+        }
+
+        synchronized void add(String line) {
+            if (lines.size() == maxLines) {
+                lines.removeFirst();
+                dropped++;
+            }
+            lines.addLast(line);
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder text = new StringBuilder();
+            if (dropped > 0) {
+                text.append("... ").append(dropped).append(" lines dropped ...\n");
+            }
+            for (String line : lines) {
+                text.append(line).append('\n');
+            }
+            return text.toString();
+        }
+    }
+}
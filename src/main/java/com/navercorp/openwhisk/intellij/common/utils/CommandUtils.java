@@ -19,9 +19,8 @@ package com.navercorp.openwhisk.intellij.common.utils;
 import com.intellij.openapi.diagnostic.Logger;
 import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmdResponse;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
 
 public class CommandUtils {
 
@@ -31,30 +30,26 @@ public class CommandUtils {
         throw new UnsupportedOperationException("Utility classes should not have a public or default constructor.");
     }
 
+    /**
+     * Blocks until the command exits, it is killed if it runs longer than the default timeout.
+     */
     public static WskDeployCmdResponse runCommand(String[] command)
             throws IOException, InterruptedException {
-        ProcessBuilder builder = new ProcessBuilder(command);
-        Process process = builder.start();
-
-        // read std output
-        BufferedReader reader =
-                new BufferedReader(new InputStreamReader(process.getInputStream()));
-        StringBuilder output = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            output.append(line + "\n");
-        }
+        return runCommand(command, (line, error) -> {
+        });
+    }
 
-        // read error output
-        BufferedReader errReader =
-                new BufferedReader(new InputStreamReader(process.getErrorStream()));
-        StringBuilder errOutput = new StringBuilder();
-        String errLine;
-        while ((errLine = errReader.readLine()) != null) {
-            errOutput.append(errLine + "\n");
+    /**
+     * Blocks until the command exits, and hands every line of its output to the listener as soon as it is written.
+     */
+    public static WskDeployCmdResponse runCommand(String[] command, CommandRunner.OutputListener listener)
+            throws IOException, InterruptedException {
+        CommandRunner runner = CommandRunner.start(command, listener, CommandRunner.DEFAULT_MAX_LINES);
+        WskDeployCmdResponse response = runner.await(CommandRunner.DEFAULT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        if (response.getExistCode() != 0) {
+            // the arguments are not logged, they may hold an auth key
+            LOG.info(command[0] + " exited with " + response.getExistCode());
         }
-
-        int exitCode = process.waitFor();
-        return new WskDeployCmdResponse(exitCode, output.toString(), errOutput.toString());
+        return response;
     }
 }
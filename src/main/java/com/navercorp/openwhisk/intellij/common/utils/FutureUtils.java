@@ -0,0 +1,84 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.common.utils;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class FutureUtils {
+
+    private static final long CHECK_CANCELED_INTERVAL_MS = 100;
+
+    protected FutureUtils() {
+        throw new UnsupportedOperationException("Utility classes should not have a public or default constructor.");
+    }
+
+    /**
+     * Cancels the sources when the derived future is cancelled, so work that nobody waits for is not started.
+     * A source that is already running finishes, but its result is dropped.
+     *
+     * @return the derived future.
+     */
+    public static <T> CompletableFuture<T> propagateCancellation(CompletableFuture<T> derived, CompletableFuture<?>... sources) {
+        derived.whenComplete((ignore, error) -> {
+            if (derived.isCancelled()) {
+                for (CompletableFuture<?> source : sources) {
+                    source.cancel(false);
+                }
+            }
+        });
+        return derived;
+    }
+
+    /**
+     * Blocks a background task until the future is done.
+     * If the task is cancelled, the future is cancelled as well and ProcessCanceledException is thrown.
+     */
+    public static <T> T waitFor(CompletableFuture<T> future, ProgressIndicator indicator) throws ExecutionException, InterruptedException {
+        try {
+            while (true) {
+                indicator.checkCanceled();
+                try {
+                    return future.get(CHECK_CANCELED_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // not done yet, check the cancellation again
+                }
+            }
+        } catch (ProcessCanceledException e) {
+            future.cancel(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Strips the CompletionException that a dependent stage wraps the failure of its source in.
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -16,10 +16,17 @@
 
 package com.navercorp.openwhisk.intellij.common.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import org.apache.commons.lang.StringUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
 import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
@@ -35,9 +42,19 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskRule;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
 import java.util.*;
+import java.util.function.Consumer;
 
+/**
+ * Readers and writers are immutable and thread-safe, so they are configured once per target type and shared.
+ * The Afterburner module, which generates bytecode for property access, is registered only when the
+ * {@value #AFTERBURNER_PROPERTY} system property is true.
+ */
 public class JsonParserUtils {
+    public static final String AFTERBURNER_PROPERTY = "openwhisk.json.afterburner";
+
     private static ObjectMapper mapper = new ObjectMapper();
     private static SimpleModule simpleModule = new SimpleModule();
 
@@ -48,19 +65,52 @@ public class JsonParserUtils {
     static {
         simpleModule.addSerializer(CodeExec.class, new CodeExecSerializer());
         mapper.registerModule(simpleModule);
+        if (Boolean.getBoolean(AFTERBURNER_PROPERTY)) {
+            mapper.registerModule(new AfterburnerModule());
+        }
     }
 
+    private static final ObjectReader ACTIONS_READER = mapper.readerFor(WhiskActionMetaData[].class);
+    private static final ObjectReader ACTION_READER = mapper.readerFor(ExecutableWhiskAction.class);
+    private static final ObjectReader PACKAGES_READER = mapper.readerFor(WhiskPackage[].class);
+    private static final ObjectReader PACKAGE_READER = mapper.readerFor(WhiskPackageWithActions.class);
+    private static final ObjectReader ENDPOINTS_READER = mapper.readerFor(WhiskEndpoint[].class);
+    private static final ObjectReader NAMESPACES_READER = mapper.readerFor(String[].class);
+    private static final ObjectReader ACTIVATIONS_READER = mapper.readerFor(WhiskActivationMetaData[].class);
+    private static final ObjectReader ACTIVATION_READER = mapper.readerFor(WhiskActivationWithLogs.class);
+    private static final ObjectReader TRIGGERS_READER = mapper.readerFor(WhiskTriggerMetaData[].class);
+    private static final ObjectReader TRIGGER_READER = mapper.readerFor(ExecutableWhiskTrigger.class);
+    private static final ObjectReader RULE_READER = mapper.readerFor(WhiskRule.class);
+    private static final ObjectReader LIST_MAP_READER = mapper.readerFor(new TypeReference<List<Map<String, Object>>>() {
+    });
+    private static final ObjectReader MAP_READER = mapper.readerFor(Map.class);
+    private static final ObjectReader ACTION_ELEMENT_READER = mapper.readerFor(WhiskActionMetaData.class);
+    private static final ObjectReader PACKAGE_ELEMENT_READER = mapper.readerFor(WhiskPackage.class);
+    private static final ObjectReader ACTIVATION_ELEMENT_READER = mapper.readerFor(WhiskActivationMetaData.class);
+    private static final ObjectReader TRIGGER_ELEMENT_READER = mapper.readerFor(WhiskTriggerMetaData.class);
+    private static final ObjectWriter WRITER = mapper.writer();
+    private static final ObjectWriter PRETTY_WRITER = mapper.writerWithDefaultPrettyPrinter();
+
     public static List<WhiskActionMetaData> parseWhiskActions(String actions) throws IOException {
         if (StringUtils.isNotEmpty(actions)) {
-            return Arrays.asList(mapper.readValue(actions, WhiskActionMetaData[].class));
+            return Arrays.asList(ACTIONS_READER.<WhiskActionMetaData[]>readValue(actions));
         } else {
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Parses a JSON array straight from the stream, and hands each action to the consumer as soon as it is decoded.
+     *
+     * @return the number of actions.
+     */
+    public static int streamWhiskActions(InputStream actions, Consumer<WhiskActionMetaData> consumer) throws IOException {
+        return streamArray(actions, ACTION_ELEMENT_READER, consumer);
+    }
+
     public static Optional<ExecutableWhiskAction> parseWhiskAction(String action) throws IOException {
         if (StringUtils.isNotEmpty(action)) {
-            return Optional.of(mapper.readValue(action, ExecutableWhiskAction.class));
+            return Optional.of(ACTION_READER.readValue(action));
         } else {
             return Optional.empty();
         }
@@ -68,15 +118,19 @@ public class JsonParserUtils {
 
     public static List<WhiskPackage> parseWhiskPackages(String packages) throws IOException {
         if (StringUtils.isNotEmpty(packages)) {
-            return Arrays.asList(mapper.readValue(packages, WhiskPackage[].class));
+            return Arrays.asList(PACKAGES_READER.<WhiskPackage[]>readValue(packages));
         } else {
             return new ArrayList<>();
         }
     }
 
+    public static int streamWhiskPackages(InputStream packages, Consumer<WhiskPackage> consumer) throws IOException {
+        return streamArray(packages, PACKAGE_ELEMENT_READER, consumer);
+    }
+
     public static Optional<WhiskPackageWithActions> parseWhiskPackage(String pkg) throws IOException {
         if (StringUtils.isNotEmpty(pkg)) {
-            return Optional.of(mapper.readValue(pkg, WhiskPackageWithActions.class));
+            return Optional.of(PACKAGE_READER.readValue(pkg));
         } else {
             return Optional.empty();
         }
@@ -85,7 +139,7 @@ public class JsonParserUtils {
     // TODO test
     public static List<WhiskEndpoint> parseWhiskEndpoints(String endpoints) throws IOException {
         if (StringUtils.isNotEmpty(endpoints)) {
-            return Arrays.asList(mapper.readValue(endpoints, WhiskEndpoint[].class));
+            return Arrays.asList(ENDPOINTS_READER.<WhiskEndpoint[]>readValue(endpoints));
         } else {
             return new ArrayList<>();
         }
@@ -93,13 +147,13 @@ public class JsonParserUtils {
 
     // TODO test
     public static String writeEndpointsToJson(List<WhiskEndpoint> ep) throws JsonProcessingException {
-        return mapper.writeValueAsString(ep);
+        return WRITER.writeValueAsString(ep);
     }
 
     // TODO test
     public static String[] parseWhiskNamespace(String namespaces) throws IOException {
         if (StringUtils.isNotEmpty(namespaces)) {
-            return mapper.readValue(namespaces, String[].class);
+            return NAMESPACES_READER.readValue(namespaces);
         } else {
             return new String[]{};
         }
@@ -108,16 +162,20 @@ public class JsonParserUtils {
     // TODO test
     public static List<WhiskActivationMetaData> parseWhiskActivations(String actions) throws IOException {
         if (StringUtils.isNotEmpty(actions)) {
-            return Arrays.asList(mapper.readValue(actions, WhiskActivationMetaData[].class));
+            return Arrays.asList(ACTIVATIONS_READER.<WhiskActivationMetaData[]>readValue(actions));
         } else {
             return new ArrayList<>();
         }
     }
 
+    public static int streamWhiskActivations(InputStream activations, Consumer<WhiskActivationMetaData> consumer) throws IOException {
+        return streamArray(activations, ACTIVATION_ELEMENT_READER, consumer);
+    }
+
     // TODO test
     public static Optional<WhiskActivationWithLogs> parseWhiskActivation(String actions) throws IOException {
         if (StringUtils.isNotEmpty(actions)) {
-            return Optional.of(mapper.readValue(actions, WhiskActivationWithLogs.class));
+            return Optional.of(ACTIVATION_READER.readValue(actions));
         } else {
             return Optional.empty();
         }
@@ -125,20 +183,24 @@ public class JsonParserUtils {
 
     // TODO test
     public static String writeWhiskActivationToJson(WhiskActivationWithLogs activation) throws JsonProcessingException {
-        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(activation);
+        return PRETTY_WRITER.writeValueAsString(activation);
     }
 
     public static List<WhiskTriggerMetaData> parseWhiskTriggers(String triggers) throws IOException {
         if (StringUtils.isNotEmpty(triggers)) {
-            return Arrays.asList(mapper.readValue(triggers, WhiskTriggerMetaData[].class));
+            return Arrays.asList(TRIGGERS_READER.<WhiskTriggerMetaData[]>readValue(triggers));
         } else {
             return new ArrayList<>();
         }
     }
 
+    public static int streamWhiskTriggers(InputStream triggers, Consumer<WhiskTriggerMetaData> consumer) throws IOException {
+        return streamArray(triggers, TRIGGER_ELEMENT_READER, consumer);
+    }
+
     public static Optional<ExecutableWhiskTrigger> parseWhiskTrigger(String triggers) throws IOException {
         if (StringUtils.isNotEmpty(triggers)) {
-            return Optional.of(mapper.readValue(triggers, ExecutableWhiskTrigger.class));
+            return Optional.of(TRIGGER_READER.readValue(triggers));
         } else {
             return Optional.empty();
         }
@@ -147,7 +209,7 @@ public class JsonParserUtils {
     // TODO test
     public static Optional<WhiskRule> parseWhiskRule(String rule) throws IOException {
         if (StringUtils.isNotEmpty(rule)) {
-            return Optional.of(mapper.readValue(rule, WhiskRule.class));
+            return Optional.of(RULE_READER.readValue(rule));
         } else {
             return Optional.empty();
         }
@@ -155,14 +217,13 @@ public class JsonParserUtils {
 
     // TODO test
     public static String writeParameterToJson(List<Map<String, Object>> params) throws JsonProcessingException {
-        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(ParameterUtils.listMapToMap(params));
+        return PRETTY_WRITER.writeValueAsString(ParameterUtils.listMapToMap(params));
     }
 
     // TODO test
     public static List<Map<String, Object>> parseListMap(String json) throws IOException {
         if (StringUtils.isNotEmpty(json)) {
-            return mapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {
-            });
+            return LIST_MAP_READER.readValue(json);
         } else {
             return new ArrayList<>();
         }
@@ -170,14 +231,14 @@ public class JsonParserUtils {
 
     // TODO test
     public static String writeListMapToJson(List<Map<String, Object>> maps) throws JsonProcessingException {
-        return mapper.writer().writeValueAsString(maps);
+        return WRITER.writeValueAsString(maps);
     }
 
     // TODO test
     public static Map<String, Object> parseMap(String json) {
         if (StringUtils.isNotEmpty(json)) {
             try {
-                return mapper.readValue(json, Map.class);
+                return MAP_READER.readValue(json);
             } catch (IOException e) {
                 return new LinkedHashMap<>();
             }
@@ -188,7 +249,7 @@ public class JsonParserUtils {
 
     // TODO test
     public static String writeMapToJson(Map<String, Object> map) throws JsonProcessingException {
-        return mapper.writeValueAsString(map);
+        return WRITER.writeValueAsString(map);
     }
 
     // TODO test
@@ -202,13 +263,36 @@ public class JsonParserUtils {
         return valid;
     }
 
-    // TODO test
+    /**
+     * Copies the tokens to a pretty printing generator one by one, without building a map of the document.
+     */
     public static String beautifyJson(String json) throws IOException {
         if (StringUtils.isNotEmpty(json)) {
-            Map<String, Object> j = mapper.readValue(json, Map.class);
-            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(j);
+            StringWriter out = new StringWriter(json.length() * 2);
+            try (JsonParser parser = mapper.getFactory().createParser(json);
+                 JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.setPrettyPrinter(new DefaultPrettyPrinter());
+                while (parser.nextToken() != null) {
+                    generator.copyCurrentEvent(parser);
+                }
+            }
+            return out.toString();
         } else {
             return "";
         }
     }
+
+    /**
+     * An empty body is treated as an empty array, like the methods that parse a String.
+     */
+    private static <T> int streamArray(InputStream json, ObjectReader elementReader, Consumer<T> consumer) throws IOException {
+        int count = 0;
+        try (MappingIterator<T> iterator = elementReader.readValues(json)) {
+            while (iterator.hasNextValue()) {
+                consumer.accept(iterator.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
 }
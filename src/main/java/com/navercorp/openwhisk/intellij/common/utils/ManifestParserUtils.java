@@ -0,0 +1,516 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.ManifestEntity;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.WhiskManifest;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses the packages, actions, sequences, triggers and rules of a wskdeploy manifest into the bodies they are PUT with.
+ * The YAML is only composed into nodes and never constructed into objects, so tags in a manifest cannot create classes.
+ * Features that need more than a PUT, such as feeds and dependencies, are refused so a manifest is never half deployed.
+ */
+public class ManifestParserUtils {
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private static final String DEFAULT_PACKAGE = "default";
+    private static final Pattern MANIFEST_KEY = Pattern.compile("^(packages|project|package)\\s*:", Pattern.MULTILINE);
+    private static final Pattern ENV_VARIABLE = Pattern.compile("\\$\\{(\\w+)}|^\\$(\\w+)$");
+    private static final Map<String, String> KINDS_BY_EXTENSION = Map.of(
+            ".js", "nodejs:default",
+            ".py", "python:default",
+            ".jar", "java:default",
+            ".swift", "swift:default",
+            ".php", "php:default",
+            ".go", "go:default",
+            ".rb", "ruby:default");
+    private static final Map<String, Object> TYPE_DEFAULTS = Map.of(
+            "string", "",
+            "integer", 0,
+            "float", 0.0,
+            "boolean", false,
+            "json", Map.of());
+    private static final Map<String, String> LIMITS = Map.of(
+            "timeout", "timeout",
+            "memorySize", "memory",
+            "logSize", "logs",
+            "concurrentActivations", "concurrency");
+
+    protected ManifestParserUtils() {
+        throw new UnsupportedOperationException("Utility classes should not have a public or default constructor.");
+    }
+
+    /**
+     * The code of actions is read relative to the manifest, and $VAR or ${VAR} in inputs are taken from the environment.
+     */
+    public static WhiskManifest parse(Path manifestFile) throws IOException {
+        Object document;
+        try (Reader reader = Files.newBufferedReader(manifestFile, UTF_8)) {
+            document = toJava(new Yaml().compose(reader));
+        } catch (YAMLException e) {
+            throw new IOException("Invalid manifest " + manifestFile.getFileName() + ": " + e.getMessage(), e);
+        }
+        if (!(document instanceof Map)) {
+            throw new IOException("The manifest " + manifestFile.getFileName() + " is empty.");
+        }
+
+        Map<String, Object> packages = getPackages(asMap(document, "manifest"));
+        if (packages.isEmpty()) {
+            throw new IOException("The manifest " + manifestFile.getFileName() + " has no packages.");
+        }
+
+        Parser parser = new Parser(manifestFile.toAbsolutePath().getParent(), System.getenv());
+        for (Map.Entry<String, Object> pkg : packages.entrySet()) {
+            parser.parsePackage(pkg.getKey(), asMap(pkg.getValue(), "package " + pkg.getKey()));
+        }
+        return new WhiskManifest(parser.entities, parser.warnings);
+    }
+
+    /**
+     * Reads only the content, without the code of actions, so it can be used by the manifest index.
+     *
+     * @return the declared entities such as "action hello/world", or empty if the content is not a manifest.
+     */
+    public static Optional<List<String>> readDeclaredEntities(CharSequence content) {
+        if (!MANIFEST_KEY.matcher(content).find()) {
+            return Optional.empty();
+        }
+        try {
+            Object document = toJava(new Yaml().compose(new StringReader(content.toString())));
+            if (!(document instanceof Map)) {
+                return Optional.empty();
+            }
+            Map<String, Object> packages = getPackages(asMap(document, "manifest"));
+            if (packages.isEmpty()) {
+                return Optional.empty();
+            }
+
+            List<String> entities = new ArrayList<>();
+            for (Map.Entry<String, Object> pkg : packages.entrySet()) {
+                String pkgName = DEFAULT_PACKAGE.equals(pkg.getKey()) ? null : pkg.getKey();
+                Map<String, Object> declared = asMap(pkg.getValue(), "package " + pkg.getKey());
+                if (pkgName != null) {
+                    entities.add(ManifestEntity.Type.PACKAGE.name().toLowerCase(Locale.ROOT) + " " + pkgName);
+                }
+                addNames(entities, ManifestEntity.Type.ACTION, pkgName, getMap(declared, "actions"));
+                addNames(entities, ManifestEntity.Type.SEQUENCE, pkgName, getMap(declared, "sequences"));
+                addNames(entities, ManifestEntity.Type.TRIGGER, null, getMap(declared, "triggers"));
+                addNames(entities, ManifestEntity.Type.RULE, null, getMap(declared, "rules"));
+            }
+            return Optional.of(entities);
+        } catch (YAMLException | IOException e) {
+            // not a manifest, or not one yet while it is being written
+            return Optional.empty();
+        }
+    }
+
+    private static void addNames(List<String> entities, ManifestEntity.Type type, String pkgName, Map<String, Object> declared) {
+        for (String name : declared.keySet()) {
+            entities.add(type.name().toLowerCase(Locale.ROOT) + " " + (pkgName == null ? name : pkgName + "/" + name));
+        }
+    }
+
+    /**
+     * A manifest declares its packages under packages, under project, or as a single package.
+     */
+    private static Map<String, Object> getPackages(Map<String, Object> root) throws IOException {
+        Map<String, Object> packages = new LinkedHashMap<>();
+        if (root.containsKey("project")) {
+            packages.putAll(getMap(asMap(root.get("project"), "project"), "packages"));
+        }
+        packages.putAll(getMap(root, "packages"));
+        if (root.containsKey("package")) {
+            Map<String, Object> pkg = asMap(root.get("package"), "package");
+            packages.put(String.valueOf(pkg.get("name")), pkg);
+        }
+        return packages;
+    }
+
+    private static String digest(Map<String, Object> payload) throws IOException {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(CANONICAL_MAPPER.writeValueAsBytes(payload));
+            StringBuilder hex = new StringBuilder("sha256:");
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Object toJava(Node node) {
+        if (node instanceof MappingNode) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (NodeTuple tuple : ((MappingNode) node).getValue()) {
+                map.put(String.valueOf(toJava(tuple.getKeyNode())), toJava(tuple.getValueNode()));
+            }
+            return map;
+        } else if (node instanceof SequenceNode) {
+            return ((SequenceNode) node).getValue().stream().map(ManifestParserUtils::toJava).collect(Collectors.toList());
+        } else if (node instanceof ScalarNode) {
+            return toScalar((ScalarNode) node);
+        }
+        return null;
+    }
+
+    private static Object toScalar(ScalarNode node) {
+        String value = node.getValue();
+        Tag tag = node.getTag();
+        try {
+            if (Tag.NULL.equals(tag)) {
+                return null;
+            } else if (Tag.BOOL.equals(tag)) {
+                return value.matches("(?i)true|yes|on");
+            } else if (Tag.INT.equals(tag)) {
+                return Long.parseLong(value.replace("_", ""));
+            } else if (Tag.FLOAT.equals(tag)) {
+                return Double.parseDouble(value.replace("_", ""));
+            }
+        } catch (NumberFormatException e) {
+            // such as hexadecimal or sexagesimal numbers, they are kept as written
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value, String what) throws IOException {
+        if (value == null) {
+            return new LinkedHashMap<>();
+        } else if (value instanceof Map) {
+            return (Map<String, Object>) value;
+        }
+        throw new IOException("The " + what + " must be a map, but it is " + value);
+    }
+
+    private static Map<String, Object> getMap(Map<String, Object> map, String key) throws IOException {
+        return asMap(map.get(key), key);
+    }
+
+    private static String getString(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static class Parser {
+        private final Path baseDir;
+        private final Map<String, String> env;
+        private final List<ManifestEntity> entities = new ArrayList<>();
+        private final List<String> warnings = new ArrayList<>();
+
+        Parser(Path baseDir, Map<String, String> env) {
+            this.baseDir = baseDir;
+            this.env = env;
+        }
+
+        void parsePackage(String name, Map<String, Object> pkg) throws IOException {
+            if (!getMap(pkg, "dependencies").isEmpty()) {
+                throw new IOException("The dependencies of package " + name + " are not supported, deploy it with wskdeploy.");
+            }
+            if (!getMap(pkg, "apis").isEmpty()) {
+                warnings.add("The apis of package " + name + " are not deployed.");
+            }
+
+            String pkgName = DEFAULT_PACKAGE.equals(name) ? null : name;
+            if (pkgName != null) {
+                Map<String, Object> payload = new LinkedHashMap<>();
+                payload.put("publish", Boolean.TRUE.equals(pkg.get("public")));
+                payload.put("parameters", toParameters(getMap(pkg, "inputs")));
+                payload.put("annotations", toKeyValues(getMap(pkg, "annotations")));
+                add(ManifestEntity.Type.PACKAGE, pkgName, payload);
+            }
+
+            for (Map.Entry<String, Object> action : getMap(pkg, "actions").entrySet()) {
+                parseAction(pkgName, action.getKey(), asMap(action.getValue(), "action " + action.getKey()));
+            }
+            for (Map.Entry<String, Object> sequence : getMap(pkg, "sequences").entrySet()) {
+                parseSequence(pkgName, sequence.getKey(), asMap(sequence.getValue(), "sequence " + sequence.getKey()));
+            }
+            for (Map.Entry<String, Object> trigger : getMap(pkg, "triggers").entrySet()) {
+                parseTrigger(trigger.getKey(), asMap(trigger.getValue(), "trigger " + trigger.getKey()));
+            }
+            for (Map.Entry<String, Object> rule : getMap(pkg, "rules").entrySet()) {
+                parseRule(pkgName, rule.getKey(), asMap(rule.getValue(), "rule " + rule.getKey()));
+            }
+        }
+
+        private void parseAction(String pkgName, String name, Map<String, Object> action) throws IOException {
+            String function = getString(action, "function");
+            Map<String, Object> exec = new LinkedHashMap<>();
+            if (action.get("docker") != null) {
+                exec.put("kind", "blackbox");
+                exec.put("image", getString(action, "docker"));
+            } else {
+                exec.put("kind", toKind(name, getString(action, "runtime"), function));
+            }
+
+            if (action.get("code") != null) {
+                exec.put("code", getString(action, "code"));
+                exec.put("binary", false);
+            } else if (function != null) {
+                Path file = baseDir.resolve(function);
+                boolean binary = Files.isDirectory(file) || function.endsWith(".zip") || function.endsWith(".jar");
+                exec.put("code", binary ? Base64.getEncoder().encodeToString(readBinary(file)) : new String(Files.readAllBytes(file), UTF_8));
+                exec.put("binary", binary);
+            } else if (action.get("docker") == null) {
+                throw new IOException("The action " + name + " has neither function nor code.");
+            }
+            if (action.get("main") != null) {
+                exec.put("main", getString(action, "main"));
+            }
+
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("exec", exec);
+            payload.put("parameters", toParameters(getMap(action, "inputs")));
+            payload.put("annotations", toAnnotations(action));
+            Map<String, Object> limits = toLimits(name, getMap(action, "limits"));
+            if (!limits.isEmpty()) {
+                payload.put("limits", limits);
+            }
+            add(ManifestEntity.Type.ACTION, qualify(pkgName, name), payload);
+        }
+
+        private void parseSequence(String pkgName, String name, Map<String, Object> sequence) throws IOException {
+            String actions = getString(sequence, "actions");
+            if (actions == null || actions.trim().isEmpty()) {
+                throw new IOException("The sequence " + name + " has no actions.");
+            }
+            Map<String, Object> exec = new LinkedHashMap<>();
+            exec.put("kind", "sequence");
+            exec.put("components", Stream.of(actions.split(","))
+                    .map(String::trim)
+                    .map(component -> toFullyQualifiedName(pkgName, component))
+                    .collect(Collectors.toList()));
+
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("exec", exec);
+            payload.put("parameters", toParameters(getMap(sequence, "inputs")));
+            payload.put("annotations", toAnnotations(sequence));
+            add(ManifestEntity.Type.SEQUENCE, qualify(pkgName, name), payload);
+        }
+
+        private void parseTrigger(String name, Map<String, Object> trigger) throws IOException {
+            if (trigger.get("feed") != null || trigger.get("source") != null) {
+                throw new IOException("The trigger " + name + " has a feed, which is not supported, deploy it with wskdeploy.");
+            }
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("parameters", toParameters(getMap(trigger, "inputs")));
+            payload.put("annotations", toKeyValues(getMap(trigger, "annotations")));
+            add(ManifestEntity.Type.TRIGGER, name, payload);
+        }
+
+        private void parseRule(String pkgName, String name, Map<String, Object> rule) throws IOException {
+            String trigger = getString(rule, "trigger");
+            String action = getString(rule, "action");
+            if (trigger == null || action == null) {
+                throw new IOException("The rule " + name + " needs both trigger and action.");
+            }
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("trigger", toFullyQualifiedName(null, trigger));
+            payload.put("action", toFullyQualifiedName(pkgName, action));
+            payload.put("annotations", toKeyValues(getMap(rule, "annotations")));
+            add(ManifestEntity.Type.RULE, name, payload);
+        }
+
+        /**
+         * The digest is taken before the digest annotation is added, so it can be recomputed from the manifest alone.
+         */
+        @SuppressWarnings("unchecked")
+        private void add(ManifestEntity.Type type, String name, Map<String, Object> payload) throws IOException {
+            String digest = digest(payload);
+            Map<String, Object> annotation = new LinkedHashMap<>();
+            annotation.put("key", ManifestEntity.DIGEST_ANNOTATION);
+            annotation.put("value", digest);
+            ((List<Map<String, Object>>) payload.get("annotations")).add(annotation);
+            entities.add(new ManifestEntity(type, name, payload, digest));
+        }
+
+        private String toKind(String name, String runtime, String function) throws IOException {
+            if (runtime != null) {
+                return runtime.contains(":") ? runtime : runtime + ":default";
+            }
+            if (function != null) {
+                for (Map.Entry<String, String> kind : KINDS_BY_EXTENSION.entrySet()) {
+                    if (function.endsWith(kind.getKey())) {
+                        return kind.getValue();
+                    }
+                }
+            }
+            throw new IOException("The runtime of action " + name + " cannot be inferred from its function, set its runtime.");
+        }
+
+        /**
+         * A directory is zipped with its entries in a fixed order and time, so the same files give the same digest.
+         */
+        private byte[] readBinary(Path file) throws IOException {
+            if (!Files.isDirectory(file)) {
+                return Files.readAllBytes(file);
+            }
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(file)) {
+                files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+                for (Path f : files) {
+                    ZipEntry entry = new ZipEntry(file.relativize(f).toString().replace('\\', '/'));
+                    entry.setTime(0);
+                    zip.putNextEntry(entry);
+                    Files.copy(f, zip);
+                    zip.closeEntry();
+                }
+            }
+            return bytes.toByteArray();
+        }
+
+        private List<Map<String, Object>> toAnnotations(Map<String, Object> action) throws IOException {
+            Map<String, Object> annotations = new LinkedHashMap<>(getMap(action, "annotations"));
+            Object web = action.containsKey("web") ? action.get("web") : action.get("web-export");
+            if (web != null) {
+                String value = String.valueOf(web).toLowerCase(Locale.ROOT);
+                boolean export = value.equals("true") || value.equals("yes") || value.equals("raw");
+                annotations.put("web-export", export);
+                if (export) {
+                    annotations.put("final", true);
+                }
+                if (value.equals("raw")) {
+                    annotations.put("raw-http", true);
+                }
+            }
+            return toKeyValues(annotations);
+        }
+
+        private Map<String, Object> toLimits(String name, Map<String, Object> limits) {
+            Map<String, Object> converted = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> limit : limits.entrySet()) {
+                String key = LIMITS.get(limit.getKey());
+                if (key == null) {
+                    warnings.add("The limit " + limit.getKey() + " of action " + name + " is not deployed.");
+                } else {
+                    converted.put(key, limit.getValue());
+                }
+            }
+            return converted;
+        }
+
+        /**
+         * An input is either its value, a type such as string that stands for the empty value of the type,
+         * or a map with its value or default.
+         */
+        private List<Map<String, Object>> toParameters(Map<String, Object> inputs) throws IOException {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> input : inputs.entrySet()) {
+                Object value = input.getValue();
+                if (value instanceof Map
+                        && (((Map<?, ?>) value).containsKey("type") || ((Map<?, ?>) value).containsKey("value")
+                        || ((Map<?, ?>) value).containsKey("default"))) {
+                    Map<String, Object> typed = asMap(value, "input " + input.getKey());
+                    if (typed.containsKey("value")) {
+                        value = typed.get("value");
+                    } else if (typed.containsKey("default")) {
+                        value = typed.get("default");
+                    } else {
+                        value = TYPE_DEFAULTS.getOrDefault(getString(typed, "type"), "");
+                    }
+                } else if (value instanceof String && TYPE_DEFAULTS.containsKey(value)) {
+                    value = TYPE_DEFAULTS.get(value);
+                }
+                values.put(input.getKey(), interpolate(value));
+            }
+            return toKeyValues(values);
+        }
+
+        private Object interpolate(Object value) {
+            if (value instanceof String) {
+                Matcher matcher = ENV_VARIABLE.matcher((String) value);
+                StringBuffer interpolated = new StringBuffer();
+                while (matcher.find()) {
+                    String variable = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                    String replacement = env.get(variable);
+                    if (replacement == null) {
+                        warnings.add("The environment variable " + variable + " is not set.");
+                        replacement = "";
+                    }
+                    matcher.appendReplacement(interpolated, Matcher.quoteReplacement(replacement));
+                }
+                matcher.appendTail(interpolated);
+                return interpolated.toString();
+            } else if (value instanceof Map) {
+                Map<String, Object> interpolated = new LinkedHashMap<>();
+                ((Map<?, ?>) value).forEach((k, v) -> interpolated.put(String.valueOf(k), interpolate(v)));
+                return interpolated;
+            } else if (value instanceof List) {
+                return ((List<?>) value).stream().map(this::interpolate).collect(Collectors.toList());
+            }
+            return value;
+        }
+
+        private List<Map<String, Object>> toKeyValues(Map<String, Object> map) {
+            return ParameterUtils.mapToListMap(map);
+        }
+
+        private String qualify(String pkgName, String name) {
+            return pkgName == null ? name : pkgName + "/" + name;
+        }
+
+        /**
+         * A name without a package is looked up in the given package, and the default namespace is written as _.
+         */
+        private String toFullyQualifiedName(String pkgName, String name) {
+            if (name.startsWith("/")) {
+                return name;
+            } else if (name.contains("/")) {
+                return "/_/" + name;
+            }
+            return "/_/" + qualify(pkgName, name);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.common.whisk.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable copy of the key/value annotations of an entity, flattened into two arrays.
+ * Entities carry a handful of annotations, so a scan of the keys is cheaper than hashing, and there is no map to walk.
+ * Like a scan of the original list, the first annotation of a key wins.
+ */
+public final class AnnotationIndex {
+    public static final AnnotationIndex EMPTY = new AnnotationIndex(new String[0], new Object[0]);
+
+    private final String[] keys;
+    private final Object[] values;
+
+    private AnnotationIndex(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public static AnnotationIndex of(List<Map<String, Object>> annotations) {
+        if (annotations == null || annotations.isEmpty()) {
+            return EMPTY;
+        }
+        String[] keys = new String[annotations.size()];
+        Object[] values = new Object[annotations.size()];
+        int i = 0;
+        for (Map<String, Object> annotation : annotations) {
+            Object key = annotation.get("key");
+            keys[i] = key instanceof String ? (String) key : null;
+            values[i] = annotation.get("value");
+            i++;
+        }
+        return new AnnotationIndex(keys, values);
+    }
+
+    public Optional<Object> get(String key) {
+        int i = indexOf(key);
+        return i < 0 ? Optional.empty() : Optional.ofNullable(values[i]);
+    }
+
+    public Optional<String> getString(String key) {
+        int i = indexOf(key);
+        return i >= 0 && values[i] instanceof String ? Optional.of((String) values[i]) : Optional.empty();
+    }
+
+    /**
+     * @return false if the annotation is missing or is not a boolean.
+     */
+    public boolean getBoolean(String key) {
+        int i = indexOf(key);
+        return i >= 0 && Boolean.TRUE.equals(values[i]);
+    }
+
+    private int indexOf(String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -16,6 +16,12 @@
 
 package com.navercorp.openwhisk.intellij.common.whisk.model;
 
+import com.navercorp.openwhisk.intellij.common.Icons;
+
+import javax.swing.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  *  Set the type of runtime based on upstream
  *    - https://github.com/apache/openwhisk/blob/master/ansible/files/runtimes.json
@@ -41,6 +47,12 @@ public enum Runtime {
     SEQUENCE("sequence", "", "", true, false),
     DOCKER("blackbox", "", "", true, false);
 
+    /**
+     * The languages in the order a kind that is not listed above is matched against.
+     */
+    private static final Runtime[] LANGUAGES = {JAVA, NODE_10, PYTHON_3, SWIFT_4_2, PHP_7_4, GO_1_11, RUBY_2_5, SEQUENCE};
+    private static final Map<String, Runtime> KINDS = new ConcurrentHashMap<>();
+
     private String name;
     private String extension;
     private String version;
@@ -73,6 +85,54 @@ public enum Runtime {
         }
     }
 
+    public String getExtension() {
+        return extension;
+    }
+
+    public Icon getIcon() {
+        switch (name) {
+            case "java":
+                return Icons.KIND_JAVA;
+            case "nodejs":
+                return Icons.KIND_JS;
+            case "python":
+                return Icons.KIND_PYTHON;
+            case "swift":
+                return Icons.KIND_SWIFT;
+            case "php":
+                return Icons.KIND_PHP;
+            case "go":
+                return Icons.KIND_GO;
+            case "ruby":
+                return Icons.KIND_RUBY;
+            case "sequence":
+                return Icons.KIND_SEQUENCE;
+            default:
+                return Icons.KIND_DOCKER;
+        }
+    }
+
+    /**
+     * Unlike {@link #toRuntime(String)}, a kind that is not listed such as "java:8" or "go:1.15" resolves to the runtime
+     * of its language, so its extension and icon are still known. Every kind is resolved once.
+     */
+    public static Runtime fromKind(String kind) {
+        return KINDS.computeIfAbsent(kind, Runtime::resolve);
+    }
+
+    private static Runtime resolve(String kind) {
+        Runtime runtime = toRuntime(kind);
+        if (runtime != DOCKER) {
+            return runtime;
+        }
+        for (Runtime language : LANGUAGES) {
+            if (kind.contains(language.name)) {
+                return language;
+            }
+        }
+        return DOCKER;
+    }
+
     public static Runtime toRuntime(String kind) {
         switch (kind) {
             case "nodejs:6":
@@ -16,7 +16,8 @@
 
 package com.navercorp.openwhisk.intellij.common.whisk.model.action;
 
-import com.navercorp.openwhisk.intellij.common.Icons;
+import com.navercorp.openwhisk.intellij.common.whisk.model.AnnotationIndex;
+import com.navercorp.openwhisk.intellij.common.whisk.model.Runtime;
 
 import javax.swing.*;
 import java.util.ArrayList;
@@ -27,6 +28,8 @@ public class CompactWhiskAction {
     private String name;
     private String version;
     private List<Map<String, Object>> annotations = new ArrayList<>();
+    private transient AnnotationIndex annotationIndex;
+    private transient Runtime runtime;
 
     public CompactWhiskAction() {
     }
@@ -38,56 +41,36 @@ public class CompactWhiskAction {
     }
 
     public String getKind() {
-        for (Map<String, Object> a : this.annotations) {
-            if ("exec".equals(a.get("key"))) {
-                return (String) a.get("value");
-            }
+        return getAnnotationIndex().getString("exec").orElse("");
+    }
+
+    /**
+     * @return the runtime of the kind, resolved once until the annotations are replaced.
+     */
+    public Runtime getRuntime() {
+        Runtime resolved = runtime;
+        if (resolved == null) {
+            resolved = Runtime.fromKind(getKind());
+            runtime = resolved;
         }
-        return "";
+        return resolved;
     }
 
     public String getKindExtension() {
-        String kind = getKind();
-        if (kind.contains("java")) {
-            return ".java";
-        } else if (kind.contains("nodejs")) {
-            return ".js";
-        } else if (kind.contains("python")) {
-            return ".py";
-        } else if (kind.contains("swift")) {
-            return ".swift";
-        } else if (kind.contains("php")) {
-            return ".php";
-        } else if (kind.contains("go")) {
-            return ".go";
-        } else if (kind.contains("ruby")) {
-            return ".rb";
-        } else {
-            return "";
-        }
+        return getRuntime().getExtension();
     }
 
     public Icon getKindIcon() {
-        String kind = getKind();
-        if (kind.contains("java")) {
-            return Icons.KIND_JAVA;
-        } else if (kind.contains("nodejs")) {
-            return Icons.KIND_JS;
-        } else if (kind.contains("python")) {
-            return Icons.KIND_PYTHON;
-        } else if (kind.contains("swift")) {
-            return Icons.KIND_SWIFT;
-        } else if (kind.contains("php")) {
-            return Icons.KIND_PHP;
-        } else if (kind.contains("go")) {
-            return Icons.KIND_GO;
-        } else if (kind.contains("ruby")) {
-            return Icons.KIND_RUBY;
-        } else if (kind.contains("sequence")) {
-            return Icons.KIND_SEQUENCE;
-        } else {
-            return Icons.KIND_DOCKER;
+        return getRuntime().getIcon();
+    }
+
+    private AnnotationIndex getAnnotationIndex() {
+        AnnotationIndex index = annotationIndex;
+        if (index == null) {
+            index = AnnotationIndex.of(annotations);
+            annotationIndex = index;
         }
+        return index;
     }
 
     public String getName() {
@@ -112,6 +95,8 @@ public class CompactWhiskAction {
 
     public void setAnnotations(List<Map<String, Object>> annotations) {
         this.annotations = annotations;
+        this.annotationIndex = null;
+        this.runtime = null;
     }
 
     @Override
@@ -16,8 +16,9 @@
 
 package com.navercorp.openwhisk.intellij.common.whisk.model.action;
 
-import com.navercorp.openwhisk.intellij.common.Icons;
+import com.navercorp.openwhisk.intellij.common.whisk.model.AnnotationIndex;
 import com.navercorp.openwhisk.intellij.common.whisk.model.Limits;
+import com.navercorp.openwhisk.intellij.common.whisk.model.Runtime;
 import com.navercorp.openwhisk.intellij.common.whisk.model.exec.Exec;
 
 import javax.swing.*;
@@ -35,6 +36,8 @@ public abstract class WhiskAction<E extends Exec> {
     private List<Map<String, Object>> annotations = new ArrayList<>();
     private Limits limits;
     private E exec;
+    private transient AnnotationIndex annotationIndex;
+    private transient Runtime runtime;
 
     public WhiskAction() {
     }
@@ -75,125 +78,64 @@ public abstract class WhiskAction<E extends Exec> {
     }
 
     public String getKind() {
-        for (Map<String, Object> a : this.annotations) {
-            if ("exec".equals(a.get("key"))) {
-                return (String) a.get("value");
-            }
+        return getAnnotationIndex().getString("exec").orElse("");
+    }
+
+    /**
+     * @return the runtime of the kind, resolved once until the annotations are replaced.
+     */
+    public Runtime getRuntime() {
+        Runtime resolved = runtime;
+        if (resolved == null) {
+            resolved = Runtime.fromKind(getKind());
+            runtime = resolved;
         }
-        return "";
+        return resolved;
     }
 
     public Optional<String> getCodeType() {
-        for (Map<String, Object> a : this.annotations) {
-            if ("code-type".equals(a.get("key"))) {
-                return Optional.ofNullable((String) a.get("value"));
-            }
-        }
-        return Optional.empty();
+        return getAnnotationIndex().getString("code-type");
     }
 
     public String getKindExtension() {
-        String kind = getKind();
-        if (kind.contains("java")) {
-            return ".java";
-        } else if (kind.contains("nodejs")) {
-            return ".js";
-        } else if (kind.contains("python")) {
-            return ".py";
-        } else if (kind.contains("swift")) {
-            return ".swift";
-        } else if (kind.contains("php")) {
-            return ".php";
-        } else if (kind.contains("go")) {
-            return ".go";
-        } else if (kind.contains("ruby")) {
-            return ".rb";
-        } else if (kind.contains("blackbox")) {
-            return getCodeType().map(codeType -> {
-                if (codeType.contains("java")) {
-                    return ".java";
-                } else if (codeType.contains("nodejs")) {
-                    return ".js";
-                } else if (codeType.contains("python")) {
-                    return ".py";
-                } else if (codeType.contains("swift")) {
-                    return ".swift";
-                } else if (codeType.contains("php")) {
-                    return ".php";
-                } else if (codeType.contains("go")) {
-                    return ".go";
-                } else if (codeType.contains("ruby")) {
-                    return ".rb";
-                }
-                return "";
-            }).orElse("");
+        Runtime kindRuntime = getRuntime();
+        if (kindRuntime == Runtime.DOCKER && getKind().contains("blackbox")) {
+            return getCodeType().map(codeType -> Runtime.fromKind(codeType).getExtension()).orElse("");
         }
-        return "";
+        return kindRuntime.getExtension();
     }
 
     public Icon getKindIcon() {
-        String kind = getKind();
-        if (kind.contains("java")) {
-            return Icons.KIND_JAVA;
-        } else if (kind.contains("nodejs")) {
-            return Icons.KIND_JS;
-        } else if (kind.contains("python")) {
-            return Icons.KIND_PYTHON;
-        } else if (kind.contains("swift")) {
-            return Icons.KIND_SWIFT;
-        } else if (kind.contains("php")) {
-            return Icons.KIND_PHP;
-        } else if (kind.contains("go")) {
-            return Icons.KIND_GO;
-        } else if (kind.contains("ruby")) {
-            return Icons.KIND_RUBY;
-        } else if (kind.contains("sequence")) {
-            return Icons.KIND_SEQUENCE;
-        } else {
-            return Icons.KIND_DOCKER;
-        }
+        return getRuntime().getIcon();
     }
 
-
     public boolean isSequenceAction() {
-        String kind = getKind();
-        return kind.equals("sequence");
+        return getKind().equals("sequence");
     }
 
     public boolean isWebAction() {
-        for (Map<String, Object> a : this.annotations) {
-            if ("web-export".equals(a.get("key"))) {
-                return (Boolean) a.get("value");
-            }
-        }
-        return false;
+        return getAnnotationIndex().getBoolean("web-export");
     }
 
     public boolean isCustomOptions() {
-        for (Map<String, Object> a : this.annotations) {
-            if ("web-custom-options".equals(a.get("key"))) {
-                return (Boolean) a.get("value");
-            }
-        }
-        return false;
+        return getAnnotationIndex().getBoolean("web-custom-options");
     }
 
     public boolean isRawHttp() {
-        for (Map<String, Object> a : this.annotations) {
-            if ("raw-http".equals(a.get("key"))) {
-                return (Boolean) a.get("value");
-            }
-        }
-        return false;
+        return getAnnotationIndex().getBoolean("raw-http");
     }
 
     public boolean isFinalDefaultParameter() {
-        for (Map<String, Object> a : this.annotations) {
-            if ("final".equals(a.get("key"))) {
-                return (Boolean) a.get("value");
-            }
+        return getAnnotationIndex().getBoolean("final");
+    }
+
+    private AnnotationIndex getAnnotationIndex() {
+        AnnotationIndex index = annotationIndex;
+        if (index == null) {
+            index = AnnotationIndex.of(annotations);
+            annotationIndex = index;
         }
-        return false;
+        return index;
     }
 
     public String getName() {
@@ -240,8 +182,13 @@ public abstract class WhiskAction<E extends Exec> {
         return annotations;
     }
 
+    /**
+     * The annotations are indexed on first use, so they must be replaced through this setter rather than changed in place.
+     */
     public void setAnnotations(List<Map<String, Object>> annotations) {
         this.annotations = annotations;
+        this.annotationIndex = null;
+        this.runtime = null;
     }
 
     public Limits getLimits() {
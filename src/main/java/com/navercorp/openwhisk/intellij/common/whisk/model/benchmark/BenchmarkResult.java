@@ -0,0 +1,182 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.model.benchmark;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.AnnotationIndex;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The latencies seen by the client and the timings reported by the controller for every invocation of a benchmark,
+ * and the number of invocations completed in every second of it. Invocations may be recorded from many threads.
+ */
+public class BenchmarkResult {
+    private static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9, 100};
+    private static final int BAR_WIDTH = 40;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram duration = new LatencyHistogram();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram initTime = new LatencyHistogram();
+    private final List<Integer> completionsPerSecond = new ArrayList<>();
+    private final long startedAt;
+
+    private int succeeded;
+    private int failed;
+    private int coldStarts;
+    private long finishedAt;
+
+    public BenchmarkResult(long startedAt) {
+        this.startedAt = startedAt;
+        this.finishedAt = startedAt;
+    }
+
+    /**
+     * An activation that did not succeed counts as a failure, but its timings are still recorded.
+     */
+    public synchronized void recordActivation(long latencyMs, WhiskActivationWithLogs activation, long completedAt) {
+        latency.record(latencyMs);
+        duration.record(activation.getDuration());
+        AnnotationIndex annotations = AnnotationIndex.of(activation.getAnnotations());
+        annotations.get("waitTime").filter(Number.class::isInstance).ifPresent(value -> waitTime.record(((Number) value).longValue()));
+        annotations.get("initTime").filter(Number.class::isInstance).ifPresent(value -> {
+            initTime.record(((Number) value).longValue());
+            coldStarts++;
+        });
+        if (activation.getResponse() != null && Boolean.TRUE.equals(activation.getResponse().get("success"))) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+        recordCompletion(completedAt);
+    }
+
+    /**
+     * An invocation that was rejected or that could not be awaited.
+     */
+    public synchronized void recordFailure(long latencyMs, long completedAt) {
+        latency.record(latencyMs);
+        failed++;
+        recordCompletion(completedAt);
+    }
+
+    public synchronized void finish(long time) {
+        this.finishedAt = time;
+    }
+
+    private void recordCompletion(long completedAt) {
+        int second = (int) Math.max(0, (completedAt - startedAt) / 1000);
+        while (completionsPerSecond.size() <= second) {
+            completionsPerSecond.add(0);
+        }
+        completionsPerSecond.set(second, completionsPerSecond.get(second) + 1);
+        finishedAt = Math.max(finishedAt, completedAt);
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getDuration() {
+        return duration;
+    }
+
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    public LatencyHistogram getInitTime() {
+        return initTime;
+    }
+
+    public synchronized int getSucceeded() {
+        return succeeded;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    public synchronized int getColdStarts() {
+        return coldStarts;
+    }
+
+    public synchronized List<Integer> getCompletionsPerSecond() {
+        return new ArrayList<>(completionsPerSecond);
+    }
+
+    public synchronized double getThroughput() {
+        long elapsedMs = finishedAt - startedAt;
+        return elapsedMs <= 0 ? 0 : (succeeded + failed) * 1000.0 / elapsedMs;
+    }
+
+    /**
+     * A plain text report with the percentile distribution of every timing and the throughput timeline.
+     */
+    public synchronized String toReport() {
+        int total = succeeded + failed;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Invocations: %d (%d succeeded, %d failed) in %.1fs, %.1f/s%n",
+                total, succeeded, failed, (finishedAt - startedAt) / 1000.0, getThroughput()));
+        report.append(String.format("Cold starts: %d (%.1f%%)%n", coldStarts, total == 0 ? 0 : coldStarts * 100.0 / total));
+        appendHistogram(report, "Client latency (ms)", latency);
+        appendHistogram(report, "Duration (ms)", duration);
+        appendHistogram(report, "Wait time (ms)", waitTime);
+        appendHistogram(report, "Init time of cold starts (ms)", initTime);
+
+        report.append(String.format("%nThroughput (completions per second)%n"));
+        int peak = completionsPerSecond.stream().mapToInt(Integer::intValue).max().orElse(0);
+        for (int second = 0; second < completionsPerSecond.size(); second++) {
+            int count = completionsPerSecond.get(second);
+            report.append(String.format("%6ds | %-" + BAR_WIDTH + "s %d%n", second, bar(count, peak), count));
+        }
+        return report.toString();
+    }
+
+    private void appendHistogram(StringBuilder report, String title, LatencyHistogram histogram) {
+        report.append(String.format("%n%s%n", title));
+        long count = histogram.getTotalCount();
+        if (count == 0) {
+            report.append("  no values\n");
+            return;
+        }
+        report.append(String.format("  min %d, mean %.1f, max %d%n", histogram.getMin(), histogram.getMean(), histogram.getMax()));
+
+        // the share of values up to every percentile, the way HdrHistogram prints a distribution
+        for (double percentile : PERCENTILES) {
+            long value = histogram.getValueAtPercentile(percentile);
+            long upTo = histogram.getCountUpTo(value);
+            report.append(String.format("  p%-5s %8d | %-" + BAR_WIDTH + "s %d%n",
+                    formatPercentile(percentile), value, bar(upTo, count), upTo));
+        }
+    }
+
+    private String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private String bar(long value, long scale) {
+        int width = scale == 0 ? 0 : (int) Math.round((double) value * BAR_WIDTH / scale);
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < width; i++) {
+            bar.append('#');
+        }
+        return bar.toString();
+    }
+}
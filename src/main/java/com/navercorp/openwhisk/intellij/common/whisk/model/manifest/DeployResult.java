@@ -0,0 +1,76 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.model.manifest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What became of every entity of a manifest, entities of the same level are recorded concurrently.
+ */
+public class DeployResult {
+    private final List<ManifestEntity> deployed = Collections.synchronizedList(new ArrayList<>());
+    private final List<ManifestEntity> unchanged = Collections.synchronizedList(new ArrayList<>());
+    private final List<ManifestEntity> skipped = Collections.synchronizedList(new ArrayList<>());
+    private final Map<ManifestEntity, String> failed = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public void recordDeployed(ManifestEntity entity) {
+        deployed.add(entity);
+    }
+
+    public void recordUnchanged(ManifestEntity entity) {
+        unchanged.add(entity);
+    }
+
+    /**
+     * An entity is skipped when an entity of an earlier level failed, as it may depend on it.
+     */
+    public void recordSkipped(ManifestEntity entity) {
+        skipped.add(entity);
+    }
+
+    public void recordFailure(ManifestEntity entity, String message) {
+        failed.put(entity, message);
+    }
+
+    public List<ManifestEntity> getDeployed() {
+        return deployed;
+    }
+
+    public List<ManifestEntity> getUnchanged() {
+        return unchanged;
+    }
+
+    public List<ManifestEntity> getSkipped() {
+        return skipped;
+    }
+
+    public Map<ManifestEntity, String> getFailed() {
+        return failed;
+    }
+
+    public boolean hasFailures() {
+        return !failed.isEmpty();
+    }
+
+    public String toSummary() {
+        return deployed.size() + " deployed, " + unchanged.size() + " unchanged, " + failed.size() + " failed, " + skipped.size() + " skipped";
+    }
+}
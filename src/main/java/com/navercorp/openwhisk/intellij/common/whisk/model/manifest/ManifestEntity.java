@@ -0,0 +1,98 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.model.manifest;
+
+import java.util.Map;
+
+/**
+ * A package, action, trigger or rule of a manifest, with the body it is PUT with.
+ * The digest covers the whole body and is also stored in the body as the DIGEST_ANNOTATION annotation,
+ * so an entity whose remote annotation has the same digest does not need to be deployed again.
+ */
+public class ManifestEntity {
+    public static final String DIGEST_ANNOTATION = "deploy-digest";
+
+    /**
+     * The level is the order entities are deployed in, entities of the same level do not depend on each other.
+     */
+    public enum Type {
+        PACKAGE("packages", 0),
+        TRIGGER("triggers", 0),
+        ACTION("actions", 1),
+        SEQUENCE("actions", 2),
+        RULE("rules", 3);
+
+        private final String collection;
+        private final int level;
+
+        Type(String collection, int level) {
+            this.collection = collection;
+            this.level = level;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+    }
+
+    private final Type type;
+    private final String name;
+    private final Map<String, Object> payload;
+    private final String digest;
+
+    /**
+     * @param name the name of the entity, prefixed with its package for actions and sequences in a package.
+     */
+    public ManifestEntity(Type type, String name, Map<String, Object> payload, String digest) {
+        this.type = type;
+        this.name = name;
+        this.payload = payload;
+        this.digest = digest;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * @return the name of the entity in its collection, actions and sequences share one.
+     */
+    public String getKey() {
+        return type.getCollection() + "/" + name;
+    }
+
+    @Override
+    public String toString() {
+        return type.name().toLowerCase() + " " + name;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.model.manifest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class WhiskManifest {
+    private final List<ManifestEntity> entities;
+    private final List<String> warnings;
+
+    public WhiskManifest(List<ManifestEntity> entities, List<String> warnings) {
+        this.entities = entities;
+        this.warnings = warnings;
+    }
+
+    public List<ManifestEntity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return the parts of the manifest that are not deployed, such as apis.
+     */
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * @return the entities grouped by level, in the order they are deployed.
+     */
+    public List<List<ManifestEntity>> getLevels() {
+        Map<Integer, List<ManifestEntity>> levels = new TreeMap<>();
+        for (ManifestEntity entity : entities) {
+            levels.computeIfAbsent(entity.getType().getLevel(), level -> new ArrayList<>()).add(entity);
+        }
+        return new ArrayList<>(levels.values());
+    }
+}
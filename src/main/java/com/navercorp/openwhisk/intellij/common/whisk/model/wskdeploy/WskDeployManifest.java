@@ -16,11 +16,15 @@
 
 package com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class WskDeployManifest {
 
     private String path;
     private String fullPath;
     private String name;
+    private List<String> entities = new ArrayList<>();
 
     public WskDeployManifest() {
     }
@@ -31,6 +35,11 @@ public class WskDeployManifest {
         this.name = fileName;
     }
 
+    public WskDeployManifest(String filePath, String fullFilePath, String fileName, List<String> entities) {
+        this(filePath, fullFilePath, fileName);
+        this.entities = entities;
+    }
+
     public String getPath() {
         return path;
     }
@@ -55,6 +64,17 @@ public class WskDeployManifest {
         this.name = name;
     }
 
+    /**
+     * @return the declared entities such as "action hello/world", as read by the manifest index.
+     */
+    public List<String> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<String> entities) {
+        this.entities = entities;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
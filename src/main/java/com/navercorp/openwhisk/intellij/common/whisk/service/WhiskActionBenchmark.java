@@ -0,0 +1,153 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
+import com.navercorp.openwhisk.intellij.common.whisk.model.benchmark.BenchmarkResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Invokes an action a number of times with at most the given number of invocations in flight, and, if a rate is given,
+ * starts them at that rate.
+ * Invocations are blocking so that the controller answers with the whole activation and its timings. An invocation that
+ * outlives the blocking wait of the controller is awaited with the WhiskActivationPoller.
+ * When paced, the client latency of an invocation is measured from the time it was due rather than the time it was sent,
+ * so an action that cannot keep up shows in the percentiles instead of silently lowering the rate.
+ * The invocations go through a connection pool of their own, sized to the concurrency, so they are not capped by the
+ * shared pool and do not take its connections away from the rest of the UI.
+ */
+public class WhiskActionBenchmark {
+    private static final Logger LOG = Logger.getInstance(WhiskActionBenchmark.class);
+
+    private final WhiskActivationPoller whiskActivationPoller = WhiskActivationPoller.getInstance();
+
+    private final int invocations;
+    private final int concurrency;
+    private final double targetRps;
+
+    /**
+     * @param targetRps the invocations started per second, or 0 to start them as fast as the concurrency allows.
+     */
+    public WhiskActionBenchmark(int invocations, int concurrency, double targetRps) {
+        if (invocations < 1 || concurrency < 1 || targetRps < 0) {
+            throw new IllegalArgumentException("Invalid benchmark: " + invocations + " invocations, concurrency "
+                    + concurrency + ", " + targetRps + " per second");
+        }
+        this.invocations = invocations;
+        this.concurrency = concurrency;
+        this.targetRps = targetRps;
+    }
+
+    /**
+     * Blocks until every invocation is done.
+     * If the task is cancelled, the invocations that have not started are dropped and ProcessCanceledException is thrown.
+     */
+    public BenchmarkResult run(WhiskAuth whiskAuth, ExecutableWhiskAction action, String params, ProgressIndicator indicator)
+            throws ExecutionException, InterruptedException {
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Whisk Action Benchmark", concurrency);
+        WhiskHttpClient client = WhiskHttpClient.createDedicated(concurrency);
+        WhiskActionService whiskActionService = new WhiskActionService(client);
+        BenchmarkResult result = new BenchmarkResult(System.currentTimeMillis());
+        AtomicInteger completed = new AtomicInteger();
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        try {
+            for (int i = 0; i < invocations; i++) {
+                long dueNanos = targetRps > 0 ? startNanos + (long) (i * TimeUnit.SECONDS.toNanos(1) / targetRps) : -1;
+                waitUntil(dueNanos, indicator);
+                runs.add(CompletableFuture.runAsync(() -> {
+                    invoke(whiskActionService, whiskAuth, action, params, dueNanos >= 0 ? dueNanos : System.nanoTime(), result);
+                    indicator.setFraction((double) completed.incrementAndGet() / invocations);
+                }, executor));
+            }
+            FutureUtils.waitFor(CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])), indicator);
+        } finally {
+            runs.forEach(run -> run.cancel(false));
+            result.finish(System.currentTimeMillis());
+            close(client);
+        }
+        return result;
+    }
+
+    private void waitUntil(long dueNanos, ProgressIndicator indicator) throws InterruptedException {
+        indicator.checkCanceled();
+        long waitNanos = dueNanos - System.nanoTime();
+        while (dueNanos >= 0 && waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, TimeUnit.MILLISECONDS.toNanos(100)));
+            indicator.checkCanceled();
+            waitNanos = dueNanos - System.nanoTime();
+        }
+    }
+
+    private void close(WhiskHttpClient client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            LOG.warn("The connections of the benchmark cannot be closed.", e);
+        }
+    }
+
+    private void invoke(WhiskActionService whiskActionService,
+                        WhiskAuth whiskAuth,
+                        ExecutableWhiskAction action,
+                        String params,
+                        long sentNanos,
+                        BenchmarkResult result) {
+        try {
+            Optional<WhiskActivationWithLogs> activation = whiskActionService.invokeWhiskActionForActivation(whiskAuth,
+                    Optional.ofNullable(action.getNamespacePath()),
+                    action.getWhiskPackage(),
+                    action.getName(),
+                    params);
+            if (!activation.isPresent()) {
+                result.recordFailure(elapsedMs(sentNanos), System.currentTimeMillis());
+                return;
+            }
+
+            WhiskActivationWithLogs recorded = activation.get();
+            if (recorded.getStart() == 0) {
+                // still running after the blocking wait, only the id was returned
+                recorded = whiskActivationPoller.await(whiskAuth, recorded.getActivationId(), WhiskActivationPoller.getAwaitTimeout(action)).get();
+            }
+            result.recordActivation(elapsedMs(sentNanos), recorded, System.currentTimeMillis());
+        } catch (IOException | ExecutionException e) {
+            LOG.info("Failed to invoke " + action.getFullyQualifiedName() + ": " + e.getMessage());
+            result.recordFailure(elapsedMs(sentNanos), System.currentTimeMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long elapsedMs(long sentNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentNanos);
+    }
+}
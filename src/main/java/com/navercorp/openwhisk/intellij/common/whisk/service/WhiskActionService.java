@@ -21,13 +21,17 @@ import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
 import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
-import org.apache.http.HttpHeaders;
-import org.apache.http.client.fluent.Request;
-import org.apache.http.entity.ContentType;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -35,8 +39,17 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class WhiskActionService {
     private static final Logger LOG = Logger.getInstance(WhiskActionService.class);
 
+    private final WhiskHttpClient whiskHttpClient;
+
     private WhiskActionService() {
+        this(WhiskHttpClient.getInstance());
+    }
 
+    /**
+     * Sends the requests through another client, see {@link WhiskHttpClient#createDedicated}.
+     */
+    WhiskActionService(WhiskHttpClient whiskHttpClient) {
+        this.whiskHttpClient = whiskHttpClient;
     }
 
     private static class LazyHolder {
@@ -48,15 +61,16 @@ public class WhiskActionService {
     }
 
     public List<WhiskActionMetaData> getWhiskActions(WhiskAuth whiskAuth) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/actions?limit=200&skip=0";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        return paginateWhiskActions(whiskAuth).collectAll();
+    }
 
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
-                .returnContent()
-                .asString(UTF_8);
-        return JsonParserUtils.parseWhiskActions(result);
+    public WhiskPaginator<WhiskActionMetaData> paginateWhiskActions(WhiskAuth whiskAuth) {
+        return WhiskPaginator.of((limit, skip) -> {
+            List<WhiskActionMetaData> page = new ArrayList<>();
+            String path = "/api/v1/namespaces/_/actions?limit=" + limit + "&skip=" + skip;
+            whiskHttpClient.getConditional(whiskAuth, path, content -> JsonParserUtils.streamWhiskActions(content, page::add));
+            return page;
+        });
     }
 
     public Optional<ExecutableWhiskAction> getWhiskAction(WhiskAuth whiskAuth,
@@ -65,17 +79,38 @@ public class WhiskActionService {
                                                           String actionName) throws IOException {
         String namespace = namespaceName.orElse("_");
         String name = pkgName.map(p -> p + "/" + actionName).orElse(actionName);
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/" + namespace + "/actions/" + name + "?code=true";
-        String authorization = whiskAuth.getBasicAuthHeader();
-
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
-                .returnContent()
-                .asString(UTF_8);
+        String path = "/api/v1/namespaces/" + namespace + "/actions/" + name + "?code=true";
+
+        Optional<WhiskHttpClient.CachedResponse> cached = whiskHttpClient.getCachedResponse(whiskAuth, path);
+        if (cached.isPresent() && !cached.get().hasValidators()) {
+            // without validators, compare the version and updated time of the action without its code
+            String withoutCode = "/api/v1/namespaces/" + namespace + "/actions/" + name + "?code=false";
+            Map<String, Object> latest = JsonParserUtils.parseMap(whiskHttpClient.getConditional(whiskAuth, withoutCode));
+            Map<String, Object> previous = JsonParserUtils.parseMap(cached.get().getBody());
+            if (latest.get("version") != null
+                    && Objects.equals(latest.get("version"), previous.get("version"))
+                    && Objects.equals(latest.get("updated"), previous.get("updated"))) {
+                return JsonParserUtils.parseWhiskAction(cached.get().getBody());
+            }
+        }
+
+        String result = whiskHttpClient.getConditional(whiskAuth, path);
         return JsonParserUtils.parseWhiskAction(result);
     }
 
+    /**
+     * The action without its code, which is enough to read its limits and annotations.
+     */
+    public Optional<ExecutableWhiskAction> getWhiskActionWithoutCode(WhiskAuth whiskAuth,
+                                                                     Optional<String> namespaceName,
+                                                                     Optional<String> pkgName,
+                                                                     String actionName) throws IOException {
+        String namespace = namespaceName.orElse("_");
+        String name = pkgName.map(p -> p + "/" + actionName).orElse(actionName);
+        String path = "/api/v1/namespaces/" + namespace + "/actions/" + name + "?code=false";
+        return JsonParserUtils.parseWhiskAction(whiskHttpClient.getConditional(whiskAuth, path));
+    }
+
     public String invokeWhiskAction(WhiskAuth whiskAuth,
                                     Optional<String> namespaceName,
                                     Optional<String> pkgName,
@@ -83,43 +118,93 @@ public class WhiskActionService {
                                     String params) throws IOException {
         String namespace = namespaceName.orElse("_");
         String name = pkgName.map(p -> p + "/" + actionName).orElse(actionName);
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/" + namespace + "/actions/" + name + "?blocking=true&result=true";
-        String authorization = whiskAuth.getBasicAuthHeader();
-        String result = Request.Post(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(params, ContentType.APPLICATION_JSON)
-                .execute()
+        String path = "/api/v1/namespaces/" + namespace + "/actions/" + name + "?blocking=true&result=true";
+        String result = whiskHttpClient.post(whiskAuth, path, params)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.beautifyJson(result);
     }
 
+    /**
+     * Waits for the action and returns its whole activation, with the timings, even if the action failed.
+     * If the action outlives the blocking wait of the controller, the activation only holds its id.
+     */
+    public Optional<WhiskActivationWithLogs> invokeWhiskActionForActivation(WhiskAuth whiskAuth,
+                                                                            Optional<String> namespaceName,
+                                                                            Optional<String> pkgName,
+                                                                            String actionName,
+                                                                            String params) throws IOException {
+        String namespace = namespaceName.orElse("_");
+        String name = pkgName.map(p -> p + "/" + actionName).orElse(actionName);
+        String path = "/api/v1/namespaces/" + namespace + "/actions/" + name + "?blocking=true";
+        String result = whiskHttpClient.post(whiskAuth, path, params).handleResponse(response -> {
+            StatusLine statusLine = response.getStatusLine();
+            // a failed action is answered with 502 and its activation
+            if (statusLine.getStatusCode() >= HttpStatus.SC_MULTIPLE_CHOICES && statusLine.getStatusCode() != HttpStatus.SC_BAD_GATEWAY) {
+                EntityUtils.consume(response.getEntity());
+                throw new HttpResponseException(statusLine.getStatusCode(), statusLine.getReasonPhrase());
+            }
+            return response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity(), UTF_8);
+        });
+        return JsonParserUtils.parseWhiskActivation(result);
+    }
+
+    /**
+     * Starts the action without waiting for it, the activation can be awaited with {@link WhiskActivationPoller}.
+     *
+     * @return the activation id.
+     */
+    public String invokeWhiskActionNonBlocking(WhiskAuth whiskAuth,
+                                               Optional<String> namespaceName,
+                                               Optional<String> pkgName,
+                                               String actionName,
+                                               String params) throws IOException {
+        String namespace = namespaceName.orElse("_");
+        String name = pkgName.map(p -> p + "/" + actionName).orElse(actionName);
+        String path = "/api/v1/namespaces/" + namespace + "/actions/" + name + "?blocking=false";
+        String result = whiskHttpClient.post(whiskAuth, path, params)
+                .returnContent()
+                .asString(UTF_8);
+        Object activationId = JsonParserUtils.parseMap(result).get("activationId");
+        if (!(activationId instanceof String)) {
+            throw new IOException("The controller did not return an activation id: " + result);
+        }
+        return (String) activationId;
+    }
+
     public Optional<ExecutableWhiskAction> updateWhiskAction(WhiskAuth whiskAuth,
                                                              ExecutableWhiskAction updatedAction,
                                                              Map<String, Object> payload) throws IOException {
         String namespace = updatedAction.getNamespacePath();
         String name = updatedAction.getWhiskPackage().map(p -> p + "/" + updatedAction.getName()).orElse(updatedAction.getName());
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/" + namespace + "/actions/" + name + "?overwrite=true";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        String path = "/api/v1/namespaces/" + namespace + "/actions/" + name + "?overwrite=true";
         String body = JsonParserUtils.writeMapToJson(payload);
         LOG.info("Action updated: " + body);
-        String result = Request.Put(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(body, ContentType.APPLICATION_JSON)
-                .execute()
+        String result = whiskHttpClient.put(whiskAuth, path, body)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskAction(result);
     }
 
-    public Optional<ExecutableWhiskAction> deleteWhiskActions(WhiskAuth whiskAuth, Optional<String> pkgName, String actionName) throws IOException {
+    /**
+     * Creates or replaces the action, only its name is logged as the body holds the whole code.
+     */
+    public Optional<ExecutableWhiskAction> updateWhiskAction(WhiskAuth whiskAuth,
+                                                             Optional<String> pkgName,
+                                                             String actionName,
+                                                             Map<String, Object> payload) throws IOException {
         String name = pkgName.map(p -> p + "/" + actionName).orElse(actionName);
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/actions/" + name;
-        String authorization = whiskAuth.getBasicAuthHeader();
+        String path = "/api/v1/namespaces/_/actions/" + name + "?overwrite=true";
+        LOG.info("Action updated: " + name);
+        String result = whiskHttpClient.put(whiskAuth, path, JsonParserUtils.writeMapToJson(payload))
+                .returnContent()
+                .asString(UTF_8);
+        return JsonParserUtils.parseWhiskAction(result);
+    }
 
-        String result = Request.Delete(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
+    public Optional<ExecutableWhiskAction> deleteWhiskActions(WhiskAuth whiskAuth, Optional<String> pkgName, String actionName) throws IOException {
+        String name = pkgName.map(p -> p + "/" + actionName).orElse(actionName);
+        String result = whiskHttpClient.delete(whiskAuth, "/api/v1/namespaces/_/actions/" + name)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskAction(result);
@@ -0,0 +1,264 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
+import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpResponseException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Waits for activations started with blocking=false.
+ * The controller answers 404 for an activation until it is recorded, so every awaited activation is polled on one shared
+ * scheduler, with an interval that doubles from the shortest to the longest, instead of holding a connection and a thread
+ * for the whole run. Every interval is jittered so the activations fired together are not polled in lockstep.
+ * Cancelling the returned future stops the polling.
+ */
+public class WhiskActivationPoller {
+    private static final Logger LOG = Logger.getInstance(WhiskActivationPoller.class);
+
+    public static final long DEFAULT_MIN_INTERVAL_MS = 100;
+    public static final long DEFAULT_MAX_INTERVAL_MS = 2000;
+    /**
+     * The timeout of an action whose limits are not known.
+     */
+    public static final long DEFAULT_ACTION_TIMEOUT_MS = 60 * 1000;
+    /**
+     * The activation is recorded a little after the action times out.
+     */
+    public static final long AWAIT_MARGIN_MS = 30 * 1000;
+
+    private static final int MAX_LOOKUP_THREADS = 4;
+
+    private final WhiskActivationService whiskActivationService = WhiskActivationService.getInstance();
+    private final WhiskActionService whiskActionService = WhiskActionService.getInstance();
+    private final ExecutorService lookupExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Whisk Action Timeout", MAX_LOOKUP_THREADS);
+
+    private final ScheduledExecutorService scheduler;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+
+    private WhiskActivationPoller() {
+        this(AppExecutorUtil.getAppScheduledExecutorService(), DEFAULT_MIN_INTERVAL_MS, DEFAULT_MAX_INTERVAL_MS);
+    }
+
+    WhiskActivationPoller(ScheduledExecutorService scheduler, long minIntervalMs, long maxIntervalMs) {
+        this.scheduler = scheduler;
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = maxIntervalMs;
+    }
+
+    private static class LazyHolder {
+        private static final WhiskActivationPoller INSTANCE = new WhiskActivationPoller();
+    }
+
+    public static WhiskActivationPoller getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Network errors and server errors are retried until the deadline, other client errors fail the future at once.
+     *
+     * @param timeoutMs the future fails with a TimeoutException if the activation is not recorded by then.
+     */
+    public CompletableFuture<WhiskActivationWithLogs> await(WhiskAuth whiskAuth, String activationId, long timeoutMs) {
+        CompletableFuture<WhiskActivationWithLogs> future = new CompletableFuture<>();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        scheduler.schedule(() -> poll(whiskAuth, activationId, future, deadline, minIntervalMs), jitter(minIntervalMs), TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * The action's own timeout, plus the time the controller takes to record the activation.
+     */
+    public static long getAwaitTimeout(ExecutableWhiskAction action) {
+        long timeout = action.getLimits() != null ? action.getLimits().getTimeout() : DEFAULT_ACTION_TIMEOUT_MS;
+        return timeout + AWAIT_MARGIN_MS;
+    }
+
+    /**
+     * The timeout of an action known only by its name, such as the action of a rule.
+     * Only the metadata of the action is read, and the default timeout is used if it cannot be read.
+     *
+     * @param qualifiedName the name with the namespace, such as guest/pkg/action.
+     */
+    public long getAwaitTimeout(WhiskAuth whiskAuth, String qualifiedName) {
+        String[] parts = qualifiedName.startsWith("/") ? qualifiedName.substring(1).split("/") : qualifiedName.split("/");
+        if (parts.length < 2 || parts.length > 3) {
+            return DEFAULT_ACTION_TIMEOUT_MS + AWAIT_MARGIN_MS;
+        }
+        try {
+            Optional<String> pkg = parts.length == 3 ? Optional.of(parts[1]) : Optional.empty();
+            return whiskActionService.getWhiskActionWithoutCode(whiskAuth, Optional.of(parts[0]), pkg, parts[parts.length - 1])
+                    .map(WhiskActivationPoller::getAwaitTimeout)
+                    .orElse(DEFAULT_ACTION_TIMEOUT_MS + AWAIT_MARGIN_MS);
+        } catch (IOException e) {
+            LOG.warn("The limits of " + qualifiedName + " cannot be read, the default timeout is used.", e);
+            return DEFAULT_ACTION_TIMEOUT_MS + AWAIT_MARGIN_MS;
+        }
+    }
+
+    /**
+     * Reads the timeouts of the actions concurrently, see {@link #getAwaitTimeout(WhiskAuth, String)}.
+     * The returned future never fails, and cancelling it cancels the lookups that have not started yet.
+     *
+     * @return the timeouts by qualified name, each action is read once.
+     */
+    public CompletableFuture<Map<String, Long>> getAwaitTimeouts(WhiskAuth whiskAuth, Collection<String> qualifiedNames) {
+        Map<String, CompletableFuture<Long>> lookups = new LinkedHashMap<>();
+        for (String qualifiedName : qualifiedNames) {
+            lookups.computeIfAbsent(qualifiedName, name -> CompletableFuture.supplyAsync(() -> getAwaitTimeout(whiskAuth, name), lookupExecutor)
+                    .exceptionally(e -> DEFAULT_ACTION_TIMEOUT_MS + AWAIT_MARGIN_MS));
+        }
+
+        CompletableFuture<Map<String, Long>> all = CompletableFuture.allOf(lookups.values().toArray(new CompletableFuture[0]))
+                .thenApply(ignore -> {
+                    Map<String, Long> timeouts = new LinkedHashMap<>();
+                    lookups.forEach((name, lookup) -> timeouts.put(name, lookup.join()));
+                    return timeouts;
+                });
+        return FutureUtils.propagateCancellation(all, lookups.values().toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Awaits the activations concurrently with the same timeout, see {@link #awaitAll(WhiskAuth, Map)}.
+     */
+    public CompletableFuture<Map<String, WhiskActivationWithLogs>> awaitAll(WhiskAuth whiskAuth, List<String> activationIds, long timeoutMs) {
+        Map<String, Long> timeouts = new LinkedHashMap<>();
+        activationIds.forEach(activationId -> timeouts.put(activationId, timeoutMs));
+        return awaitAll(whiskAuth, timeouts);
+    }
+
+    /**
+     * Awaits the activations concurrently, each with its own timeout.
+     * The returned future never fails, it maps the recorded activations by id in the given order and leaves out those that
+     * failed or were not recorded by the deadline. Cancelling it cancels every poll.
+     */
+    public CompletableFuture<Map<String, WhiskActivationWithLogs>> awaitAll(WhiskAuth whiskAuth, Map<String, Long> timeoutsMs) {
+        List<String> activationIds = new ArrayList<>(timeoutsMs.keySet());
+        List<CompletableFuture<WhiskActivationWithLogs>> polls = activationIds.stream()
+                .map(activationId -> await(whiskAuth, activationId, timeoutsMs.get(activationId)))
+                .collect(Collectors.toList());
+        List<CompletableFuture<WhiskActivationWithLogs>> results = polls.stream()
+                .map(poll -> poll.handle((activation, error) -> activation))
+                .collect(Collectors.toList());
+
+        CompletableFuture<Map<String, WhiskActivationWithLogs>> all = CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(ignore -> {
+                    Map<String, WhiskActivationWithLogs> recorded = new LinkedHashMap<>();
+                    for (int i = 0; i < activationIds.size(); i++) {
+                        WhiskActivationWithLogs activation = results.get(i).join();
+                        if (activation != null) {
+                            recorded.put(activationIds.get(i), activation);
+                        }
+                    }
+                    return recorded;
+                });
+        all.whenComplete((recorded, error) -> {
+            if (all.isCancelled()) {
+                polls.forEach(poll -> poll.cancel(false));
+            }
+        });
+        return all;
+    }
+
+    /**
+     * The activation of a trigger logs one JSON line for every rule it fired, with the activation id and the name of the
+     * rule's action.
+     *
+     * @return the qualified action names, such as guest/action, by activation id in the order of the logs.
+     */
+    public static Map<String, String> getRuleActivations(WhiskActivationWithLogs triggerActivation) {
+        Map<String, String> actionsByActivationId = new LinkedHashMap<>();
+        for (String log : triggerActivation.getLogs()) {
+            if (log.startsWith("{")) {
+                Map<String, Object> rule = JsonParserUtils.parseMap(log);
+                Object activationId = rule.get("activationId");
+                if (activationId instanceof String) {
+                    actionsByActivationId.put((String) activationId, rule.get("action") instanceof String ? (String) rule.get("action") : null);
+                }
+            }
+        }
+        return actionsByActivationId;
+    }
+
+    private void poll(WhiskAuth whiskAuth,
+                      String activationId,
+                      CompletableFuture<WhiskActivationWithLogs> future,
+                      long deadline,
+                      long intervalMs) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            Optional<WhiskActivationWithLogs> activation = whiskActivationService.getWhiskActivation(whiskAuth, activationId);
+            if (activation.isPresent()) {
+                future.complete(activation.get());
+            } else {
+                future.completeExceptionally(new IOException("The activation " + activationId + " is empty."));
+            }
+            return;
+        } catch (HttpResponseException e) {
+            int status = e.getStatusCode();
+            if (status != HttpStatus.SC_NOT_FOUND && status < HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                future.completeExceptionally(e);
+                return;
+            }
+        } catch (IOException e) {
+            LOG.info("Failed to get activation " + activationId + ", it will be retried: " + e.getMessage());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now >= deadline) {
+            future.completeExceptionally(new TimeoutException("The activation " + activationId + " is not recorded yet."));
+            return;
+        }
+        long next = Math.min(intervalMs * 2, maxIntervalMs);
+        long delay = Math.min(jitter(intervalMs), deadline - now);
+        scheduler.schedule(() -> poll(whiskAuth, activationId, future, deadline, next), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Between half of the interval and the interval.
+     */
+    private long jitter(long intervalMs) {
+        return intervalMs / 2 + ThreadLocalRandom.current().nextLong(intervalMs / 2 + 1);
+    }
+}
@@ -20,17 +20,19 @@ import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
 import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
-import org.apache.http.HttpHeaders;
-import org.apache.http.client.fluent.Request;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class WhiskActivationService {
 
+    private final WhiskHttpClient whiskHttpClient = WhiskHttpClient.getInstance();
+
     private WhiskActivationService() {
     }
 
@@ -43,26 +45,49 @@ public class WhiskActivationService {
     }
 
     public List<WhiskActivationMetaData> getWhiskActivations(WhiskAuth whiskAuth, Optional<String> name, int limit, int skip) throws IOException {
-        String endpoint = whiskAuth.getApihost()
-                + "/api/v1/namespaces/_/activations"
+        List<WhiskActivationMetaData> activations = new ArrayList<>();
+        streamWhiskActivations(whiskAuth, name, limit, skip, activations::add);
+        return activations;
+    }
+
+    /**
+     * Hands each activation to the consumer while the response is still being read.
+     *
+     * @return the number of activations.
+     */
+    public int streamWhiskActivations(WhiskAuth whiskAuth,
+                                      Optional<String> name,
+                                      int limit,
+                                      int skip,
+                                      Consumer<WhiskActivationMetaData> consumer) throws IOException {
+        String path = "/api/v1/namespaces/_/activations"
                 + "?limit=" + limit + "&skip=" + skip + "" + name.map(n -> "&name=" + n).orElse("");
-        String authorization = whiskAuth.getBasicAuthHeader();
 
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
-                .returnContent()
-                .asString(UTF_8);
-        return JsonParserUtils.parseWhiskActivations(result);
+        return whiskHttpClient.get(whiskAuth, path, content -> JsonParserUtils.streamWhiskActivations(content, consumer));
     }
 
-    public Optional<WhiskActivationWithLogs> getWhiskActivation(WhiskAuth whiskAuth, String activationId) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/activations/" + activationId;
-        String authorization = whiskAuth.getBasicAuthHeader();
+    /**
+     * Lists the activations that started at or after the given time, newest first.
+     */
+    public List<WhiskActivationMetaData> getWhiskActivationsSince(WhiskAuth whiskAuth,
+                                                                  Optional<String> name,
+                                                                  long since,
+                                                                  int limit,
+                                                                  int skip) throws IOException {
+        String path = "/api/v1/namespaces/_/activations"
+                + "?limit=" + limit + "&skip=" + skip + "&since=" + since + name.map(n -> "&name=" + n).orElse("");
 
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
+        List<WhiskActivationMetaData> activations = new ArrayList<>();
+        whiskHttpClient.get(whiskAuth, path, content -> JsonParserUtils.streamWhiskActivations(content, activations::add));
+        return activations;
+    }
+
+    public WhiskPaginator<WhiskActivationMetaData> paginateWhiskActivations(WhiskAuth whiskAuth, Optional<String> name) {
+        return WhiskPaginator.of((limit, skip) -> getWhiskActivations(whiskAuth, name, limit, skip));
+    }
+
+    public Optional<WhiskActivationWithLogs> getWhiskActivation(WhiskAuth whiskAuth, String activationId) throws IOException {
+        String result = whiskHttpClient.get(whiskAuth, "/api/v1/namespaces/_/activations/" + activationId)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskActivation(result);
@@ -0,0 +1,198 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Follows the new activations of a namespace, or of one action or trigger, by polling /activations with
+ * since=the start of the last activation seen.
+ * The interval is back to the shortest as soon as something new shows up, and doubles up to the longest while nothing does.
+ * The activations of one poll are handed to the listener at once, newest first, on the polling thread.
+ */
+public class WhiskActivationTail {
+    private static final Logger LOG = Logger.getInstance(WhiskActivationTail.class);
+
+    public static final long DEFAULT_MIN_INTERVAL_MS = 1000;
+    public static final long DEFAULT_MAX_INTERVAL_MS = 30 * 1000;
+
+    private static final int PAGE_SIZE = WhiskPaginator.MAX_PAGE_SIZE;
+    /**
+     * A burst larger than this is cut to its newest activations, the rest can still be paged in the activation view.
+     */
+    private static final int MAX_ACTIVATIONS_PER_POLL = 5 * PAGE_SIZE;
+
+    private final WhiskActivationService whiskActivationService = WhiskActivationService.getInstance();
+
+    private final WhiskAuth whiskAuth;
+    private final Optional<String> name;
+    private final Consumer<List<WhiskActivationMetaData>> listener;
+    private final ScheduledExecutorService scheduler;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+
+    private volatile boolean running;
+    private ScheduledFuture<?> nextPoll;
+    private long since;
+    private Set<String> seenAtSince;
+    private long intervalMs;
+
+    public WhiskActivationTail(WhiskAuth whiskAuth,
+                               Optional<String> name,
+                               long since,
+                               Consumer<List<WhiskActivationMetaData>> listener,
+                               ScheduledExecutorService scheduler,
+                               long minIntervalMs,
+                               long maxIntervalMs) {
+        this(whiskAuth, name, since, new HashSet<>(), listener, scheduler, minIntervalMs, maxIntervalMs);
+    }
+
+    /**
+     * @param seenAtSince the activations that started at since and are already shown, they are not reported again.
+     */
+    public WhiskActivationTail(WhiskAuth whiskAuth,
+                               Optional<String> name,
+                               long since,
+                               Set<String> seenAtSince,
+                               Consumer<List<WhiskActivationMetaData>> listener,
+                               ScheduledExecutorService scheduler,
+                               long minIntervalMs,
+                               long maxIntervalMs) {
+        this.whiskAuth = whiskAuth;
+        this.name = name;
+        this.since = since;
+        this.seenAtSince = new HashSet<>(seenAtSince);
+        this.listener = listener;
+        this.scheduler = scheduler;
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = maxIntervalMs;
+        this.intervalMs = minIntervalMs;
+    }
+
+    /**
+     * @param since the activations that started before it are not reported.
+     */
+    public static WhiskActivationTail of(WhiskAuth whiskAuth,
+                                         Optional<String> name,
+                                         long since,
+                                         Consumer<List<WhiskActivationMetaData>> listener) {
+        return of(whiskAuth, name, since, new HashSet<>(), listener);
+    }
+
+    /**
+     * @param since       the activations that started before it are not reported.
+     * @param seenAtSince the activations that started at since and are already shown.
+     */
+    public static WhiskActivationTail of(WhiskAuth whiskAuth,
+                                         Optional<String> name,
+                                         long since,
+                                         Set<String> seenAtSince,
+                                         Consumer<List<WhiskActivationMetaData>> listener) {
+        return new WhiskActivationTail(whiskAuth, name, since, seenAtSince, listener, AppExecutorUtil.getAppScheduledExecutorService(),
+                DEFAULT_MIN_INTERVAL_MS, DEFAULT_MAX_INTERVAL_MS);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        intervalMs = minIntervalMs;
+        nextPoll = scheduler.schedule(this::poll, 0, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (nextPoll != null) {
+            nextPoll.cancel(false);
+            nextPoll = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        if (!running) {
+            return;
+        }
+        try {
+            List<WhiskActivationMetaData> activations = fetchNewActivations();
+            if (activations.isEmpty()) {
+                intervalMs = Math.min(intervalMs * 2, maxIntervalMs);
+            } else {
+                intervalMs = minIntervalMs;
+                listener.accept(activations);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to poll activations since " + since, e);
+            intervalMs = Math.min(intervalMs * 2, maxIntervalMs);
+        }
+
+        synchronized (this) {
+            if (running) {
+                nextPoll = scheduler.schedule(this::poll, intervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * The controller includes the activations that started exactly at since, so those already reported are skipped.
+     */
+    private List<WhiskActivationMetaData> fetchNewActivations() throws IOException {
+        List<WhiskActivationMetaData> activations = new ArrayList<>();
+        int skip = 0;
+        List<WhiskActivationMetaData> page;
+        do {
+            page = whiskActivationService.getWhiskActivationsSince(whiskAuth, name, since, PAGE_SIZE, skip);
+            skip += page.size();
+            for (WhiskActivationMetaData activation : page) {
+                if (activation.getStart() > since || !seenAtSince.contains(activation.getActivationId())) {
+                    activations.add(activation);
+                }
+            }
+        } while (page.size() == PAGE_SIZE && skip < MAX_ACTIVATIONS_PER_POLL);
+
+        long newest = activations.stream().mapToLong(WhiskActivationMetaData::getStart).max().orElse(since);
+        if (newest > since) {
+            since = newest;
+            seenAtSince = new HashSet<>();
+        }
+        for (WhiskActivationMetaData activation : activations) {
+            if (activation.getStart() == since) {
+                seenAtSince.add(activation.getActivationId());
+            }
+        }
+        return activations;
+    }
+}
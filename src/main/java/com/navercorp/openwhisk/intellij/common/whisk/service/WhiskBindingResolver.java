@@ -0,0 +1,126 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.whisk.model.Binding;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackageWithActions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the packages that bindings point to.
+ * Many bindings usually share a few upstream packages such as /whisk.system/utils, so every upstream package is
+ * requested once and the result is shared by all bindings until it expires.
+ */
+public class WhiskBindingResolver {
+    private static final long TTL_MS = TimeUnit.SECONDS.toMillis(60);
+    private static final int MAX_THREADS = 4;
+
+    private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Whisk Binding Resolver", MAX_THREADS);
+    private final Map<String, CachedPackage> cache = new ConcurrentHashMap<>();
+
+    private final WhiskPackageService whiskPackageService;
+
+    private WhiskBindingResolver() {
+        this.whiskPackageService = WhiskPackageService.getInstance();
+    }
+
+    private static class LazyHolder {
+        private static final WhiskBindingResolver INSTANCE = new WhiskBindingResolver();
+    }
+
+    public static WhiskBindingResolver getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Requests for the same apihost, namespace and package share one in-flight or cached result.
+     * A failed request is not cached.
+     */
+    public CompletableFuture<Optional<WhiskPackageWithActions>> resolve(WhiskAuth whiskAuth, Binding binding) {
+        String key = whiskAuth.getApihost() + "/" + binding.getNamespace() + "/" + binding.getName();
+        long now = System.currentTimeMillis();
+        CachedPackage[] created = new CachedPackage[1];
+        CachedPackage cached = cache.compute(key, (k, old) -> {
+            if (old != null && !old.isExpired(now)) {
+                return old;
+            }
+            created[0] = new CachedPackage(load(whiskAuth, binding), now);
+            return created[0];
+        });
+
+        if (created[0] != null) {
+            created[0].future.whenComplete((pkg, error) -> {
+                if (error != null) {
+                    cache.remove(key, created[0]);
+                }
+            });
+        }
+        return cached.future;
+    }
+
+    /**
+     * Resolves every binding among the packages concurrently.
+     * The returned future never fails, errors are reported to whoever reads the binding afterwards.
+     */
+    public CompletableFuture<Void> resolveAll(WhiskAuth whiskAuth, List<WhiskPackage> packages) {
+        return CompletableFuture.allOf(packages.stream()
+                .map(WhiskPackage::getBinding)
+                .filter(Optional::isPresent)
+                .map(binding -> resolve(whiskAuth, binding.get()).handle((pkg, error) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    public void invalidate() {
+        cache.clear();
+    }
+
+    private CompletableFuture<Optional<WhiskPackageWithActions>> load(WhiskAuth whiskAuth, Binding binding) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return whiskPackageService.getWhiskPackage(whiskAuth, binding.getNamespace(), binding.getName());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private static class CachedPackage {
+        private final CompletableFuture<Optional<WhiskPackageWithActions>> future;
+        private final long createdAt;
+
+        CachedPackage(CompletableFuture<Optional<WhiskPackageWithActions>> future, long createdAt) {
+            this.future = future;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - createdAt > TTL_MS;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the last known packages, actions and triggers of every namespace on disk, so the explorer can show them
+ * before the controller answers. There is one Smile file per endpoint under the IDE system directory.
+ * A file written by another format version is ignored.
+ * Saved namespaces are written together a moment later, and the files are written outside the lock of the cache.
+ */
+public class WhiskEntityCache {
+    private static final Logger LOG = Logger.getInstance(WhiskEntityCache.class);
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final String FILE_EXTENSION = ".smile";
+    private static final long MAX_ENDPOINT_BYTES = 4L * 1024 * 1024;
+    private static final int MAX_ENDPOINTS = 16;
+    private static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(7);
+    private static final long FLUSH_DELAY_MS = 1000;
+
+    private final ObjectMapper mapper = new ObjectMapper(new SmileFactory())
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path directory;
+    private final Map<String, EndpointEntry> endpoints = new HashMap<>();
+    // the endpoints whose namespaces have changed since they were last written
+    private final Set<String> dirty = new HashSet<>();
+    private boolean flushScheduled = false;
+    // held while files are written or deleted, it is always taken before the lock of the cache
+    private final Object fileLock = new Object();
+    private final ExecutorService writer = AppExecutorUtil.createBoundedApplicationPoolExecutor("Whisk Entity Cache", 1);
+
+    private WhiskEntityCache() {
+        this(Paths.get(PathManager.getSystemPath(), "openwhisk", "entity-cache"));
+    }
+
+    public WhiskEntityCache(Path directory) {
+        this.directory = directory;
+    }
+
+    private static class LazyHolder {
+        private static final WhiskEntityCache INSTANCE = new WhiskEntityCache();
+    }
+
+    public static WhiskEntityCache getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Sets the cached entities to the namespace.
+     *
+     * @return the namespace, or empty if nothing usable is cached.
+     */
+    public synchronized Optional<WhiskNamespace> get(String apihost, WhiskNamespace ns) {
+        NamespaceEntry entry = getEndpoint(apihost).namespaces.get(ns.getPath());
+        if (entry == null || System.currentTimeMillis() - entry.savedAt > MAX_AGE_MS) {
+            return Optional.empty();
+        }
+        ns.setPackages(entry.packages);
+        ns.setActions(entry.actions);
+        ns.setTriggers(entry.triggers);
+        return Optional.of(ns);
+    }
+
+    /**
+     * The namespace is kept in memory right away, and the file of the endpoint is written a moment later,
+     * once for all namespaces saved in the meantime.
+     */
+    public synchronized void put(String apihost, WhiskNamespace ns) {
+        EndpointEntry endpoint = getEndpoint(apihost);
+        endpoint.namespaces.remove(ns.getPath()); // keep the most recent at the end
+        endpoint.namespaces.put(ns.getPath(), new NamespaceEntry(ns, System.currentTimeMillis()));
+        dirty.add(apihost);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> writer.execute(this::flush), FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the endpoints that have changed now, instead of waiting for the scheduled write.
+     */
+    public void flush() {
+        synchronized (fileLock) {
+            Map<String, EndpointEntry> changed = new HashMap<>();
+            synchronized (this) {
+                flushScheduled = false;
+                for (String apihost : dirty) {
+                    EndpointEntry endpoint = endpoints.get(apihost);
+                    if (endpoint != null) {
+                        changed.put(apihost, endpoint.copy());
+                    }
+                }
+                dirty.clear();
+            }
+            changed.forEach(this::write);
+        }
+    }
+
+    /**
+     * Drops the cache of the endpoints that are no longer configured.
+     */
+    public void retainEndpoints(Collection<String> apihosts) {
+        Set<String> fileNames = apihosts.stream().map(this::toFileName).collect(Collectors.toSet());
+        synchronized (fileLock) {
+            synchronized (this) {
+                endpoints.keySet().removeIf(apihost -> !apihosts.contains(apihost));
+                dirty.removeIf(apihost -> !apihosts.contains(apihost));
+            }
+            for (Path file : listFiles()) {
+                if (!fileNames.contains(file.getFileName().toString())) {
+                    delete(file);
+                }
+            }
+        }
+    }
+
+    public void evict(String apihost) {
+        synchronized (fileLock) {
+            synchronized (this) {
+                endpoints.remove(apihost);
+                dirty.remove(apihost);
+            }
+            delete(directory.resolve(toFileName(apihost)));
+        }
+    }
+
+    private EndpointEntry getEndpoint(String apihost) {
+        return endpoints.computeIfAbsent(apihost, this::read);
+    }
+
+    private EndpointEntry read(String apihost) {
+        Path file = directory.resolve(toFileName(apihost));
+        if (Files.exists(file)) {
+            try {
+                EndpointEntry endpoint = mapper.readValue(file.toFile(), EndpointEntry.class);
+                if (endpoint.version == FORMAT_VERSION) {
+                    return endpoint;
+                }
+                LOG.info("The entity cache of " + apihost + " is written by another version, it is ignored.");
+            } catch (IOException e) {
+                LOG.warn("The entity cache of " + apihost + " cannot be read, it is ignored.", e);
+            }
+        }
+        return new EndpointEntry();
+    }
+
+    /**
+     * Called with the file lock only, the endpoint is a copy so it can be serialized while the cache is used.
+     */
+    private void write(String apihost, EndpointEntry endpoint) {
+        try {
+            byte[] bytes = mapper.writeValueAsBytes(endpoint);
+            // the least recently saved namespaces go first when an endpoint grows too large
+            Map<String, NamespaceEntry> dropped = new HashMap<>();
+            while (bytes.length > MAX_ENDPOINT_BYTES && endpoint.namespaces.size() > 1) {
+                String oldest = endpoint.namespaces.keySet().iterator().next();
+                dropped.put(oldest, endpoint.namespaces.remove(oldest));
+                bytes = mapper.writeValueAsBytes(endpoint);
+            }
+            if (bytes.length > MAX_ENDPOINT_BYTES) {
+                evict(apihost);
+                return;
+            }
+            if (!dropped.isEmpty()) {
+                dropNamespaces(apihost, dropped);
+            }
+
+            Files.createDirectories(directory);
+            Path file = directory.resolve(toFileName(apihost));
+            Path tmp = Files.createTempFile(directory, "entities", ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evictLeastRecentlyUsedEndpoints();
+        } catch (IOException e) {
+            LOG.warn("The entity cache of " + apihost + " cannot be written.", e);
+        }
+    }
+
+    /**
+     * A namespace that has been saved again since the copy was taken is kept.
+     */
+    private synchronized void dropNamespaces(String apihost, Map<String, NamespaceEntry> dropped) {
+        EndpointEntry endpoint = endpoints.get(apihost);
+        if (endpoint != null) {
+            dropped.forEach(endpoint.namespaces::remove);
+        }
+    }
+
+    private void evictLeastRecentlyUsedEndpoints() {
+        List<Path> files = listFiles();
+        if (files.size() <= MAX_ENDPOINTS) {
+            return;
+        }
+        files.sort(Comparator.comparingLong(this::lastModified));
+        files.subList(0, files.size() - MAX_ENDPOINTS).forEach(file -> {
+            synchronized (this) {
+                endpoints.keySet().removeIf(apihost -> toFileName(apihost).equals(file.getFileName().toString()));
+            }
+            delete(file);
+        });
+    }
+
+    private List<Path> listFiles() {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(FILE_EXTENSION)).collect(Collectors.toList());
+        } catch (IOException e) {
+            LOG.warn("The entity cache directory cannot be listed: " + directory, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("The entity cache cannot be deleted: " + file, e);
+        }
+    }
+
+    private String toFileName(String apihost) {
+        return apihost.replaceAll("[^A-Za-z0-9._-]", "_") + FILE_EXTENSION;
+    }
+
+    private static class EndpointEntry {
+        private int version = FORMAT_VERSION;
+        private LinkedHashMap<String, NamespaceEntry> namespaces = new LinkedHashMap<>();
+
+        /**
+         * The namespace entries are not changed once created, so they are shared.
+         */
+        EndpointEntry copy() {
+            EndpointEntry copy = new EndpointEntry();
+            copy.namespaces = new LinkedHashMap<>(namespaces);
+            return copy;
+        }
+    }
+
+    private static class NamespaceEntry {
+        private long savedAt;
+        private List<WhiskPackage> packages = new ArrayList<>();
+        private List<WhiskActionMetaData> actions = new ArrayList<>();
+        private List<WhiskTriggerMetaData> triggers = new ArrayList<>();
+
+        NamespaceEntry() {
+        }
+
+        NamespaceEntry(WhiskNamespace ns, long savedAt) {
+            this.savedAt = savedAt;
+            this.packages = new ArrayList<>(ns.getPackages());
+            this.actions = new ArrayList<>(ns.getActions());
+            this.triggers = new ArrayList<>(ns.getTriggers());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Loads the packages, actions and triggers of namespaces on a bounded pool.
+ * The three lists of a namespace are requested at the same time, and namespaces do not wait for each other.
+ * Every loaded namespace is saved to the {@link WhiskEntityCache} as well.
+ */
+public class WhiskEntityLoader {
+    private static final int MAX_THREADS = 8;
+
+    private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Whisk Entity Loader", MAX_THREADS);
+
+    private final WhiskPackageService whiskPackageService;
+    private final WhiskActionService whiskActionService;
+    private final WhiskTriggerService whiskTriggerService;
+    private final WhiskEntityCache whiskEntityCache;
+
+    private WhiskEntityLoader() {
+        this(WhiskEntityCache.getInstance());
+    }
+
+    public WhiskEntityLoader(WhiskEntityCache whiskEntityCache) {
+        this.whiskPackageService = WhiskPackageService.getInstance();
+        this.whiskActionService = WhiskActionService.getInstance();
+        this.whiskTriggerService = WhiskTriggerService.getInstance();
+        this.whiskEntityCache = whiskEntityCache;
+    }
+
+    private static class LazyHolder {
+        private static final WhiskEntityLoader INSTANCE = new WhiskEntityLoader();
+    }
+
+    public static WhiskEntityLoader getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * The entities are loaded into a copy of the namespace, the given one is shared with the UI and is not changed here.
+     * Cancelling the returned future cancels the requests that have not started yet.
+     */
+    public CompletableFuture<WhiskNamespace> loadNamespace(WhiskAuth auth, WhiskNamespace ns) {
+        CompletableFuture<List<WhiskPackage>> packages = supply(() -> whiskPackageService.getWhiskPackages(auth));
+        CompletableFuture<List<WhiskActionMetaData>> actions = supply(() -> whiskActionService.getWhiskActions(auth));
+        CompletableFuture<List<WhiskTriggerMetaData>> triggers = supply(() -> whiskTriggerService.getWhiskTriggers(auth));
+
+        CompletableFuture<WhiskNamespace> loaded = CompletableFuture.allOf(packages, actions, triggers).thenApply(ignore -> {
+            WhiskNamespace copy = new WhiskNamespace(ns.getAuth(), ns.getPath(), packages.join(), actions.join(), triggers.join());
+            whiskEntityCache.put(auth.getApihost(), copy);
+            return copy;
+        });
+        return FutureUtils.propagateCancellation(loaded, packages, actions, triggers);
+    }
+
+    /**
+     * Reads the last saved entities of the namespace into a copy, without requesting the controller.
+     */
+    public CompletableFuture<Optional<WhiskNamespace>> loadCachedNamespace(WhiskAuth auth, WhiskNamespace ns) {
+        return CompletableFuture.supplyAsync(() -> whiskEntityCache.get(auth.getApihost(), new WhiskNamespace(ns.getAuth(), ns.getPath())), executor);
+    }
+
+    private <T> CompletableFuture<T> supply(IOSupplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return supplier.get();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+}
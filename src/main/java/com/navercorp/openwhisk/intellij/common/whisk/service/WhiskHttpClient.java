@@ -0,0 +1,406 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.fluent.Executor;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.client.fluent.Response;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Shared HTTP transport of all whisk services.
+ * Connections are pooled per apihost and kept alive between calls, so browsing the explorer does not pay
+ * a new TCP/TLS handshake for every request.
+ * Entities and lists can be read with conditional requests, so a body that has not changed is not downloaded again.
+ */
+public class WhiskHttpClient implements Closeable {
+    private static final Logger LOG = Logger.getInstance(WhiskHttpClient.class);
+
+    public static final int DEFAULT_CONNECT_TIMEOUT_MS = 10 * 1000;
+    /**
+     * Blocking invocations are held by the controller for up to 60 seconds, so the read timeout must be longer than that.
+     */
+    public static final int DEFAULT_READ_TIMEOUT_MS = 70 * 1000;
+
+    private static final int MAX_CONNECTIONS = 64;
+    private static final int MAX_CONNECTIONS_PER_APIHOST = 16;
+    private static final long IDLE_CONNECTION_TIMEOUT_SEC = 30;
+    /**
+     * The bodies are kept in the heap of the IDE for as long as it runs, so the cache is bounded by their total size.
+     */
+    private static final long MAX_CACHED_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_CACHED_BODY_LENGTH = 256 * 1024;
+
+    private final CloseableHttpClient httpClient;
+    private final Executor executor;
+    private final Map<String, String> authorizationHeaders = new ConcurrentHashMap<>();
+    private final ResponseCache responses = new ResponseCache(MAX_CACHED_BYTES);
+
+    private volatile int connectTimeout = DEFAULT_CONNECT_TIMEOUT_MS;
+    private volatile int readTimeout = DEFAULT_READ_TIMEOUT_MS;
+
+    private WhiskHttpClient() {
+        this(MAX_CONNECTIONS, MAX_CONNECTIONS_PER_APIHOST);
+    }
+
+    private WhiskHttpClient(int maxConnections, int maxConnectionsPerApihost) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerApihost);
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_CONNECTION_TIMEOUT_SEC, TimeUnit.SECONDS)
+                .useSystemProperties()
+                .build();
+        this.executor = Executor.newInstance(httpClient);
+    }
+
+    private static class LazyHolder {
+        private static final WhiskHttpClient INSTANCE = new WhiskHttpClient();
+    }
+
+    public static WhiskHttpClient getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * A client with a pool of its own, for work that holds many connections for long, such as a benchmark.
+     * The shared pool allows only a few connections per apihost, so it would both cap that work and starve the rest of the UI.
+     * It takes the timeouts of the shared client, and it must be closed.
+     */
+    public static WhiskHttpClient createDedicated(int maxConnections) {
+        WhiskHttpClient client = new WhiskHttpClient(maxConnections, maxConnections);
+        client.setTimeouts(getInstance().getConnectTimeout(), getInstance().getReadTimeout());
+        return client;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    public void setTimeouts(int connectTimeoutMs, int readTimeoutMs) {
+        this.connectTimeout = connectTimeoutMs;
+        this.readTimeout = readTimeoutMs;
+        LOG.info("Whisk http timeouts changed: connect=" + connectTimeoutMs + "ms, read=" + readTimeoutMs + "ms");
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public Response get(WhiskAuth whiskAuth, String path) throws IOException {
+        return execute(whiskAuth, Request.Get(toUrl(whiskAuth, path)));
+    }
+
+    public String getConditional(WhiskAuth whiskAuth, String path) throws IOException {
+        return getConditional(whiskAuth, path, content -> new String(content.readAllBytes(), UTF_8));
+    }
+
+    /**
+     * Gets the content with If-None-Match and If-Modified-Since when the previous response had an ETag or Last-Modified,
+     * and answers a 304 Not Modified from the cached body. Like {@code returnContent()}, an error status is thrown.
+     * The handler reads the body while it is downloaded, and a copy is kept for the next request.
+     */
+    public <T> T getConditional(WhiskAuth whiskAuth, String path, ContentHandler<T> handler) throws IOException {
+        String key = toCacheKey(whiskAuth, path);
+        CachedResponse cached = responses.get(key);
+        Request request = Request.Get(toUrl(whiskAuth, path));
+        if (cached != null) {
+            cached.getETag().ifPresent(etag -> request.setHeader(HttpHeaders.IF_NONE_MATCH, etag));
+            cached.getLastModified().ifPresent(lastModified -> request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified));
+        }
+
+        return execute(whiskAuth, request).handleResponse(response -> {
+            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+                EntityUtils.consume(response.getEntity());
+                LOG.debug("Not modified: " + path);
+                return handler.handle(new ByteArrayInputStream(cached.content));
+            }
+            checkStatus(response);
+
+            CopyingInputStream content = new CopyingInputStream(getContent(response), MAX_CACHED_BODY_LENGTH);
+            T result = handler.handle(content);
+            content.drain();
+            Optional<byte[]> copy = content.getCopy();
+            if (copy.isPresent()) {
+                responses.put(key, new CachedResponse(copy.get(), getHeader(response, HttpHeaders.ETAG), getHeader(response, HttpHeaders.LAST_MODIFIED)));
+            } else {
+                responses.remove(key);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Gets the content without caching, the handler reads the body while it is downloaded.
+     */
+    public <T> T get(WhiskAuth whiskAuth, String path, ContentHandler<T> handler) throws IOException {
+        return execute(whiskAuth, Request.Get(toUrl(whiskAuth, path))).handleResponse(response -> {
+            checkStatus(response);
+            return handler.handle(getContent(response));
+        });
+    }
+
+    /**
+     * @return the last body read by {@link #getConditional}, or empty if it is not cached.
+     */
+    public Optional<CachedResponse> getCachedResponse(WhiskAuth whiskAuth, String path) {
+        return Optional.ofNullable(responses.get(toCacheKey(whiskAuth, path)));
+    }
+
+    public Response post(WhiskAuth whiskAuth, String path, String body) throws IOException {
+        return execute(whiskAuth, Request.Post(toUrl(whiskAuth, path)).bodyString(body, ContentType.APPLICATION_JSON));
+    }
+
+    public Response put(WhiskAuth whiskAuth, String path, String body) throws IOException {
+        return execute(whiskAuth, Request.Put(toUrl(whiskAuth, path)).bodyString(body, ContentType.APPLICATION_JSON));
+    }
+
+    public Response delete(WhiskAuth whiskAuth, String path) throws IOException {
+        return execute(whiskAuth, Request.Delete(toUrl(whiskAuth, path)));
+    }
+
+    private Response execute(WhiskAuth whiskAuth, Request request) throws IOException {
+        request.setHeader(HttpHeaders.AUTHORIZATION, getAuthorizationHeader(whiskAuth))
+                .connectTimeout(connectTimeout)
+                .socketTimeout(readTimeout);
+        return executor.execute(request);
+    }
+
+    private String toUrl(WhiskAuth whiskAuth, String path) {
+        return whiskAuth.getApihost() + path;
+    }
+
+    /**
+     * Namespaces share the same paths such as /namespaces/_/actions, so responses are cached per auth key as well.
+     */
+    private String toCacheKey(WhiskAuth whiskAuth, String path) {
+        return whiskAuth.getAuth() + " " + toUrl(whiskAuth, path);
+    }
+
+    private void checkStatus(HttpResponse response) throws IOException {
+        StatusLine statusLine = response.getStatusLine();
+        if (statusLine.getStatusCode() >= HttpStatus.SC_MULTIPLE_CHOICES) {
+            EntityUtils.consume(response.getEntity());
+            throw new HttpResponseException(statusLine.getStatusCode(), statusLine.getReasonPhrase());
+        }
+    }
+
+    private InputStream getContent(HttpResponse response) throws IOException {
+        return response.getEntity() == null ? new ByteArrayInputStream(new byte[0]) : response.getEntity().getContent();
+    }
+
+    private String getHeader(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    /**
+     * The Basic auth header is encoded once per auth key and reused by all later requests.
+     */
+    private String getAuthorizationHeader(WhiskAuth whiskAuth) {
+        return authorizationHeaders.computeIfAbsent(whiskAuth.getAuth(),
+                auth -> "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(UTF_8)));
+    }
+
+    /**
+     * Reads a response body, it must not close the stream.
+     */
+    @FunctionalInterface
+    public interface ContentHandler<T> {
+        T handle(InputStream content) throws IOException;
+    }
+
+    /**
+     * A response body with the validators it was sent with.
+     */
+    public static final class CachedResponse {
+        private final byte[] content;
+        private final String eTag;
+        private final String lastModified;
+
+        CachedResponse(byte[] content, String eTag, String lastModified) {
+            this.content = content;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        public String getBody() {
+            return new String(content, UTF_8);
+        }
+
+        public Optional<String> getETag() {
+            return Optional.ofNullable(eTag);
+        }
+
+        public Optional<String> getLastModified() {
+            return Optional.ofNullable(lastModified);
+        }
+
+        public boolean hasValidators() {
+            return eTag != null || lastModified != null;
+        }
+    }
+
+    /**
+     * The least recently used responses are dropped once the bodies take more than the limit.
+     */
+    private static final class ResponseCache {
+        private final Map<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxBytes;
+        private long bytes;
+
+        ResponseCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized CachedResponse get(String key) {
+            return responses.get(key);
+        }
+
+        synchronized void put(String key, CachedResponse response) {
+            remove(key);
+            responses.put(key, response);
+            bytes += response.content.length;
+            Iterator<CachedResponse> eldest = responses.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().content.length;
+                eldest.remove();
+            }
+        }
+
+        synchronized void remove(String key) {
+            CachedResponse removed = responses.remove(key);
+            if (removed != null) {
+                bytes -= removed.content.length;
+            }
+        }
+    }
+
+    /**
+     * Keeps a copy of what is read, as long as the body is not larger than the limit.
+     */
+    private static final class CopyingInputStream extends FilterInputStream {
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private final int limit;
+        private boolean overflowed;
+        private boolean finished;
+
+        CopyingInputStream(InputStream in, int limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                finished = true;
+            } else if (reserve(1)) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                finished = true;
+            } else {
+                copy(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // the response is released by the client
+        }
+
+        /**
+         * Reads the rest of the body that the handler did not need, such as whitespace after the last token.
+         */
+        void drain() throws IOException {
+            byte[] buffer = new byte[8192];
+            int n;
+            do {
+                n = read(buffer, 0, buffer.length);
+            } while (n != -1);
+        }
+
+        Optional<byte[]> getCopy() {
+            return finished && !overflowed ? Optional.of(copy.toByteArray()) : Optional.empty();
+        }
+
+        private void copy(byte[] b, int off, int len) {
+            if (reserve(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        /**
+         * @return whether that many more bytes fit in the copy, once they do not the copy is dropped.
+         */
+        private boolean reserve(int len) {
+            if (overflowed) {
+                return false;
+            }
+            if (copy.size() + len > limit) {
+                overflowed = true;
+                copy.reset();
+                return false;
+            }
+            return true;
+        }
+    }
+}
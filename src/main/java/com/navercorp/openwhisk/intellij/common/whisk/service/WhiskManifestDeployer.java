@@ -0,0 +1,220 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.DeployResult;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.ManifestEntity;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.WhiskManifest;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskRule;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Deploys a manifest without wskdeploy, and only the entities whose digest differs from the remote one.
+ * The remote digests are read from the lists of packages, actions and triggers and from each rule,
+ * then every level of entities is PUT concurrently once the level before it is done.
+ * After a failure the later levels are skipped, as they may depend on the failed entity.
+ */
+public class WhiskManifestDeployer {
+    private static final Logger LOG = Logger.getInstance(WhiskManifestDeployer.class);
+
+    private static final int MAX_THREADS = 4;
+
+    private final ExecutorService executor;
+
+    private final WhiskPackageService whiskPackageService = WhiskPackageService.getInstance();
+    private final WhiskActionService whiskActionService = WhiskActionService.getInstance();
+    private final WhiskTriggerService whiskTriggerService = WhiskTriggerService.getInstance();
+    private final WhiskRuleService whiskRuleService = WhiskRuleService.getInstance();
+
+    private WhiskManifestDeployer() {
+        this(AppExecutorUtil.createBoundedApplicationPoolExecutor("Whisk Manifest Deployer", MAX_THREADS));
+    }
+
+    WhiskManifestDeployer(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    private static class LazyHolder {
+        private static final WhiskManifestDeployer INSTANCE = new WhiskManifestDeployer();
+    }
+
+    public static WhiskManifestDeployer getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * The future fails only if the remote entities cannot be read, with the IOException of that request,
+     * a failed PUT is recorded in the result.
+     * Cancelling the future stops before the next entity.
+     *
+     * @param listener is told about every entity as it is done, from the worker threads.
+     */
+    public CompletableFuture<DeployResult> deploy(WhiskAuth whiskAuth, WhiskManifest manifest, Consumer<String> listener) {
+        CompletableFuture<DeployResult> done = new CompletableFuture<>();
+        DeployResult result = new DeployResult();
+        CompletableFuture.supplyAsync(() -> getRemoteDigests(whiskAuth, manifest), executor)
+                .thenCompose(remoteDigests -> deployLevels(whiskAuth, manifest.getLevels(), 0, remoteDigests, result, listener, done))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        Throwable cause = FutureUtils.unwrap(error);
+                        done.completeExceptionally(cause instanceof UncheckedIOException ? cause.getCause() : cause);
+                    } else {
+                        done.complete(result);
+                    }
+                });
+        return done;
+    }
+
+    private CompletableFuture<Void> deployLevels(WhiskAuth whiskAuth,
+                                                 List<List<ManifestEntity>> levels,
+                                                 int index,
+                                                 Map<String, String> remoteDigests,
+                                                 DeployResult result,
+                                                 Consumer<String> listener,
+                                                 CompletableFuture<DeployResult> done) {
+        if (index == levels.size() || done.isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (result.hasFailures()) {
+            levels.subList(index, levels.size()).forEach(level -> level.forEach(entity -> {
+                result.recordSkipped(entity);
+                listener.accept("Skipped " + entity);
+            }));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<?>[] level = levels.get(index).stream()
+                .map(entity -> CompletableFuture.runAsync(() -> {
+                    if (!done.isDone()) {
+                        deployEntity(whiskAuth, entity, remoteDigests.get(entity.getKey()), result, listener);
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(level)
+                .thenCompose(ignored -> deployLevels(whiskAuth, levels, index + 1, remoteDigests, result, listener, done));
+    }
+
+    private void deployEntity(WhiskAuth whiskAuth, ManifestEntity entity, String remoteDigest, DeployResult result, Consumer<String> listener) {
+        if (entity.getDigest().equals(remoteDigest)) {
+            result.recordUnchanged(entity);
+            listener.accept("Unchanged " + entity);
+            return;
+        }
+        try {
+            put(whiskAuth, entity);
+            result.recordDeployed(entity);
+            listener.accept("Deployed " + entity);
+        } catch (IOException e) {
+            LOG.warn("Failed to deploy " + entity, e);
+            result.recordFailure(entity, e.getMessage());
+            listener.accept("Failed to deploy " + entity + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Only the names are logged, the inputs of a manifest may be interpolated from environment variables holding credentials.
+     */
+    private void put(WhiskAuth whiskAuth, ManifestEntity entity) throws IOException {
+        String name = entity.getName();
+        Map<String, Object> payload = entity.getPayload();
+        switch (entity.getType()) {
+            case PACKAGE:
+                whiskPackageService.updateWhiskPackage(whiskAuth, name, payload, false);
+                break;
+            case TRIGGER:
+                whiskTriggerService.updateWhiskTrigger(whiskAuth, name, payload, false);
+                break;
+            case ACTION:
+            case SEQUENCE:
+                int slash = name.indexOf('/');
+                Optional<String> pkgName = slash < 0 ? Optional.empty() : Optional.of(name.substring(0, slash));
+                whiskActionService.updateWhiskAction(whiskAuth, pkgName, name.substring(slash + 1), payload);
+                break;
+            default:
+                whiskRuleService.updateWhiskRule(whiskAuth, name, payload, false);
+                break;
+        }
+    }
+
+    /**
+     * Only the collections the manifest has entities in are listed.
+     *
+     * @return the digest of every remote entity that has one, by {@link ManifestEntity#getKey()}.
+     */
+    private Map<String, String> getRemoteDigests(WhiskAuth whiskAuth, WhiskManifest manifest) {
+        Map<String, String> digests = new HashMap<>();
+        try {
+            if (has(manifest, ManifestEntity.Type.PACKAGE)) {
+                for (WhiskPackage pkg : whiskPackageService.getWhiskPackages(whiskAuth)) {
+                    putDigest(digests, "packages/" + pkg.getName(), pkg.getAnnotations());
+                }
+            }
+            if (has(manifest, ManifestEntity.Type.ACTION) || has(manifest, ManifestEntity.Type.SEQUENCE)) {
+                for (WhiskActionMetaData action : whiskActionService.getWhiskActions(whiskAuth)) {
+                    String name = action.getWhiskPackage().map(p -> p + "/" + action.getName()).orElse(action.getName());
+                    putDigest(digests, "actions/" + name, action.getAnnotations());
+                }
+            }
+            if (has(manifest, ManifestEntity.Type.TRIGGER)) {
+                for (WhiskTriggerMetaData trigger : whiskTriggerService.getWhiskTriggers(whiskAuth)) {
+                    putDigest(digests, "triggers/" + trigger.getName(), trigger.getAnnotations());
+                }
+            }
+            // rules are listed without their annotations
+            for (ManifestEntity entity : manifest.getEntities()) {
+                if (entity.getType() == ManifestEntity.Type.RULE) {
+                    Optional<WhiskRule> rule = whiskRuleService.getWhiskRule(whiskAuth, entity.getName());
+                    if (rule.isPresent()) {
+                        putDigest(digests, entity.getKey(), rule.get().getAnnotations());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return digests;
+    }
+
+    private boolean has(WhiskManifest manifest, ManifestEntity.Type type) {
+        return manifest.getEntities().stream().anyMatch(entity -> entity.getType() == type);
+    }
+
+    private void putDigest(Map<String, String> digests, String key, List<Map<String, Object>> annotations) {
+        for (Map<String, Object> annotation : annotations) {
+            if (ManifestEntity.DIGEST_ANNOTATION.equals(annotation.get("key"))) {
+                digests.put(key, Objects.toString(annotation.get("value")));
+            }
+        }
+    }
+}
@@ -18,8 +18,6 @@ package com.navercorp.openwhisk.intellij.common.whisk.service;
 
 import com.intellij.openapi.diagnostic.Logger;
 import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
-import org.apache.http.HttpHeaders;
-import org.apache.http.client.fluent.Request;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
 
@@ -29,6 +27,8 @@ import java.util.Optional;
 public class WhiskNamespaceService {
     private static final Logger LOG = Logger.getInstance(WhiskNamespaceService.class);
 
+    private final WhiskHttpClient whiskHttpClient = WhiskHttpClient.getInstance();
+
     private WhiskNamespaceService() {
 
     }
@@ -42,12 +42,8 @@ public class WhiskNamespaceService {
     }
 
     public Optional<WhiskNamespace> validateNamespace(WhiskAuth whiskAuth) {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces";
-        String authorization = whiskAuth.getBasicAuthHeader();
         try {
-            String result = Request.Get(endpoint)
-                    .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                    .execute()
+            String result = whiskHttpClient.get(whiskAuth, "/api/v1/namespaces")
                     .returnContent()
                     .asString();
 
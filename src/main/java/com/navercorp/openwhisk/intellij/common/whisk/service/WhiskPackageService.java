@@ -18,11 +18,8 @@ package com.navercorp.openwhisk.intellij.common.whisk.service;
 
 import com.intellij.openapi.diagnostic.Logger;
 import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
-import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.fluent.Request;
-import org.apache.http.entity.ContentType;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
 import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackageWithActions;
@@ -30,6 +27,7 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackageWithA
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,6 +37,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class WhiskPackageService {
     private static final Logger LOG = Logger.getInstance(WhiskPackageService.class);
 
+    private final WhiskHttpClient whiskHttpClient = WhiskHttpClient.getInstance();
+
     private WhiskPackageService() {
 
     }
@@ -52,35 +52,25 @@ public class WhiskPackageService {
     }
 
     public List<WhiskPackage> getWhiskPackages(WhiskAuth whiskAuth) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/packages?limit=200&skip=0";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        return paginateWhiskPackages(whiskAuth).collectAll();
+    }
 
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
-                .returnContent()
-                .asString(UTF_8);
-        return JsonParserUtils.parseWhiskPackages(result);
+    public WhiskPaginator<WhiskPackage> paginateWhiskPackages(WhiskAuth whiskAuth) {
+        return WhiskPaginator.of((limit, skip) -> {
+            List<WhiskPackage> page = new ArrayList<>();
+            String path = "/api/v1/namespaces/_/packages?limit=" + limit + "&skip=" + skip;
+            whiskHttpClient.getConditional(whiskAuth, path, content -> JsonParserUtils.streamWhiskPackages(content, page::add));
+            return page;
+        });
     }
 
     public Optional<WhiskPackageWithActions> getWhiskPackage(WhiskAuth whiskAuth, String namespace, String name) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/" + namespace + "/packages/" + name;
-        String authorization = whiskAuth.getBasicAuthHeader();
-
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
-                .returnContent()
-                .asString(UTF_8);
+        String result = whiskHttpClient.getConditional(whiskAuth, "/api/v1/namespaces/" + namespace + "/packages/" + name);
         return JsonParserUtils.parseWhiskPackage(result);
     }
 
     public Optional<WhiskPackageWithActions> deleteWhiskPackage(WhiskAuth whiskAuth, String name) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/packages/" + name;
-        String authorization = whiskAuth.getBasicAuthHeader();
-        HttpResponse response = Request.Delete(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
+        HttpResponse response = whiskHttpClient.delete(whiskAuth, "/api/v1/namespaces/_/packages/" + name)
                 .returnResponse();
 
         if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CONFLICT) {
@@ -99,28 +89,30 @@ public class WhiskPackageService {
     }
 
     public Optional<WhiskPackageWithActions> updateWhiskPackage(WhiskAuth whiskAuth, String name, Map<String, Object> payload) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/packages/" + name + "?overwrite=true";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        return updateWhiskPackage(whiskAuth, name, payload, true);
+    }
+
+    /**
+     * Creates or replaces the package, the body is logged only if asked as it may hold parameters taken from the environment.
+     */
+    public Optional<WhiskPackageWithActions> updateWhiskPackage(WhiskAuth whiskAuth,
+                                                                String name,
+                                                                Map<String, Object> payload,
+                                                                boolean logBody) throws IOException {
+        String path = "/api/v1/namespaces/_/packages/" + name + "?overwrite=true";
         String body = JsonParserUtils.writeMapToJson(payload);
-        LOG.info("Package updated: " + body);
-        String result = Request.Put(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(body, ContentType.APPLICATION_JSON)
-                .execute()
+        LOG.info("Package updated: " + (logBody ? body : name));
+        String result = whiskHttpClient.put(whiskAuth, path, body)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskPackage(result);
     }
 
     public Optional<WhiskPackageWithActions> createWhiskPackage(WhiskAuth whiskAuth, String name, Map<String, Object> payload) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/packages/" + name + "?overwrite=false";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        String path = "/api/v1/namespaces/_/packages/" + name + "?overwrite=false";
         String body = JsonParserUtils.writeMapToJson(payload);
         LOG.info("Package craeted: " + body);
-        HttpResponse response = Request.Put(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(body, ContentType.APPLICATION_JSON)
-                .execute()
+        HttpResponse response = whiskHttpClient.put(whiskAuth, path, body)
                 .returnResponse();
 
         if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CONFLICT) {
@@ -0,0 +1,174 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Walks a whisk collection with limit/skip until a page comes back shorter than the page size.
+ * Each page is requested together with the one after it, before it is known whether the page is full,
+ * so two requests are always in flight and the page after the last one is requested and dropped.
+ *
+ * @param <T> the entity of the collection.
+ */
+public class WhiskPaginator<T> implements Iterable<T> {
+    /**
+     * The largest limit the controller accepts for entity collections.
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final int MAX_PREFETCH_THREADS = 4;
+
+    private static final Executor PREFETCH_EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("Whisk Page Prefetch", MAX_PREFETCH_THREADS);
+
+    private final PageLoader<T> pageLoader;
+    private final int pageSize;
+    private final Executor prefetchExecutor;
+
+    public WhiskPaginator(PageLoader<T> pageLoader, int pageSize, Executor prefetchExecutor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size must be positive: " + pageSize);
+        }
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    public static <T> WhiskPaginator<T> of(PageLoader<T> pageLoader) {
+        return new WhiskPaginator<>(pageLoader, MAX_PAGE_SIZE, PREFETCH_EXECUTOR);
+    }
+
+    /**
+     * Pages are requested lazily. An {@link IOException} of a page is rethrown as {@link UncheckedIOException}.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new PageIterator();
+    }
+
+    /**
+     * Loads every page and returns all entities in the order of the server.
+     */
+    public List<T> collectAll() throws IOException {
+        List<T> all = new ArrayList<>();
+        try {
+            for (T entity : this) {
+                all.add(entity);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return all;
+    }
+
+    private CompletableFuture<List<T>> prefetch(int skip) {
+        return CompletableFuture.supplyAsync(() -> load(skip), prefetchExecutor);
+    }
+
+    private List<T> load(int skip) {
+        try {
+            List<T> page = pageLoader.load(pageSize, skip);
+            return page == null ? Collections.emptyList() : page;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private class PageIterator implements Iterator<T> {
+        private Iterator<T> current = Collections.emptyIterator();
+        private CompletableFuture<List<T>> next;
+        private CompletableFuture<List<T>> afterNext;
+        private int skip = 0;
+        private boolean lastPage = false;
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (lastPage) {
+                    return false;
+                }
+                if (next == null) {
+                    next = prefetch(skip);
+                    afterNext = prefetch(skip + pageSize);
+                }
+
+                List<T> page;
+                try {
+                    page = join(next);
+                } catch (RuntimeException e) {
+                    afterNext.cancel(false);
+                    throw e;
+                }
+                skip += page.size();
+                lastPage = page.size() < pageSize;
+                if (lastPage) {
+                    // the page after a short one is never read
+                    afterNext.cancel(false);
+                    next = null;
+                    afterNext = null;
+                } else {
+                    // the page after this one is requested before it is known whether this one is full
+                    next = afterNext;
+                    afterNext = prefetch(skip + pageSize);
+                }
+                current = page.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
+    /**
+     * Loads one page of a collection.
+     *
+     * @param <T> the entity of the collection.
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> load(int limit, int skip) throws IOException;
+    }
+}
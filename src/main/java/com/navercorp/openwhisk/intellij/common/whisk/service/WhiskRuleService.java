@@ -18,11 +18,10 @@ package com.navercorp.openwhisk.intellij.common.whisk.service;
 
 import com.intellij.openapi.diagnostic.Logger;
 import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
-import org.apache.http.HttpHeaders;
-import org.apache.http.client.fluent.Request;
-import org.apache.http.entity.ContentType;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskRule;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpResponseException;
 
 import java.io.IOException;
 import java.util.Map;
@@ -33,6 +32,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class WhiskRuleService {
     private static final Logger LOG = Logger.getInstance(WhiskRuleService.class);
 
+    private final WhiskHttpClient whiskHttpClient = WhiskHttpClient.getInstance();
+
     private WhiskRuleService() {
     }
 
@@ -44,26 +45,39 @@ public class WhiskRuleService {
         return LazyHolder.INSTANCE;
     }
 
+    /**
+     * @return the rule, or empty if it does not exist.
+     */
+    public Optional<WhiskRule> getWhiskRule(WhiskAuth whiskAuth, String ruleName) throws IOException {
+        try {
+            return JsonParserUtils.parseWhiskRule(whiskHttpClient.getConditional(whiskAuth, "/api/v1/namespaces/_/rules/" + ruleName));
+        } catch (HttpResponseException e) {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
     public Optional<WhiskRule> updateWhiskRule(WhiskAuth whiskAuth, String ruleName, Map<String, Object> payload) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/rules/" + ruleName + "?overwrite=true";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        return updateWhiskRule(whiskAuth, ruleName, payload, true);
+    }
+
+    /**
+     * Creates or replaces the rule, the body is logged only if asked as it may hold parameters taken from the environment.
+     */
+    public Optional<WhiskRule> updateWhiskRule(WhiskAuth whiskAuth, String ruleName, Map<String, Object> payload, boolean logBody) throws IOException {
+        String path = "/api/v1/namespaces/_/rules/" + ruleName + "?overwrite=true";
         String body = JsonParserUtils.writeMapToJson(payload);
-        LOG.info("Rule updated: " + body);
-        String result = Request.Put(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(body, ContentType.APPLICATION_JSON)
-                .execute()
+        LOG.info("Rule updated: " + (logBody ? body : ruleName));
+        String result = whiskHttpClient.put(whiskAuth, path, body)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskRule(result);
     }
 
     public Optional<WhiskRule> deleteWhiskRule(WhiskAuth whiskAuth, String ruleName) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/rules/" + ruleName;
-        String authorization = whiskAuth.getBasicAuthHeader();
-        String result = Request.Delete(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
+        String result = whiskHttpClient.delete(whiskAuth, "/api/v1/namespaces/_/rules/" + ruleName)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskRule(result);
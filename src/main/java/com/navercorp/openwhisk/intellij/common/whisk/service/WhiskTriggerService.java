@@ -18,15 +18,13 @@ package com.navercorp.openwhisk.intellij.common.whisk.service;
 
 import com.intellij.openapi.diagnostic.Logger;
 import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
-import org.apache.http.HttpHeaders;
 import org.apache.http.client.fluent.Content;
-import org.apache.http.client.fluent.Request;
-import org.apache.http.entity.ContentType;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.ExecutableWhiskTrigger;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,6 +34,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class WhiskTriggerService {
     private static final Logger LOG = Logger.getInstance(WhiskTriggerService.class);
 
+    private final WhiskHttpClient whiskHttpClient = WhiskHttpClient.getInstance();
+
     private WhiskTriggerService() {
     }
 
@@ -48,36 +48,25 @@ public class WhiskTriggerService {
     }
 
     public List<WhiskTriggerMetaData> getWhiskTriggers(WhiskAuth whiskAuth) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/triggers?limit=50&skip=0";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        return paginateWhiskTriggers(whiskAuth).collectAll();
+    }
 
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
-                .returnContent()
-                .asString(UTF_8);
-        return JsonParserUtils.parseWhiskTriggers(result);
+    public WhiskPaginator<WhiskTriggerMetaData> paginateWhiskTriggers(WhiskAuth whiskAuth) {
+        return WhiskPaginator.of((limit, skip) -> {
+            List<WhiskTriggerMetaData> page = new ArrayList<>();
+            String path = "/api/v1/namespaces/_/triggers?limit=" + limit + "&skip=" + skip;
+            whiskHttpClient.getConditional(whiskAuth, path, content -> JsonParserUtils.streamWhiskTriggers(content, page::add));
+            return page;
+        });
     }
 
     public Optional<ExecutableWhiskTrigger> getWhiskTrigger(WhiskAuth whiskAuth, String triggerName) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/triggers/" + triggerName;
-        String authorization = whiskAuth.getBasicAuthHeader();
-
-        String result = Request.Get(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
-                .returnContent()
-                .asString(UTF_8);
+        String result = whiskHttpClient.getConditional(whiskAuth, "/api/v1/namespaces/_/triggers/" + triggerName);
         return JsonParserUtils.parseWhiskTrigger(result);
     }
 
     public Optional<String> fireWhiskTrigger(WhiskAuth whiskAuth, String triggerName, String params) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/triggers/" + triggerName;
-        String authorization = whiskAuth.getBasicAuthHeader();
-        Content content = Request.Post(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(params, ContentType.APPLICATION_JSON)
-                .execute()
+        Content content = whiskHttpClient.post(whiskAuth, "/api/v1/namespaces/_/triggers/" + triggerName, params)
                 .returnContent();
         if (content != null) {
             return Optional.ofNullable(JsonParserUtils.beautifyJson(content.asString(UTF_8)));
@@ -87,40 +76,37 @@ public class WhiskTriggerService {
     }
 
     public Optional<ExecutableWhiskTrigger> deleteWhiskTrigger(WhiskAuth whiskAuth, String triggerName) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/triggers/" + triggerName;
-        String authorization = whiskAuth.getBasicAuthHeader();
-
-        String result = Request.Delete(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .execute()
+        String result = whiskHttpClient.delete(whiskAuth, "/api/v1/namespaces/_/triggers/" + triggerName)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskTrigger(result);
     }
 
     public Optional<ExecutableWhiskTrigger> createWhiskTrigger(WhiskAuth whiskAuth, String triggerName, Map<String, Object> payload) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/triggers/" + triggerName + "?overwrite=false";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        String path = "/api/v1/namespaces/_/triggers/" + triggerName + "?overwrite=false";
         String body = JsonParserUtils.writeMapToJson(payload);
         LOG.info("Trigger updated: " + body);
-        String result = Request.Put(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(body, ContentType.APPLICATION_JSON)
-                .execute()
+        String result = whiskHttpClient.put(whiskAuth, path, body)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskTrigger(result);
     }
 
     public Optional<ExecutableWhiskTrigger> updateWhiskTrigger(WhiskAuth whiskAuth, String triggerName, Map<String, Object> payload) throws IOException {
-        String endpoint = whiskAuth.getApihost() + "/api/v1/namespaces/_/triggers/" + triggerName + "?overwrite=true";
-        String authorization = whiskAuth.getBasicAuthHeader();
+        return updateWhiskTrigger(whiskAuth, triggerName, payload, true);
+    }
+
+    /**
+     * Creates or replaces the trigger, the body is logged only if asked as it may hold parameters taken from the environment.
+     */
+    public Optional<ExecutableWhiskTrigger> updateWhiskTrigger(WhiskAuth whiskAuth,
+                                                               String triggerName,
+                                                               Map<String, Object> payload,
+                                                               boolean logBody) throws IOException {
+        String path = "/api/v1/namespaces/_/triggers/" + triggerName + "?overwrite=true";
         String body = JsonParserUtils.writeMapToJson(payload);
-        LOG.info("Trigger updated: " + body);
-        String result = Request.Put(endpoint)
-                .setHeader(HttpHeaders.AUTHORIZATION, authorization)
-                .bodyString(body, ContentType.APPLICATION_JSON)
-                .execute()
+        LOG.info("Trigger updated: " + (logBody ? body : triggerName));
+        String result = whiskHttpClient.put(whiskAuth, path, body)
                 .returnContent()
                 .asString(UTF_8);
         return JsonParserUtils.parseWhiskTrigger(result);
@@ -22,12 +22,14 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
+import com.navercorp.openwhisk.intellij.common.utils.EventUtils;
 import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
 import com.navercorp.openwhisk.intellij.common.utils.ParameterUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.model.Binding;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackageWithActions;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskPackageService;
+import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.InvalidateWhiskNamespaceListener;
 import org.apache.commons.lang.StringUtils;
 
 import javax.swing.*;
@@ -105,7 +107,10 @@ public class PackageManagerDialogForm {
             }
 
             whiskPackageService.updateWhiskPackage(whiskAuth, whiskPackage.getName(), payload)
-                    .ifPresent(updated -> NOTIFIER.notify(project, updated.getName() + " updated", NotificationType.INFORMATION));
+                    .ifPresent(updated -> {
+                        NOTIFIER.notify(project, updated.getName() + " updated", NotificationType.INFORMATION);
+                        EventUtils.publish(project, InvalidateWhiskNamespaceListener.TOPIC, l -> l.invalidateWhiskNamespace(whiskAuth));
+                    });
         } catch (IOException e) {
             String msg = "Failed to update package: " + whiskPackage.getName();
             LOG.error(msg, e);
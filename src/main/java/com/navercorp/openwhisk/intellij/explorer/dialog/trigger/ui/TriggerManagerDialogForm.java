@@ -29,6 +29,7 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.ExecutableWhi
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.SimplifiedWhiskRule;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskRuleService;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskTriggerService;
+import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.InvalidateWhiskNamespaceListener;
 import com.navercorp.openwhisk.intellij.run.toolwindow.listener.RefreshActionOrTriggerListener;
 import org.apache.commons.lang.RandomStringUtils;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
@@ -192,6 +193,7 @@ public class TriggerManagerDialogForm {
 
             NOTIFIER.notify(project, cachedTrigger.getName() + " updated", NotificationType.INFORMATION);
             EventUtils.publish(project, RefreshActionOrTriggerListener.TOPIC, RefreshActionOrTriggerListener::fetchActionMetadata);
+            EventUtils.publish(project, InvalidateWhiskNamespaceListener.TOPIC, l -> l.invalidateWhiskNamespace(auth));
         } catch (IOException e) {
             String msg = "Failed to update trigger: " + cachedTrigger.getName();
             LOG.error(msg, e);
@@ -29,9 +29,7 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
 import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
-import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
-import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationService;
 import com.navercorp.openwhisk.intellij.explorer.editor.model.ComboBoxEntityEntry;
 import com.navercorp.openwhisk.intellij.explorer.editor.ui.ActivationViewEditorForm;
 import org.jetbrains.annotations.NotNull;
@@ -39,7 +37,6 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.beans.PropertyChangeListener;
-import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -50,7 +47,6 @@ public class ActivationViewEditor implements FileEditor {
 
     private Project project;
     private ActivationViewEditorForm activationViewEditorForm;
-    private WhiskActivationService whiskActivationService = WhiskActivationService.getInstance();
 
     public ActivationViewEditor(Project project,
                                 List<WhiskEndpoint> endpoints,
@@ -75,13 +71,7 @@ public class ActivationViewEditor implements FileEditor {
                      * Note: Activations of binding package action cannot be loaded.
                      * TODO load activations of binding action after the follow upstream pr is merged: https://github.com/apache/openwhisk/pull/4919
                      */
-                    try {
-                        List<WhiskActivationMetaData> activations =
-                                whiskActivationService.getWhiskActivations(auth, entity.toEntityName(), 100, 0); // TODO pagination
-                        activationViewEditorForm.initializeActivationTable(activations);
-                    } catch (IOException e) {
-                        LOG.error(e);
-                    }
+                    activationViewEditorForm.loadActivations(auth, Optional.of(entity));
 
                     /**
                      * Set value to namespace combobox
@@ -159,7 +149,7 @@ public class ActivationViewEditor implements FileEditor {
 
     @Override
     public void dispose() {
-
+        activationViewEditorForm.dispose();
     }
 
     @Nullable
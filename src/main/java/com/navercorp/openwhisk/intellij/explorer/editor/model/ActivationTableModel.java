@@ -0,0 +1,252 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.explorer.editor.model;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskPaginator;
+
+import javax.swing.table.AbstractTableModel;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Activations of the activation view, loaded a page at a time as the table is scrolled down.
+ * Only the loaded activations are kept, and the cells are formatted when they are rendered.
+ * An activation that shows up again because newer ones have shifted the pages is skipped.
+ * Except for the loading itself, everything runs in the EDT.
+ */
+public class ActivationTableModel extends AbstractTableModel {
+    private static final Logger LOG = Logger.getInstance(ActivationTableModel.class);
+
+    private static final int DATETIME_COLUMN = 0;
+    private static final int ACTIVATION_ID_COLUMN = 1;
+    private static final int KIND_COLUMN = 2;
+    private static final int START_COLUMN = 3;
+    private static final int DURATION_COLUMN = 4;
+    private static final int STATUS_COLUMN = 5;
+    private static final int ENTITY_COLUMN = 6;
+
+    private static final String[] COLUMNS = {"Datetime", "Activation ID", "Kind", "Start", "Duration", "Status", "Entity"};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.KOREA);
+
+    private final int pageSize;
+    private final int prefetchRows;
+    private final Executor loadExecutor;
+    private final Executor uiExecutor;
+
+    private final List<WhiskActivationMetaData> activations = new ArrayList<>();
+    private final Set<String> activationIds = new HashSet<>();
+    private WhiskPaginator.PageLoader<WhiskActivationMetaData> pageLoader;
+    private CompletableFuture<Void> loading;
+    private int skip;
+    private boolean lastPage = true;
+
+    /**
+     * @param prefetchRows the next page is requested once a row this close to the end is shown.
+     * @param uiExecutor   runs the changes of the model, it must be the event dispatch thread.
+     */
+    public ActivationTableModel(int pageSize, int prefetchRows, Executor loadExecutor, Executor uiExecutor) {
+        this.pageSize = pageSize;
+        this.prefetchRows = prefetchRows;
+        this.loadExecutor = loadExecutor;
+        this.uiExecutor = uiExecutor;
+    }
+
+    /**
+     * Drops the loaded activations and loads the first page of the new loader.
+     */
+    public CompletableFuture<Void> reset(WhiskPaginator.PageLoader<WhiskActivationMetaData> newPageLoader) {
+        int removed = activations.size();
+        activations.clear();
+        activationIds.clear();
+        pageLoader = newPageLoader;
+        loading = null;
+        skip = 0;
+        lastPage = false;
+        if (removed > 0) {
+            fireTableRowsDeleted(0, removed - 1);
+        }
+        return loadNextPage();
+    }
+
+    /**
+     * Requests the next page if the row is close to the end and no page is being loaded.
+     *
+     * @return the running load, or a completed future if nothing has to be loaded.
+     */
+    public CompletableFuture<Void> prefetch(int lastVisibleRow) {
+        if (lastVisibleRow < activations.size() - prefetchRows) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loadNextPage();
+    }
+
+    /**
+     * Inserts new activations, newest first, above the loaded ones without reloading them.
+     * They have shifted the pages on the server, so the next page is requested that much further.
+     */
+    public void prepend(List<WhiskActivationMetaData> newest) {
+        List<WhiskActivationMetaData> added = new ArrayList<>();
+        for (WhiskActivationMetaData activation : newest) {
+            if (activationIds.add(activation.getActivationId())) {
+                added.add(activation);
+            }
+        }
+        // an activation that is already loaded has not shifted the pages
+        skip += added.size();
+        if (!added.isEmpty()) {
+            activations.addAll(0, added);
+            fireTableRowsInserted(0, added.size() - 1);
+        }
+    }
+
+    /**
+     * @return the start of the newest loaded activation.
+     */
+    public Optional<Long> getNewestStart() {
+        return activations.stream().map(WhiskActivationMetaData::getStart).max(Long::compare);
+    }
+
+    /**
+     * @return the ids of the loaded activations that started at that time.
+     */
+    public Set<String> getActivationIdsStartedAt(long start) {
+        Set<String> ids = new HashSet<>();
+        for (WhiskActivationMetaData activation : activations) {
+            if (activation.getStart() == start) {
+                ids.add(activation.getActivationId());
+            }
+        }
+        return ids;
+    }
+
+    public boolean hasMore() {
+        return !lastPage;
+    }
+
+    public boolean isLoading() {
+        return loading != null && !loading.isDone();
+    }
+
+    public WhiskActivationMetaData getActivation(int row) {
+        return activations.get(row);
+    }
+
+    private CompletableFuture<Void> loadNextPage() {
+        if (lastPage || pageLoader == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (isLoading()) {
+            return loading;
+        }
+
+        WhiskPaginator.PageLoader<WhiskActivationMetaData> loader = pageLoader;
+        int offset = skip;
+        CompletableFuture<Void> load = new CompletableFuture<>();
+        loading = load;
+        loadExecutor.execute(() -> {
+            try {
+                List<WhiskActivationMetaData> page = loader.load(pageSize, offset);
+                uiExecutor.execute(() -> {
+                    if (pageLoader == loader) {
+                        append(page);
+                    }
+                    load.complete(null);
+                });
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Failed to load activations: skip=" + offset, e);
+                // the same page is requested again when the table is scrolled
+                uiExecutor.execute(() -> load.completeExceptionally(e));
+            }
+        });
+        return load;
+    }
+
+    private void append(List<WhiskActivationMetaData> page) {
+        skip += page.size();
+        lastPage = page.size() < pageSize;
+
+        int first = activations.size();
+        for (WhiskActivationMetaData activation : page) {
+            if (activationIds.add(activation.getActivationId())) {
+                activations.add(activation);
+            }
+        }
+        if (activations.size() > first) {
+            fireTableRowsInserted(first, activations.size() - 1);
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return activations.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    /**
+     * The activation ID and the entity are editable only so that they can be selected and copied.
+     */
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == ACTIVATION_ID_COLUMN || column == ENTITY_COLUMN;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        WhiskActivationMetaData activation = activations.get(row);
+        switch (column) {
+            case DATETIME_COLUMN:
+                return DATE_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(activation.getStart()), ZoneId.systemDefault()));
+            case ACTIVATION_ID_COLUMN:
+                return activation.getActivationId();
+            case KIND_COLUMN:
+                return activation.getKind();
+            case START_COLUMN:
+                return activation.getStartType();
+            case DURATION_COLUMN:
+                return activation.getDuration() + "ms";
+            case STATUS_COLUMN:
+                return activation.getStatus();
+            case ENTITY_COLUMN:
+                return activation.getNamespace() + "/" + activation.getName() + ":" + activation.getVersion();
+            default:
+                return null;
+        }
+    }
+}
@@ -16,34 +16,44 @@
 
 package com.navercorp.openwhisk.intellij.explorer.editor.ui;
 
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.navercorp.openwhisk.intellij.common.utils.EventUtils;
 import com.navercorp.openwhisk.intellij.common.utils.FileUtils;
 import com.navercorp.openwhisk.intellij.common.utils.WhiskUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
 import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
-import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
 import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationService;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationTail;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskEntityLoader;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskPaginator;
+import com.navercorp.openwhisk.intellij.explorer.editor.model.ActivationTableModel;
 import com.navercorp.openwhisk.intellij.explorer.editor.model.ComboBoxEntityEntry;
+import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.SelectWhiskEntityListener;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
 
 import javax.swing.*;
 import javax.swing.event.ListDataListener;
-import javax.swing.table.DefaultTableModel;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -51,8 +61,8 @@ public class ActivationViewEditorForm {
     private static final Logger LOG = Logger.getInstance(ActivationViewEditorForm.class);
     private static final SimpleNotifier NOTIFIER = SimpleNotifier.getInstance();
 
-    private DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.KOREA);
-    private static final int ACTIVATION_ID_COLUMN = 1;
+    private static final int PAGE_SIZE = WhiskPaginator.MAX_PAGE_SIZE;
+    private static final int PREFETCH_ROWS = 50;
 
     private JPanel mainJPanel;
     private JPanel actionsToobarJPanel;
@@ -60,38 +70,54 @@ public class ActivationViewEditorForm {
     private JComboBox namespaceJComboBox;
     private JComboBox actionOrTriggerJComboBox;
     private JButton searchJButton;
+    private JCheckBox tailJCheckBox;
 
     private WhiskActivationService whiskActivationService = WhiskActivationService.getInstance();
+    private Project project;
     private FileEditorManager fileEditorManager;
 
-    private DefaultTableModel activationsTableModel;
+    private ActivationTableModel activationsTableModel;
 
     private Optional<WhiskAuth> currentAuth = Optional.empty();
+    private Optional<String> currentEntityName = Optional.empty();
+    private WhiskActivationTail activationTail;
+    private List<WhiskEndpoint> endpoints;
+    // only used in the EDT
+    private final Map<WhiskNamespace, CompletableFuture<WhiskNamespace>> loadedNamespaces = new IdentityHashMap<>();
 
     public ActivationViewEditorForm(Project project, List<WhiskEndpoint> endpoints) {
+        this.project = project;
         this.fileEditorManager = FileEditorManager.getInstance(project);
+        this.endpoints = endpoints;
 
-        activationsTableModel = new DefaultTableModel(initActivationColumnModel(), 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                // Activation ID(1) & Entity(6) are editable to copy value
-                return column == 1 || column == 6;
-            }
-        };
+        activationsTableModel = new ActivationTableModel(PAGE_SIZE, PREFETCH_ROWS,
+                AppExecutorUtil.getAppExecutorService(),
+                runnable -> ApplicationManager.getApplication().invokeLater(runnable));
 
         activationsJTable.setModel(activationsTableModel);
         activationsJTable.setDragEnabled(true);
         activationsJTable.setAutoCreateRowSorter(true);
 
+        // the next page is requested when the end of the table is scrolled into view
+        JViewport viewport = (JViewport) activationsJTable.getParent();
+        viewport.addChangeListener(e -> {
+            Rectangle visible = viewport.getViewRect();
+            int lastVisibleRow = activationsJTable.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1));
+            activationsTableModel.prefetch(lastVisibleRow < 0 ? activationsTableModel.getRowCount() - 1 : lastVisibleRow);
+        });
+
         activationsJTable.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (e.getButton() == MouseEvent.BUTTON1 && e.getClickCount() > 1 && currentAuth.isPresent()) {
                     int row = activationsJTable.rowAtPoint(e.getPoint());
-                    String activationId = (String) activationsTableModel.getValueAt(row, ACTIVATION_ID_COLUMN);
+                    if (row < 0) {
+                        return;
+                    }
+                    String activationId = activationsTableModel.getActivation(activationsJTable.convertRowIndexToModel(row)).getActivationId();
                     try {
                         whiskActivationService.getWhiskActivation(currentAuth.get(), activationId)
-                                .ifPresent(activationWithLogs -> openActivationEditor(project, activationWithLogs));
+                                .ifPresent(activationWithLogs -> openActivationEditor(activationWithLogs));
                     } catch (IOException ex) {
                         LOG.error("Failed to fetch activations: " + activationId, ex);
                     }
@@ -104,8 +130,21 @@ public class ActivationViewEditorForm {
             public void mouseClicked(MouseEvent e) {
                 WhiskNamespace whiskNamespace = (WhiskNamespace) namespaceJComboBox.getSelectedItem();
                 ComboBoxEntityEntry entity = (ComboBoxEntityEntry) actionOrTriggerJComboBox.getSelectedItem();
-                WhiskUtils.findWhiskAuth(endpoints, whiskNamespace).ifPresent(auth ->
-                        initializeActivationTable(loadActivations(auth, Optional.ofNullable(entity))));
+                WhiskUtils.findWhiskAuth(endpoints, whiskNamespace).ifPresent(auth -> {
+                    loadActivations(auth, Optional.ofNullable(entity));
+                    // the entity is shown in the explorer as well
+                    Optional.ofNullable(entity).flatMap(ComboBoxEntityEntry::toEntityName).ifPresent(entityName ->
+                            EventUtils.publish(project, SelectWhiskEntityListener.TOPIC,
+                                    l -> l.selectWhiskEntity(auth, "/" + whiskNamespace.getPath() + "/" + entityName)));
+                });
+            }
+        });
+
+        tailJCheckBox.addItemListener(e -> {
+            if (tailJCheckBox.isSelected()) {
+                startTail();
+            } else {
+                stopTail();
             }
         });
     }
@@ -147,7 +186,7 @@ public class ActivationViewEditorForm {
 
         namespaceJComboBox.addActionListener(e -> {
             WhiskNamespace namespace = (WhiskNamespace) namespaceJComboBox.getSelectedItem();
-            initializeActionAndTriggerJComboBox(namespace.getActions(), namespace.getTriggers());
+            loadActionAndTriggerJComboBox(namespace);
         });
     }
 
@@ -203,16 +242,66 @@ public class ActivationViewEditorForm {
         this.currentAuth = whiskAuth;
     }
 
-    public void initializeActivationTable(List<WhiskActivationMetaData> activations) {
-        clearActivationTable();
-        for (WhiskActivationMetaData activation : activations) {
-            activationsTableModel.addRow(createRow(activation));
-        }
+    /**
+     * Loads the first page of the activations of the entity, or of all entities, and the next pages as the table is scrolled.
+     */
+    public void loadActivations(WhiskAuth auth, Optional<ComboBoxEntityEntry> entity) {
+        stopTail();
+        cacheWhiskAuth(Optional.of(auth));
+        Optional<String> entityName = entity.flatMap(ComboBoxEntityEntry::toEntityName);
+        currentEntityName = entityName;
+        activationsTableModel.reset((limit, skip) -> whiskActivationService.getWhiskActivations(auth, entityName, limit, skip))
+                .whenComplete((ignore, e) -> {
+                    if (e != null) {
+                        NOTIFIER.notify(project, "Activations cannot be loaded.", NotificationType.ERROR);
+                    }
+                    if (tailJCheckBox.isSelected()) {
+                        startTail();
+                    }
+                });
+    }
+
+    public void dispose() {
+        stopTail();
     }
 
     public void setNamespaceJComboBox(WhiskNamespace namespace) {
         namespaceJComboBox.setSelectedItem(namespace);
+        loadActionAndTriggerJComboBox(namespace);
+    }
+
+    /**
+     * The explorer loads a namespace only when it is expanded, so the entities are loaded here if they are not there yet.
+     * They are loaded into a copy, the namespace is shared with the explorer, and a namespace is loaded only once,
+     * even if it is really empty.
+     */
+    private void loadActionAndTriggerJComboBox(WhiskNamespace namespace) {
+        CompletableFuture<WhiskNamespace> loaded = loadedNamespaces.get(namespace);
+        if (loaded != null && loaded.isDone() && !loaded.isCompletedExceptionally()) {
+            initializeActionAndTriggerJComboBox(loaded.join().getActions(), loaded.join().getTriggers());
+            return;
+        }
         initializeActionAndTriggerJComboBox(namespace.getActions(), namespace.getTriggers());
+        if (loaded != null || !namespace.getActions().isEmpty() || !namespace.getTriggers().isEmpty()) {
+            return;
+        }
+
+        WhiskUtils.findWhiskAuth(endpoints, namespace).ifPresent(auth -> {
+            CompletableFuture<WhiskNamespace> loading = WhiskEntityLoader.getInstance().loadNamespace(auth, namespace);
+            loadedNamespaces.put(namespace, loading);
+            loading.whenComplete((copy, e) -> ApplicationManager.getApplication().invokeLater(() -> {
+                if (e != null) {
+                    loadedNamespaces.remove(namespace, loading);
+                    LOG.warn(namespace.getPath() + " entities cannot be loaded.", e);
+                    return;
+                }
+                if (namespaceJComboBox.getSelectedItem() == namespace) {
+                    Object selected = actionOrTriggerJComboBox.getSelectedItem();
+                    initializeActionAndTriggerJComboBox(copy.getActions(), copy.getTriggers());
+                    actionOrTriggerJComboBox.setSelectedItem(selected);
+                }
+            }));
+        });
     }
 
     public void setActionOrTriggerJComboBox(ComboBoxEntityEntry entity) {
@@ -222,16 +311,33 @@ public class ActivationViewEditorForm {
     /**
      * Helper functions.
      */
-    private List<WhiskActivationMetaData> loadActivations(WhiskAuth auth, Optional<ComboBoxEntityEntry> entity) {
-        try {
-            return whiskActivationService.getWhiskActivations(auth, entity.flatMap(ComboBoxEntityEntry::toEntityName), 100, 0); // TODO pagination
-        } catch (IOException e) {
-            LOG.error(e);
-            return new ArrayList<>();
+    private void startTail() {
+        stopTail();
+        currentAuth.ifPresent(auth -> {
+            long since = activationsTableModel.getNewestStart().orElse(System.currentTimeMillis());
+            // the newest activations that are already shown are not reported again
+            Set<String> seenAtSince = activationsTableModel.getActivationIdsStartedAt(since);
+            WhiskActivationTail[] tail = new WhiskActivationTail[1];
+            tail[0] = WhiskActivationTail.of(auth, currentEntityName, since, seenAtSince, activations ->
+                    ApplicationManager.getApplication().invokeLater(() -> {
+                        // a poll that was running when the tail was stopped is dropped
+                        if (activationTail == tail[0]) {
+                            activationsTableModel.prepend(activations);
+                        }
+                    }));
+            activationTail = tail[0];
+            activationTail.start();
+        });
+    }
+
+    private void stopTail() {
+        if (activationTail != null) {
+            activationTail.stop();
+            activationTail = null;
         }
     }
 
-    private void openActivationEditor(Project project, WhiskActivationWithLogs activationWithLogs) {
+    private void openActivationEditor(WhiskActivationWithLogs activationWithLogs) {
         try {
             final String tmpFilePath = project.getBasePath() + "/.idea/openwhisk";
             VirtualFile activationFile = FileUtils.writeActivationToFile(tmpFilePath, activationWithLogs);
@@ -241,35 +347,6 @@ public class ActivationViewEditorForm {
         }
     }
 
-    private void clearActivationTable() {
-        activationsTableModel.setRowCount(0);
-    }
-
-    private Vector<String> initActivationColumnModel() {
-        Vector<String> columnModel = new Vector<>();
-        columnModel.add("Datetime");
-        columnModel.add("Activation ID");
-        columnModel.add("Kind");
-        columnModel.add("Start");
-        columnModel.add("Duration");
-        columnModel.add("Status");
-        columnModel.add("Entity");
-        return columnModel;
-    }
-
-    private Vector<String> createRow(WhiskActivationMetaData activation) {
-        LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochMilli(activation.getStart()), ZoneId.systemDefault());
-        Vector<String> rowModel = new Vector<>();
-        rowModel.add(dateFormat.format(ldt));           // Datetime
-        rowModel.add(activation.getActivationId());     // Activation Id
-        rowModel.add(activation.getKind());             // Kind
-        rowModel.add(activation.getStartType());        // Start
-        rowModel.add(activation.getDuration() + "ms");  // Duration
-        rowModel.add(activation.getStatus());           // Status
-        rowModel.add(activation.getNamespace() + "/" + activation.getName() + ":" + activation.getVersion()); // Entity
-        return rowModel;
-    }
-
     public JPanel getContent() {
         return mainJPanel;
     }
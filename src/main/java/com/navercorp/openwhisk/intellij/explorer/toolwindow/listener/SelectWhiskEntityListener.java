@@ -0,0 +1,31 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.listener;
+
+import com.intellij.util.messages.Topic;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+
+import java.util.EventListener;
+
+public interface SelectWhiskEntityListener extends EventListener {
+    Topic<SelectWhiskEntityListener> TOPIC = Topic.create("Select Whisk Entity", SelectWhiskEntityListener.class);
+
+    /**
+     * @param qualifiedName the fully qualified name of the entity, such as /ns/pkg/action.
+     */
+    void selectWhiskEntity(WhiskAuth whiskAuth, String qualifiedName);
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A node whose children are loaded the first time it is expanded.
+ * Until then it only holds a loading placeholder, and once loaded the children are kept and only reloaded.
+ */
+public class WhiskLazyTreeNode extends DefaultMutableTreeNode {
+    public static final Loading LOADING = new Loading();
+
+    private CompletableFuture<Void> loading;
+    private CompletableFuture<Void> reloading;
+    private volatile boolean stale;
+
+    public WhiskLazyTreeNode(Object userObject) {
+        super(userObject);
+        addPlaceholder();
+    }
+
+    /**
+     * @return the running or finished load, or null if the children have not been requested yet.
+     */
+    synchronized CompletableFuture<Void> getLoading() {
+        return loading;
+    }
+
+    synchronized void setLoading(CompletableFuture<Void> loading) {
+        this.loading = loading;
+    }
+
+    /**
+     * Forgets the load only if it is still the given one, so a newer load is not dropped by an older result.
+     */
+    synchronized boolean resetLoading(CompletableFuture<Void> expected) {
+        if (this.loading == expected) {
+            this.loading = null;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the reload that is superseded by the given one, or null.
+     */
+    synchronized CompletableFuture<Void> swapReloading(CompletableFuture<Void> newReloading) {
+        CompletableFuture<Void> superseded = this.reloading;
+        this.reloading = newReloading;
+        return superseded;
+    }
+
+    synchronized boolean isReloading() {
+        return reloading != null && !reloading.isDone();
+    }
+
+    public synchronized boolean isLoaded() {
+        return loading != null && loading.isDone() && !loading.isCompletedExceptionally();
+    }
+
+    /**
+     * @return true if the children were taken from the entity cache or invalidated, and have not been reloaded yet.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
+    void addPlaceholder() {
+        add(new DefaultMutableTreeNode(LOADING, false));
+    }
+
+    /**
+     * The user object of the placeholder node.
+     */
+    public static final class Loading {
+        private Loading() {
+        }
+
+        @Override
+        public String toString() {
+            return "Loading...";
+        }
+    }
+}
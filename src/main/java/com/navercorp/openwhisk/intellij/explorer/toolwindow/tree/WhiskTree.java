@@ -17,15 +17,17 @@
 package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
 
 import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
 import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
 import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
-import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerRoot;
-import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskPackageService;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskBindingResolver;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskEntityLoader;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
 
 import javax.swing.event.TreeModelListener;
@@ -33,20 +35,32 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
+/**
+ * Namespaces, packages and trigger roots are {@link WhiskLazyTreeNode}s, their children are loaded on first expand.
+ */
 public class WhiskTree implements TreeModel {
     private static final Logger LOG = Logger.getInstance(WhiskTree.class);
     private static final SimpleNotifier NOTIFIER = SimpleNotifier.getInstance();
 
     private DefaultTreeModel innerModel;
     private DefaultMutableTreeNode root;
-    private WhiskPackageService whiskPackageService;
+    private final WhiskTreeIndex index = new WhiskTreeIndex();
+    private WhiskEntityLoader whiskEntityLoader;
+    private WhiskBindingResolver whiskBindingResolver;
 
-    public WhiskTree(List<WhiskEndpoint> endpoints, WhiskPackageService whiskPackageService) {
-        this.whiskPackageService = whiskPackageService;
+    public WhiskTree(List<WhiskEndpoint> endpoints, WhiskEntityLoader whiskEntityLoader, WhiskBindingResolver whiskBindingResolver) {
+        this.whiskEntityLoader = whiskEntityLoader;
+        this.whiskBindingResolver = whiskBindingResolver;
         this.setTree(endpoints);
     }
 
@@ -59,78 +73,356 @@ public class WhiskTree implements TreeModel {
 
             // namespaces
             for (WhiskNamespace ns : e.getNamespaces()) {
-                DefaultMutableTreeNode namespaceNode = new DefaultMutableTreeNode(ns);
-                endPointNode.add(namespaceNode);
-
-                //triggers
-                DefaultMutableTreeNode triggerRootNode = new DefaultMutableTreeNode(new WhiskTriggerRoot());
-                namespaceNode.add(triggerRootNode);
-                List<WhiskTriggerMetaData> triggers = ns.getTriggers();
-                for (WhiskTriggerMetaData t : triggers) {
-                    DefaultMutableTreeNode triggerNode = new DefaultMutableTreeNode(t);
-                    triggerRootNode.add(triggerNode);
-                }
+                endPointNode.add(new WhiskLazyTreeNode(ns));
+            }
+            this.root.add(endPointNode);
+        }
+
+        this.innerModel = new DefaultTreeModel(root);
+        this.index.clear();
+        this.index.indexSubtree(root);
+        this.innerModel.addTreeModelListener(index);
+    }
+
+    /**
+     * Finds the node of an entity without walking the tree, see {@link WhiskTreeIndex}.
+     * Must be called in the EDT.
+     *
+     * @param qualifiedName the fully qualified name of the entity, such as /ns/pkg/action.
+     */
+    public Optional<DefaultMutableTreeNode> findNode(String apihost, String qualifiedName) {
+        return index.find(apihost, qualifiedName);
+    }
+
+    /**
+     * Loads the children of a lazy node unless they are already loaded or being loaded.
+     * It can be called from any thread, the children are swapped into the model in the EDT.
+     * A namespace is shown from the entity cache first if possible, and then reloaded from the controller.
+     * Loaded children that were invalidated are reloaded as well.
+     *
+     * @return completed when the children are in the model.
+     */
+    public CompletableFuture<Void> loadChildren(DefaultMutableTreeNode node) {
+        if (!(node instanceof WhiskLazyTreeNode)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        WhiskLazyTreeNode lazyNode = (WhiskLazyTreeNode) node;
+        CompletableFuture<Void> current;
+        CompletableFuture<Void> loading = null;
+        synchronized (lazyNode) {
+            current = lazyNode.getLoading();
+            if (current == null || current.isCompletedExceptionally()) {
+                loading = new CompletableFuture<>();
+                lazyNode.setLoading(loading);
+            }
+        }
+        if (loading == null) {
+            if (lazyNode.isLoaded() && lazyNode.isStale() && !lazyNode.isReloading()) {
+                reloadChildren(lazyNode);
+            }
+            return current;
+        }
+        startLoading(lazyNode, loading);
+        return loading;
+    }
+
+    private void startLoading(WhiskLazyTreeNode lazyNode, CompletableFuture<Void> loading) {
+        fetchChildren(lazyNode, true).whenComplete((fetched, error) -> ApplicationManager.getApplication().invokeLater(() -> {
+            if (error != null) {
+                lazyNode.resetLoading(loading);
+                loading.completeExceptionally(error);
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                final String msg = getFailureMessage(lazyNode);
+                LOG.error(msg, cause);
+                NOTIFIER.notify(msg, NotificationType.ERROR);
+                return;
+            }
+
+            if (lazyNode.getRoot() != root || lazyNode.getLoading() != loading) {
+                loading.cancel(false); // removed in the meantime
+                return;
+            }
+            fetched.copyEntitiesTo(lazyNode);
+            replaceChildren(lazyNode, fetched.children);
+            loading.complete(null);
+            if (lazyNode.isStale()) {
+                reloadChildren(lazyNode);
+            }
+        }));
+    }
 
-                // packages
-                List<WhiskPackage> packages = ns.getPackages();
-                for (WhiskPackage p : packages) {
-                    DefaultMutableTreeNode pkgNode = new DefaultMutableTreeNode(p);
-                    namespaceNode.add(pkgNode);
-
-                    // Add origin action of binding package to tree
-                    p.getBinding().ifPresent(binding -> {
-                        try {
-                            whiskPackageService.getWhiskPackage(new WhiskAuth(ns.getAuth(), e.getApihost()), binding.getNamespace(), binding.getName())
-                                    .ifPresent(packageWithActions ->
-                                            packageWithActions.getActions()
-                                                    .forEach(action -> {
-                                                        DefaultMutableTreeNode actionNode = new DefaultMutableTreeNode(action);
-                                                        pkgNode.add(actionNode);
-                                                    }));
-                        } catch (IOException ex) {
-                            final String msg = binding.getNamespace() + "/" + binding.getName() + " package information cannot be retrieved.";
-                            LOG.error(msg, ex);
-                            NOTIFIER.notify(msg, NotificationType.ERROR);
-                            ex.printStackTrace();
-                        }
-                    });
+    /**
+     * Marks the loaded namespaces of that auth as changed, see {@link #invalidate(WhiskLazyTreeNode)}.
+     * Must be called in the EDT.
+     *
+     * @return the invalidated namespace nodes.
+     */
+    public List<WhiskLazyTreeNode> invalidate(WhiskAuth whiskAuth) {
+        List<WhiskLazyTreeNode> invalidated = new ArrayList<>();
+        for (int i = 0; i < root.getChildCount(); i++) {
+            DefaultMutableTreeNode endPointNode = (DefaultMutableTreeNode) root.getChildAt(i);
+            WhiskEndpoint e = (WhiskEndpoint) endPointNode.getUserObject();
+            if (!e.getApihost().equals(whiskAuth.getApihost())) {
+                continue;
+            }
+            for (int j = 0; j < endPointNode.getChildCount(); j++) {
+                WhiskLazyTreeNode namespaceNode = (WhiskLazyTreeNode) endPointNode.getChildAt(j);
+                WhiskNamespace ns = (WhiskNamespace) namespaceNode.getUserObject();
+                if (ns.getAuth().equals(whiskAuth.getAuth()) && invalidate(namespaceNode)) {
+                    invalidated.add(namespaceNode);
                 }
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * Marks a loaded node as changed, its children are reloaded the next time it is expanded.
+     * Nodes that have not been loaded yet are left as they are, they are loaded fresh anyway.
+     *
+     * @return true if the node was loaded, if it is expanded it should be reloaded right away with {@link #reloadChildren}.
+     */
+    public boolean invalidate(WhiskLazyTreeNode node) {
+        if (!node.isLoaded()) {
+            return false;
+        }
+        node.setStale(true);
+        return true;
+    }
+
+    /**
+     * Brings the endpoints and namespaces up to date with a new configuration, keeping the nodes that still exist.
+     * Must be called in the EDT.
+     *
+     * @return the namespace nodes whose entities had been loaded, they should be reloaded with {@link #reloadChildren}.
+     */
+    public List<WhiskLazyTreeNode> updateEndpoints(List<WhiskEndpoint> endpoints) {
+        List<DefaultMutableTreeNode> newEndpointNodes = endpoints.stream()
+                .map(DefaultMutableTreeNode::new)
+                .collect(Collectors.toList());
+        WhiskTreeDiff.apply(innerModel, root, newEndpointNodes);
+
+        List<WhiskLazyTreeNode> loadedNamespaceNodes = new ArrayList<>();
+        for (int i = 0; i < root.getChildCount(); i++) {
+            DefaultMutableTreeNode endPointNode = (DefaultMutableTreeNode) root.getChildAt(i);
+            WhiskEndpoint e = (WhiskEndpoint) endPointNode.getUserObject();
+
+            // the new namespace objects take over the entities that are already loaded
+            List<DefaultMutableTreeNode> newNamespaceNodes = new ArrayList<>();
+            for (WhiskNamespace ns : e.getNamespaces()) {
+                findNode(e.getApihost(), "/" + ns.getPath()).map(node -> (WhiskNamespace) node.getUserObject()).ifPresent(old -> {
+                    ns.setPackages(old.getPackages());
+                    ns.setActions(old.getActions());
+                    ns.setTriggers(old.getTriggers());
+                });
+                newNamespaceNodes.add(new WhiskLazyTreeNode(ns));
+            }
+
+            WhiskTreeDiff.apply(innerModel, endPointNode, newNamespaceNodes).stream()
+                    .map(WhiskLazyTreeNode.class::cast)
+                    .filter(WhiskLazyTreeNode::isLoaded)
+                    .forEach(loadedNamespaceNodes::add);
+        }
+        return loadedNamespaceNodes;
+    }
 
-                // actions
-                List<WhiskActionMetaData> actions = ns.getActions();
-                for (WhiskActionMetaData a : actions) {
-                    DefaultMutableTreeNode actionNode = new DefaultMutableTreeNode(a);
-                    if (a.getWhiskPackage().isPresent()) {
-                        String pkgPath = a.getWhiskPackage().get();
-                        Optional<DefaultMutableTreeNode> pkgNode = findPackageNode(namespaceNode, pkgPath);
-                        if (pkgNode.isPresent()) {
-                            pkgNode.get().add(actionNode);
-                        } else {
-                            namespaceNode.add(actionNode);
-                        }
-                    } else {
-                        namespaceNode.add(actionNode);
+    /**
+     * Loads the children of a loaded node again and applies only the differences, then does the same for the
+     * children that are loaded as well. Nodes that have not been loaded yet are left as they are.
+     * A newer reload of the same node cancels this one, and cancelling the returned future cancels the requests
+     * and the nested reloads, so a superseded result is never applied.
+     *
+     * @return completed when all differences are in the model.
+     */
+    public CompletableFuture<Void> reloadChildren(WhiskLazyTreeNode node) {
+        if (!node.isLoaded()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> reloading = new CompletableFuture<>();
+        CompletableFuture<Void> superseded = node.swapReloading(reloading);
+        if (superseded != null) {
+            superseded.cancel(false);
+        }
+
+        List<CompletableFuture<Void>> nested = new CopyOnWriteArrayList<>();
+        CompletableFuture<FetchedChildren> fetching = fetchChildren(node, false);
+        reloading.whenComplete((ignore, error) -> {
+            if (reloading.isCancelled()) {
+                fetching.cancel(false);
+                nested.forEach(n -> n.cancel(false));
+            }
+        });
+
+        fetching.whenComplete((fetched, error) -> ApplicationManager.getApplication().invokeLater(() -> {
+            if (reloading.isDone()) {
+                return; // cancelled or superseded in the meantime
+            }
+            if (error != null) {
+                reloading.completeExceptionally(error);
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                final String msg = getFailureMessage(node);
+                LOG.error(msg, cause);
+                NOTIFIER.notify(msg, NotificationType.ERROR);
+                return;
+            }
+
+            if (node.getRoot() != root || !node.isLoaded()) {
+                reloading.complete(null); // removed in the meantime
+                return;
+            }
+            node.setStale(false);
+            fetched.copyEntitiesTo(node);
+            applyChildren(node, fetched.children).stream()
+                    .filter(WhiskLazyTreeNode.class::isInstance)
+                    .map(child -> reloadChildren((WhiskLazyTreeNode) child))
+                    .forEach(nested::add);
+            if (reloading.isCancelled()) {
+                nested.forEach(n -> n.cancel(false));
+            }
+            CompletableFuture.allOf(nested.toArray(new CompletableFuture[0]))
+                    .whenComplete((ignore, nestedError) -> reloading.complete(null));
+        }));
+        return reloading;
+    }
+
+    private CompletableFuture<FetchedChildren> fetchChildren(WhiskLazyTreeNode node, boolean useCache) {
+        Object userObject = node.getUserObject();
+        if (userObject instanceof WhiskNamespace) {
+            WhiskNamespace ns = (WhiskNamespace) userObject;
+            WhiskAuth auth = getAuth(node);
+            if (useCache) {
+                return whiskEntityLoader.loadCachedNamespace(auth, ns).thenCompose(cached -> {
+                    if (cached.isPresent()) {
+                        node.setStale(true);
+                        return CompletableFuture.completedFuture(new FetchedChildren(createNamespaceChildren(cached.get()), cached.get()));
                     }
-                }
+                    return fetchChildren(node, false);
+                });
             }
-            this.root.add(endPointNode);
+            CompletableFuture<WhiskNamespace> loading = whiskEntityLoader.loadNamespace(auth, ns);
+            return FutureUtils.propagateCancellation(loading.thenApply(loaded -> {
+                // warm up the bound packages, they are likely to be expanded next
+                whiskBindingResolver.resolveAll(auth, loaded.getPackages());
+                return new FetchedChildren(createNamespaceChildren(loaded), loaded);
+            }), loading);
+        } else if (userObject instanceof WhiskTriggerRoot) {
+            // triggers are loaded together with the namespace
+            WhiskNamespace ns = (WhiskNamespace) ((DefaultMutableTreeNode) node.getParent()).getUserObject();
+            return CompletableFuture.completedFuture(new FetchedChildren(ns.getTriggers().stream()
+                    .map(DefaultMutableTreeNode::new)
+                    .collect(Collectors.toList())));
+        } else if (userObject instanceof WhiskPackage) {
+            WhiskPackage pkg = (WhiskPackage) userObject;
+            WhiskNamespace ns = (WhiskNamespace) ((DefaultMutableTreeNode) node.getParent()).getUserObject();
+            if (pkg.getBinding().isPresent()) {
+                // Add origin action of binding package to tree
+                return whiskBindingResolver.resolve(getAuth(node), pkg.getBinding().get())
+                        .thenApply(packageWithActions -> new FetchedChildren(packageWithActions
+                                .map(p -> p.getActions().stream()
+                                        .map(DefaultMutableTreeNode::new)
+                                        .collect(Collectors.toList()))
+                                .orElseGet(ArrayList::new)));
+            }
+            return CompletableFuture.completedFuture(new FetchedChildren(ns.getActions().stream()
+                    .filter(a -> a.getWhiskPackage().map(pkg.getName()::equals).orElse(false))
+                    .map(DefaultMutableTreeNode::new)
+                    .collect(Collectors.toList())));
         }
+        return CompletableFuture.completedFuture(new FetchedChildren(new ArrayList<>()));
+    }
 
-        this.innerModel = new DefaultTreeModel(root);
+    /**
+     * Must be called in the EDT.
+     */
+    void replaceChildren(WhiskLazyTreeNode node, List<DefaultMutableTreeNode> children) {
+        node.removeAllChildren();
+        children.forEach(node::add);
+        innerModel.nodeStructureChanged(node);
     }
 
-    // Search 1 depth
-    private Optional<DefaultMutableTreeNode> findPackageNode(DefaultMutableTreeNode ns, String pkgPath) {
-        for (int i = 0; i < ns.getChildCount(); i++) {
-            DefaultMutableTreeNode children = (DefaultMutableTreeNode) ns.getChildAt(i);
-            if (children.getUserObject() instanceof WhiskPackage) {
-                WhiskPackage existPkg = (WhiskPackage) children.getUserObject();
-                if (pkgPath.equals(existPkg.getName())) {
-                    return Optional.of(children);
-                }
+    /**
+     * Must be called in the EDT.
+     *
+     * @return the kept children, see {@link WhiskTreeDiff#apply}.
+     */
+    List<DefaultMutableTreeNode> applyChildren(WhiskLazyTreeNode node, List<DefaultMutableTreeNode> children) {
+        return WhiskTreeDiff.apply(innerModel, node, children);
+    }
+
+    static List<DefaultMutableTreeNode> createNamespaceChildren(WhiskNamespace ns) {
+        List<DefaultMutableTreeNode> children = new ArrayList<>();
+
+        //triggers
+        children.add(new WhiskLazyTreeNode(new WhiskTriggerRoot()));
+
+        // packages
+        Map<String, DefaultMutableTreeNode> packageNodes = new HashMap<>();
+        for (WhiskPackage p : ns.getPackages()) {
+            WhiskLazyTreeNode packageNode = new WhiskLazyTreeNode(p);
+            children.add(packageNode);
+            packageNodes.put(p.getName(), packageNode);
+        }
+
+        // actions, the actions of a package are added when the package is expanded
+        for (WhiskActionMetaData a : ns.getActions()) {
+            if (!a.getWhiskPackage().map(packageNodes::containsKey).orElse(false)) {
+                children.add(new DefaultMutableTreeNode(a));
+            }
+        }
+        return children;
+    }
+
+    private String getFailureMessage(WhiskLazyTreeNode node) {
+        Object userObject = node.getUserObject();
+        if (userObject instanceof WhiskNamespace) {
+            return ((WhiskNamespace) userObject).getPath() + " entities cannot be loaded.";
+        } else if (userObject instanceof WhiskPackage) {
+            return ((WhiskPackage) userObject).getBinding()
+                    .map(binding -> binding.getNamespace() + "/" + binding.getName() + " package information cannot be retrieved.")
+                    .orElse(((WhiskPackage) userObject).getName() + " package cannot be loaded.");
+        }
+        return userObject + " cannot be loaded.";
+    }
+
+    private WhiskAuth getAuth(DefaultMutableTreeNode node) {
+        DefaultMutableTreeNode namespaceNode = node;
+        while (!(namespaceNode.getUserObject() instanceof WhiskNamespace)) {
+            namespaceNode = (DefaultMutableTreeNode) namespaceNode.getParent();
+        }
+        WhiskNamespace ns = (WhiskNamespace) namespaceNode.getUserObject();
+        WhiskEndpoint e = (WhiskEndpoint) ((DefaultMutableTreeNode) namespaceNode.getParent()).getUserObject();
+        return new WhiskAuth(ns.getAuth(), e.getApihost());
+    }
+
+    /**
+     * The children of a node, with the namespace they were created from if the node is a namespace.
+     */
+    private static final class FetchedChildren {
+        private final List<DefaultMutableTreeNode> children;
+        private final WhiskNamespace namespace;
+
+        FetchedChildren(List<DefaultMutableTreeNode> children) {
+            this(children, null);
+        }
+
+        FetchedChildren(List<DefaultMutableTreeNode> children, WhiskNamespace namespace) {
+            this.children = children;
+            this.namespace = namespace;
+        }
+
+        /**
+         * The namespace of the node is shared with other views, so it is only changed here, in the EDT.
+         */
+        void copyEntitiesTo(WhiskLazyTreeNode node) {
+            if (namespace != null) {
+                WhiskNamespace ns = (WhiskNamespace) node.getUserObject();
+                ns.setPackages(namespace.getPackages());
+                ns.setActions(namespace.getActions());
+                ns.setTriggers(namespace.getTriggers());
             }
         }
-        return Optional.empty();
     }
 
     @Override
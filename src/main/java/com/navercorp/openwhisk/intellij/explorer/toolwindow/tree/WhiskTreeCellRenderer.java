@@ -17,6 +17,7 @@
 package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
 
 import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
 import com.navercorp.openwhisk.intellij.common.Icons;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
@@ -67,6 +68,8 @@ public class WhiskTreeCellRenderer extends ColoredTreeCellRenderer {
             WhiskTriggerMetaData whiskTriggerMetaData = (WhiskTriggerMetaData) userObject;
             setIcon(Icons.ENTITY_TRIGGER);
             append(whiskTriggerMetaData.getName());
+        } else if (userObject instanceof WhiskLazyTreeNode.Loading) {
+            append(userObject.toString(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
         } else {
             append(userObject.toString());
         }
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.CompactWhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTrigger;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerRoot;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Applies a new snapshot of children to a node with the smallest set of inserts, removes and changes.
+ * Entities are matched by type and name, and a matched entity is changed only when its version or updated time differs.
+ * Matched nodes are kept, so their expansion, selection and loaded children survive a refresh.
+ */
+public class WhiskTreeDiff {
+    protected WhiskTreeDiff() {
+        throw new UnsupportedOperationException("Utility classes should not have a public or default constructor.");
+    }
+
+    /**
+     * Must be called in the EDT, every change is fired through the model.
+     *
+     * @return the kept nodes, in the order of the new snapshot.
+     */
+    public static List<DefaultMutableTreeNode> apply(DefaultTreeModel model,
+                                                     DefaultMutableTreeNode parent,
+                                                     List<? extends DefaultMutableTreeNode> newChildren) {
+        Map<String, DefaultMutableTreeNode> newByKey = new HashMap<>();
+        for (DefaultMutableTreeNode child : newChildren) {
+            newByKey.put(keyOf(child.getUserObject()), child);
+        }
+
+        // removes
+        Map<String, DefaultMutableTreeNode> oldByKey = new HashMap<>();
+        for (int i = parent.getChildCount() - 1; i >= 0; i--) {
+            DefaultMutableTreeNode oldChild = (DefaultMutableTreeNode) parent.getChildAt(i);
+            String key = keyOf(oldChild.getUserObject());
+            if (newByKey.containsKey(key) && !oldByKey.containsKey(key)) {
+                oldByKey.put(key, oldChild);
+            } else {
+                model.removeNodeFromParent(oldChild);
+            }
+        }
+
+        // changes and inserts
+        List<DefaultMutableTreeNode> kept = new ArrayList<>();
+        for (int i = 0; i < newChildren.size(); i++) {
+            DefaultMutableTreeNode newChild = newChildren.get(i);
+            DefaultMutableTreeNode oldChild = oldByKey.get(keyOf(newChild.getUserObject()));
+            if (oldChild == null) {
+                model.insertNodeInto(newChild, parent, i);
+                continue;
+            }
+
+            if (parent.getIndex(oldChild) != i) {
+                model.removeNodeFromParent(oldChild);
+                model.insertNodeInto(oldChild, parent, i);
+            }
+            if (isModified(oldChild.getUserObject(), newChild.getUserObject())) {
+                oldChild.setUserObject(newChild.getUserObject());
+                model.nodeChanged(oldChild);
+            } else {
+                // keep the latest object without notifying, nothing visible has changed
+                oldChild.setUserObject(newChild.getUserObject());
+            }
+            kept.add(oldChild);
+        }
+        return kept;
+    }
+
+    static String keyOf(Object userObject) {
+        if (userObject instanceof WhiskEndpoint) {
+            return "endpoint:" + ((WhiskEndpoint) userObject).getApihost();
+        } else if (userObject instanceof WhiskNamespace) {
+            return "namespace:" + ((WhiskNamespace) userObject).getPath();
+        } else if (userObject instanceof WhiskTriggerRoot) {
+            return "triggers";
+        } else if (userObject instanceof WhiskPackage) {
+            return "package:" + ((WhiskPackage) userObject).getName();
+        } else if (userObject instanceof WhiskAction) {
+            return "action:" + ((WhiskAction<?>) userObject).getName();
+        } else if (userObject instanceof CompactWhiskAction) {
+            return "action:" + ((CompactWhiskAction) userObject).getName();
+        } else if (userObject instanceof WhiskTrigger) {
+            return "trigger:" + ((WhiskTrigger) userObject).getName();
+        }
+        return String.valueOf(userObject);
+    }
+
+    static boolean isModified(Object oldObject, Object newObject) {
+        if (oldObject instanceof WhiskEndpoint) {
+            return !Objects.equals(((WhiskEndpoint) oldObject).getAlias(), ((WhiskEndpoint) newObject).getAlias());
+        } else if (oldObject instanceof WhiskNamespace || oldObject instanceof WhiskTriggerRoot) {
+            return false;
+        } else if (oldObject instanceof WhiskPackage) {
+            WhiskPackage o = (WhiskPackage) oldObject;
+            WhiskPackage n = (WhiskPackage) newObject;
+            return !Objects.equals(o.getVersion(), n.getVersion()) || o.getUpdated() != n.getUpdated();
+        } else if (oldObject instanceof WhiskAction) {
+            WhiskAction<?> o = (WhiskAction<?>) oldObject;
+            WhiskAction<?> n = (WhiskAction<?>) newObject;
+            return !Objects.equals(o.getVersion(), n.getVersion()) || o.getUpdated() != n.getUpdated();
+        } else if (oldObject instanceof CompactWhiskAction) {
+            return !Objects.equals(((CompactWhiskAction) oldObject).getVersion(), ((CompactWhiskAction) newObject).getVersion());
+        } else if (oldObject instanceof WhiskTrigger) {
+            WhiskTrigger o = (WhiskTrigger) oldObject;
+            WhiskTrigger n = (WhiskTrigger) newObject;
+            return !Objects.equals(o.getVersion(), n.getVersion()) || o.getUpdated() != n.getUpdated();
+        }
+        return !Objects.equals(oldObject, newObject);
+    }
+}
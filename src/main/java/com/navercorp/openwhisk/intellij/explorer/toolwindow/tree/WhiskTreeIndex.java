@@ -0,0 +1,162 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.CompactWhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTrigger;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerRoot;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeNode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Finds tree nodes by the fully qualified name of their entity, such as /ns/pkg/action, in constant time.
+ * It listens to the tree model, so nodes are indexed when they are inserted and dropped when they are removed.
+ * Must be used in the EDT like the model itself.
+ */
+public class WhiskTreeIndex implements TreeModelListener {
+    private final Map<String, DefaultMutableTreeNode> nodes = new HashMap<>();
+    private final Map<DefaultMutableTreeNode, String> keys = new IdentityHashMap<>();
+    // the children as they were indexed, detached children cannot be reached from the tree anymore
+    private final Map<DefaultMutableTreeNode, Set<DefaultMutableTreeNode>> children = new IdentityHashMap<>();
+
+    /**
+     * @param qualifiedName the fully qualified name of a namespace, package, action or trigger, or empty for the endpoint.
+     */
+    public Optional<DefaultMutableTreeNode> find(String apihost, String qualifiedName) {
+        return Optional.ofNullable(nodes.get(apihost + qualifiedName));
+    }
+
+    void indexSubtree(DefaultMutableTreeNode node) {
+        keyOf(node).ifPresent(key -> {
+            DefaultMutableTreeNode old = nodes.put(key, node);
+            if (old != null && old != node) {
+                keys.remove(old);
+            }
+            keys.put(node, key);
+        });
+        Set<DefaultMutableTreeNode> indexedChildren = childrenOf(node);
+        for (int i = 0; i < node.getChildCount(); i++) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) node.getChildAt(i);
+            indexedChildren.add(child);
+            indexSubtree(child);
+        }
+    }
+
+    void clear() {
+        nodes.clear();
+        keys.clear();
+        children.clear();
+    }
+
+    @Override
+    public void treeNodesChanged(TreeModelEvent e) {
+        // matched nodes keep their names, see WhiskTreeDiff
+    }
+
+    @Override
+    public void treeNodesInserted(TreeModelEvent e) {
+        Set<DefaultMutableTreeNode> indexedChildren = childrenOf((DefaultMutableTreeNode) e.getTreePath().getLastPathComponent());
+        for (Object child : e.getChildren()) {
+            indexedChildren.add((DefaultMutableTreeNode) child);
+            indexSubtree((DefaultMutableTreeNode) child);
+        }
+    }
+
+    @Override
+    public void treeNodesRemoved(TreeModelEvent e) {
+        Set<DefaultMutableTreeNode> indexedChildren = childrenOf((DefaultMutableTreeNode) e.getTreePath().getLastPathComponent());
+        for (Object child : e.getChildren()) {
+            indexedChildren.remove(child);
+            removeSubtree((DefaultMutableTreeNode) child);
+        }
+    }
+
+    @Override
+    public void treeStructureChanged(TreeModelEvent e) {
+        // only the previous subtree of the changed node is dropped, the rest of the index is not visited
+        DefaultMutableTreeNode node = (DefaultMutableTreeNode) e.getTreePath().getLastPathComponent();
+        Set<DefaultMutableTreeNode> previousChildren = children.remove(node);
+        if (previousChildren != null) {
+            previousChildren.forEach(this::removeSubtree);
+        }
+        indexSubtree(node);
+    }
+
+    private void removeSubtree(DefaultMutableTreeNode node) {
+        String key = keys.remove(node);
+        if (key != null) {
+            nodes.remove(key, node);
+        }
+        Set<DefaultMutableTreeNode> indexedChildren = children.remove(node);
+        if (indexedChildren != null) {
+            indexedChildren.forEach(this::removeSubtree);
+        }
+    }
+
+    private Set<DefaultMutableTreeNode> childrenOf(DefaultMutableTreeNode parent) {
+        return children.computeIfAbsent(parent, p -> Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    static Optional<String> keyOf(TreeNode treeNode) {
+        if (!(treeNode instanceof DefaultMutableTreeNode)) {
+            return Optional.empty();
+        }
+
+        Object userObject = ((DefaultMutableTreeNode) treeNode).getUserObject();
+        if (userObject instanceof WhiskEndpoint) {
+            return Optional.of(((WhiskEndpoint) userObject).getApihost());
+        }
+        String name = nameOf(userObject);
+        if (name == null) {
+            return Optional.empty();
+        }
+
+        TreeNode parent = treeNode.getParent();
+        if (parent instanceof DefaultMutableTreeNode && ((DefaultMutableTreeNode) parent).getUserObject() instanceof WhiskTriggerRoot) {
+            parent = parent.getParent(); // triggers are named after the namespace
+        }
+        return keyOf(parent).map(parentKey -> parentKey + "/" + name);
+    }
+
+    private static String nameOf(Object userObject) {
+        if (userObject instanceof WhiskNamespace) {
+            return ((WhiskNamespace) userObject).getPath();
+        } else if (userObject instanceof WhiskPackage) {
+            return ((WhiskPackage) userObject).getName();
+        } else if (userObject instanceof WhiskAction) {
+            return ((WhiskAction<?>) userObject).getName();
+        } else if (userObject instanceof CompactWhiskAction) {
+            return ((CompactWhiskAction) userObject).getName();
+        } else if (userObject instanceof WhiskTrigger) {
+            return ((WhiskTrigger) userObject).getName();
+        }
+        return null;
+    }
+}
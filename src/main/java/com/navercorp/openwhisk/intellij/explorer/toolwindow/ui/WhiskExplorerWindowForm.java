@@ -21,9 +21,17 @@ import com.intellij.openapi.actionSystem.ActionGroup;
 import com.intellij.openapi.actionSystem.ActionManager;
 import com.intellij.openapi.actionSystem.ActionPopupMenu;
 import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.impl.BackgroundableProcessIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.wm.ToolWindow;
@@ -42,17 +50,25 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerRoot;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActionService;
-import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskPackageService;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskBindingResolver;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskEntityCache;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskEntityLoader;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskTriggerService;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.actiongroup.*;
+import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.InvalidateWhiskNamespaceListener;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.OpenActionControlActionListener;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.OpenTriggerControlActionListener;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.RefreshWhiskTreeListener;
+import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.SelectWhiskEntityListener;
+import com.navercorp.openwhisk.intellij.explorer.toolwindow.tree.WhiskLazyTreeNode;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.tree.WhiskTree;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.tree.WhiskTreeCellRenderer;
 import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
@@ -63,6 +79,9 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 public class WhiskExplorerWindowForm {
     private static final Logger LOG = Logger.getInstance(WhiskExplorerWindowForm.class);
@@ -77,6 +96,9 @@ public class WhiskExplorerWindowForm {
     private Project project;
 
     private List<WhiskEndpoint> endpoints = new ArrayList<>();
+    private WhiskTree whiskTree;
+    private WhiskBindingResolver whiskBindingResolver;
+    private ProgressIndicator loadingIndicator;
 
     public WhiskExplorerWindowForm(Project project, ToolWindow toolWindow) {
         this.project = project;
@@ -92,23 +114,20 @@ public class WhiskExplorerWindowForm {
 
         WhiskService service = ServiceManager.getService(project, WhiskService.class);
         WhiskActionService whiskActionService = WhiskActionService.getInstance();
-        WhiskPackageService whiskPackageService = WhiskPackageService.getInstance();
         WhiskTriggerService whiskTriggerService = WhiskTriggerService.getInstance();
+        this.whiskBindingResolver = WhiskBindingResolver.getInstance();
 
-        setWhiskTree(service, whiskActionService, whiskPackageService, whiskTriggerService);
+        setWhiskTree(service, whiskActionService, whiskTriggerService);
     }
 
     private void setWhiskTree(WhiskService service,
                               WhiskActionService whiskActionService,
-                              WhiskPackageService whiskPackageService,
                               WhiskTriggerService whiskTriggerService) {
 
+        List<WhiskEndpoint> savedEndpoints = new ArrayList<>();
         if (StringUtils.isNotEmpty(service.getEndpoints())) {
             try {
-                endpoints = getEntities(whiskPackageService,
-                        whiskActionService,
-                        whiskTriggerService,
-                        JsonParserUtils.parseWhiskEndpoints(service.getEndpoints()));
+                savedEndpoints = JsonParserUtils.parseWhiskEndpoints(service.getEndpoints());
             } catch (IOException e) {
                 final String msg = "Failed to parsing endpoints: " + service.getEndpoints();
                 LOG.error(msg, e);
@@ -116,10 +135,22 @@ public class WhiskExplorerWindowForm {
             }
         }
 
-        whiskJTree.setModel(new WhiskTree(endpoints, whiskPackageService));
+        whiskTree = new WhiskTree(new ArrayList<>(), WhiskEntityLoader.getInstance(), whiskBindingResolver);
+        whiskJTree.setModel(whiskTree);
         whiskJTree.setRootVisible(false);
         whiskJTree.setCellRenderer(new WhiskTreeCellRenderer());
-        expandToNamespace(whiskJTree);
+        whiskJTree.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                whiskTree.loadChildren((DefaultMutableTreeNode) event.getPath().getLastPathComponent());
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {
+                // nothing to do
+            }
+        });
+        loadWhiskTree(savedEndpoints);
         whiskJTree.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
@@ -331,13 +362,28 @@ public class WhiskExplorerWindowForm {
             }
         });
 
+        // an entity was changed from this IDE, only its namespace is loaded again
+        EventUtils.subscribe(project, project, InvalidateWhiskNamespaceListener.TOPIC, whiskAuth -> {
+            if (whiskJTree != null) {
+                for (WhiskLazyTreeNode node : whiskTree.invalidate(whiskAuth)) {
+                    if (whiskJTree.isExpanded(new TreePath(node.getPath()))) {
+                        whiskTree.reloadChildren(node);
+                    }
+                }
+            }
+        });
+
+        EventUtils.subscribe(project, project, SelectWhiskEntityListener.TOPIC, (whiskAuth, qualifiedName) -> {
+            if (whiskJTree != null) {
+                selectNode(whiskAuth.getApihost(), qualifiedName);
+            }
+        });
+
         EventUtils.subscribe(project, project, RefreshWhiskTreeListener.TOPIC, () -> {
             if (whiskJTree != null) {
                 try {
                     List<WhiskEndpoint> whiskEndpoints = JsonParserUtils.parseWhiskEndpoints(service.getEndpoints());
-                    endpoints = getEntities(whiskPackageService, whiskActionService, whiskTriggerService, whiskEndpoints);
-                    whiskJTree.setModel(new WhiskTree(endpoints, whiskPackageService));
-                    expandToNamespace(whiskJTree);
+                    loadWhiskTree(whiskEndpoints);
 
                     if (whiskEndpoints.isEmpty()) {
                         final String msg = "There are no endpoints saved.";
@@ -365,9 +411,9 @@ public class WhiskExplorerWindowForm {
     }
 
 
-    private void expandToNamespace(JTree tree) {
+    private void expandToEndpoint(JTree tree) {
         final Enumeration<?> topLevelNodes = ((TreeNode) tree.getModel().getRoot()).children();
-        final int level = 2;  // The level is the distance from the root to this node.
+        final int level = 1;  // The level is the distance from the root to this node.
         expandNode(tree, topLevelNodes, level);
     }
 
@@ -405,6 +451,47 @@ public class WhiskExplorerWindowForm {
 
     }
 
+    /**
+     * Selects the node of an entity by its fully qualified name, such as /ns/pkg/action.
+     * The namespace, package or trigger root on the way is loaded first if it has not been loaded yet.
+     */
+    private void selectNode(String apihost, String qualifiedName) {
+        Optional<DefaultMutableTreeNode> node = whiskTree.findNode(apihost, qualifiedName);
+        if (node.isPresent()) {
+            TreePath path = new TreePath(node.get().getPath());
+            whiskJTree.setSelectionPath(path);
+            whiskJTree.scrollPathToVisible(path);
+            return;
+        }
+
+        // the nearest node on the way that is in the tree
+        String ancestorName = qualifiedName;
+        Optional<DefaultMutableTreeNode> ancestor = Optional.empty();
+        while (ancestor.isEmpty() && ancestorName.lastIndexOf('/') > 0) {
+            ancestorName = ancestorName.substring(0, ancestorName.lastIndexOf('/'));
+            ancestor = whiskTree.findNode(apihost, ancestorName);
+        }
+        // the children are put into the model in the EDT, so the search goes on there
+        ancestor.flatMap(this::findUnloadedNode)
+                .ifPresent(unloaded -> whiskTree.loadChildren(unloaded).thenRun(() -> selectNode(apihost, qualifiedName)));
+    }
+
+    /**
+     * @return the node if it is not loaded, or else its trigger root if that is not loaded, triggers are named after the namespace.
+     */
+    private Optional<WhiskLazyTreeNode> findUnloadedNode(DefaultMutableTreeNode node) {
+        if (node instanceof WhiskLazyTreeNode && !((WhiskLazyTreeNode) node).isLoaded()) {
+            return Optional.of((WhiskLazyTreeNode) node);
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) node.getChildAt(i);
+            if (child instanceof WhiskLazyTreeNode && child.getUserObject() instanceof WhiskTriggerRoot && !((WhiskLazyTreeNode) child).isLoaded()) {
+                return Optional.of((WhiskLazyTreeNode) child);
+            }
+        }
+        return Optional.empty();
+    }
+
     private Optional<WhiskAuth> getAuthFromTreeNode(DefaultMutableTreeNode node) {
         try {
             DefaultMutableTreeNode parent = (DefaultMutableTreeNode) node.getParent();
@@ -428,30 +515,61 @@ public class WhiskExplorerWindowForm {
         return Optional.empty();
     }
 
-    private List<WhiskEndpoint> getEntities(WhiskPackageService whiskPackageService, WhiskActionService
-            whiskActionService, WhiskTriggerService whiskTriggerService, List<WhiskEndpoint> whiskEndpoints) {
-        List<WhiskEndpoint> newWhiskEndpoints = new ArrayList<>();
-        for (WhiskEndpoint ep : whiskEndpoints) {
-            List<WhiskNamespace> newNamespaces = new ArrayList<>();
-            for (WhiskNamespace ns : ep.getNamespaces()) {
-                try {
-                    WhiskAuth auth = new WhiskAuth(ns.getAuth(), ep.getApihost());
-                    // get pkg, action
-                    ns.setPackages(whiskPackageService.getWhiskPackages(auth));
-                    ns.setActions(whiskActionService.getWhiskActions(auth));
-                    ns.setTriggers(whiskTriggerService.getWhiskTriggers(auth));
+    /**
+     * Refreshes the tree in a cancellable background task, and a new call cancels the task that is still running.
+     * The tree keeps its nodes, only the differences are applied, and only namespaces that were loaded are loaded again.
+     */
+    private void loadWhiskTree(List<WhiskEndpoint> whiskEndpoints) {
+        if (loadingIndicator != null) {
+            loadingIndicator.cancel();
+        }
+        endpoints = whiskEndpoints;
+        // the bound packages may have changed as well, they are resolved again when the packages are reloaded
+        whiskBindingResolver.invalidate();
 
-                    newNamespaces.add(ns);
-                } catch (IOException e) {
-                    final String msg = ns.getPath() + " entities cannot be loaded.";
-                    LOG.error(msg, e);
-                    NOTIFIER.notify(project, msg, NotificationType.ERROR);
+        Task.Backgroundable task = new Task.Backgroundable(project, "Loading OpenWhisk entities", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                List<WhiskLazyTreeNode> namespaceNodes = new ArrayList<>();
+                ApplicationManager.getApplication().invokeAndWait(() -> {
+                    boolean firstLoad = ((TreeNode) whiskTree.getRoot()).getChildCount() == 0;
+                    namespaceNodes.addAll(whiskTree.updateEndpoints(whiskEndpoints));
+                    if (firstLoad) {
+                        expandToEndpoint(whiskJTree);
+                    }
+                }, ModalityState.defaultModalityState());
+
+                AtomicInteger done = new AtomicInteger();
+                indicator.setIndeterminate(namespaceNodes.isEmpty());
+                List<CompletableFuture<Void>> reloads = namespaceNodes.stream()
+                        .map(whiskTree::reloadChildren)
+                        .collect(Collectors.toList());
+                CompletableFuture<?>[] finished = reloads.stream()
+                        .map(reload -> reload.handle((ignore, error) -> {
+                            indicator.setFraction((double) done.incrementAndGet() / namespaceNodes.size());
+                            return null;
+                        }))
+                        .toArray(CompletableFuture[]::new);
+                try {
+                    ProgressIndicatorUtils.awaitWithCheckCanceled(CompletableFuture.allOf(finished), indicator);
+                } catch (ProcessCanceledException e) {
+                    // stop the requests as well, a newer refresh must not race with them
+                    reloads.forEach(reload -> reload.cancel(false));
+                    throw e;
                 }
             }
-            ep.setNamespaces(newNamespaces);
-            newWhiskEndpoints.add(ep);
-        }
-        return newWhiskEndpoints;
+
+            @Override
+            public void onSuccess() {
+                // the entities of removed endpoints are not needed anymore
+                List<String> apihosts = whiskEndpoints.stream().map(WhiskEndpoint::getApihost).collect(Collectors.toList());
+                ApplicationManager.getApplication().executeOnPooledThread(() -> WhiskEntityCache.getInstance().retainEndpoints(apihosts));
+            }
+        };
+
+        ProgressIndicator indicator = new BackgroundableProcessIndicator(task);
+        loadingIndicator = indicator;
+        ProgressManager.getInstance().runProcessWithProgressAsynchronously(task, indicator);
     }
 
     public JPanel getContent() {
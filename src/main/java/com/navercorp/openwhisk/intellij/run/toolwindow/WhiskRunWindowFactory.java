@@ -26,7 +26,6 @@ import com.intellij.ui.content.Content;
 import com.intellij.ui.content.ContentFactory;
 import com.navercorp.openwhisk.intellij.common.utils.EventUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActionService;
-import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationService;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskTriggerService;
 import com.navercorp.openwhisk.intellij.run.toolwindow.listener.*;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
@@ -38,6 +37,7 @@ import com.navercorp.openwhisk.intellij.explorer.dialog.action.ActionManagerDial
 import com.navercorp.openwhisk.intellij.explorer.dialog.trigger.TriggerManagerDialog;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.OpenActionControlActionListener;
 import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.OpenTriggerControlActionListener;
+import com.navercorp.openwhisk.intellij.run.toolwindow.dialog.BenchmarkDialog;
 import com.navercorp.openwhisk.intellij.run.toolwindow.ui.WhiskRunWindowForm;
 import org.jetbrains.annotations.NotNull;
 
@@ -55,7 +55,6 @@ public class WhiskRunWindowFactory implements ToolWindowFactory {
     private static final String ID = "Whisk Run";
 
     private WhiskActionService whiskActionService = WhiskActionService.getInstance();
-    private WhiskActivationService whiskActivationService = WhiskActivationService.getInstance();
     private WhiskTriggerService whiskTriggerService = WhiskTriggerService.getInstance();
 
     private WhiskRunWindowForm whiskRunWindowForm;
@@ -107,10 +106,24 @@ public class WhiskRunWindowFactory implements ToolWindowFactory {
                                 whiskRunWindowForm.runAction(whiskActionService, auth, action));
                     } else if (entity.equals(ENTITY_TRIGGER)) {
                         whiskRunWindowForm.getCachedTrigger().ifPresent(trigger ->
-                                whiskRunWindowForm.fireTrigger(whiskTriggerService, whiskActivationService, auth, trigger));
+                                whiskRunWindowForm.fireTrigger(whiskTriggerService, auth, trigger));
                     }
                 }));
 
+        EventUtils.subscribe(project, project, BenchmarkActionListener.TOPIC, () ->
+                whiskRunWindowForm.getCachedAuth().ifPresent(auth -> {
+                    if (!whiskRunWindowForm.getCurrentEntity().equals(ENTITY_ACTION)) {
+                        NOTIFIER.notify(project, "Only actions can be benchmarked.", NotificationType.WARNING);
+                        return;
+                    }
+                    whiskRunWindowForm.getCachedAction().ifPresent(action -> {
+                        BenchmarkDialog dialog = new BenchmarkDialog(project);
+                        if (dialog.showAndGet()) {
+                            whiskRunWindowForm.benchmarkAction(auth, action, dialog.createBenchmark());
+                        }
+                    });
+                }));
+
         EventUtils.subscribe(project, project, RefreshActionOrTriggerListener.TOPIC, () ->
                 whiskRunWindowForm.getCachedAuth().ifPresent(auth -> {
                     String entity = whiskRunWindowForm.getCurrentEntity();
@@ -167,7 +180,7 @@ public class WhiskRunWindowFactory implements ToolWindowFactory {
         whiskRunWindowForm.setTitle(executableWhiskTrigger.getName());
         whiskRunWindowForm.initializeTriggerTab(executableWhiskTrigger);
         if (isFireTrigger) {
-            whiskRunWindowForm.fireTrigger(whiskTriggerService, whiskActivationService, auth, executableWhiskTrigger);
+            whiskRunWindowForm.fireTrigger(whiskTriggerService, auth, executableWhiskTrigger);
         }
     }
 }
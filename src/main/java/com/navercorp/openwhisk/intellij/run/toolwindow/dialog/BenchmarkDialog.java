@@ -0,0 +1,59 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.run.toolwindow.dialog;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActionBenchmark;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+
+public class BenchmarkDialog extends DialogWrapper {
+
+    private final JSpinner invocationsJSpinner = new JSpinner(new SpinnerNumberModel(100, 1, 100000, 10));
+    private final JSpinner concurrencyJSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 256, 1));
+    private final JSpinner targetRpsJSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 10000, 1));
+
+    public BenchmarkDialog(Project project) {
+        super(project, true); // use current window as parent
+        setTitle("Benchmark Action");
+        setResizable(false);
+        init();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        JPanel dialogPanel = new JPanel(new GridLayout(3, 2, 10, 5));
+        dialogPanel.add(new JLabel("Invocations"));
+        dialogPanel.add(invocationsJSpinner);
+        // every invocation in flight holds a connection of the benchmark's own pool until the action is done
+        dialogPanel.add(new JLabel("Concurrency"));
+        dialogPanel.add(concurrencyJSpinner);
+        dialogPanel.add(new JLabel("Invocations per second (0 for no limit)"));
+        dialogPanel.add(targetRpsJSpinner);
+        return dialogPanel;
+    }
+
+    public WhiskActionBenchmark createBenchmark() {
+        return new WhiskActionBenchmark((Integer) invocationsJSpinner.getValue(),
+                (Integer) concurrencyJSpinner.getValue(),
+                (Integer) targetRpsJSpinner.getValue());
+    }
+}
@@ -20,22 +20,27 @@ import com.intellij.notification.NotificationType;
 import com.intellij.openapi.actionSystem.ActionGroup;
 import com.intellij.openapi.actionSystem.ActionManager;
 import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.colors.EditorColorsManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.wm.ToolWindow;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
 import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
 import com.navercorp.openwhisk.intellij.common.utils.ParameterUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.AnnotationIndex;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
 import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.ExecutableWhiskTrigger;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActionBenchmark;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActionService;
-import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationService;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationPoller;
 import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskTriggerService;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -43,7 +48,14 @@ import org.jetbrains.annotations.NotNull;
 import javax.swing.*;
 import java.awt.*;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 public class WhiskRunWindowForm {
     private static final Logger LOG = Logger.getInstance(WhiskRunWindowForm.class);
@@ -74,6 +86,7 @@ public class WhiskRunWindowForm {
     private Optional<ExecutableWhiskTrigger> currentTrigger = Optional.empty();
     private Optional<WhiskAuth> currentAuth = Optional.empty();
     private String currentEntity = "";
+    private volatile String currentActivationId;
 
     public WhiskRunWindowForm(Project project, ToolWindow toolWindow) {
         this.toolWindow = toolWindow;
@@ -152,6 +165,7 @@ public class WhiskRunWindowForm {
         ProgressManager.getInstance().run(new Task.Backgroundable(project, "Run action") {
             @Override
             public void run(@NotNull ProgressIndicator indicator) {
+                String activationId = null; // the id of this run, the field may already belong to a later one
                 try {
                     if (StringUtils.isEmpty(paramJTextArea.getText())) {
                         paramJTextArea.setText("{}");
@@ -159,23 +173,134 @@ public class WhiskRunWindowForm {
 
                     Optional<String> params = ParameterUtils.validateParams(paramJTextArea.getText());
                     if (params.isPresent()) {
-                        String result = whiskActionService.invokeWhiskAction(auth,
+                        activationId = whiskActionService.invokeWhiskActionNonBlocking(auth,
                                 Optional.ofNullable(action.getNamespacePath()),
                                 action.getWhiskPackage(),
                                 action.getName(),
                                 params.get());
-                        updateResult(result);
+                        currentActivationId = activationId;
+                        updateResult("Activation " + activationId + " is running...");
+                        indicator.setText("Waiting for activation " + activationId);
+
+                        WhiskActivationWithLogs activation = FutureUtils.waitFor(
+                                WhiskActivationPoller.getInstance().await(auth, activationId, WhiskActivationPoller.getAwaitTimeout(action)), indicator);
+                        updateLatestResult(activationId, formatActivation(activation));
                     } else {
                         NOTIFIER.notify(project, "The json format of the parameter is incorrect.", NotificationType.ERROR);
                     }
                 } catch (IOException e) {
                     LOG.error("Failed to invoke action: " + action.getFullyQualifiedName(), e);
+                } catch (ExecutionException e) {
+                    LOG.warn("Failed to get the activation of " + action.getFullyQualifiedName(), e.getCause());
+                    updateLatestResult(activationId, "The activation cannot be loaded: " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
+            }
+        });
+    }
+
+    /**
+     * Fires the invocations with the parameters of the action tab and shows the report once they are all done.
+     * A failed or cancelled benchmark replaces the progress message in the result as well.
+     */
+    public void benchmarkAction(WhiskAuth auth, ExecutableWhiskAction action, WhiskActionBenchmark benchmark) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Benchmark action") {
+            private String report;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                try {
+                    if (StringUtils.isEmpty(paramJTextArea.getText())) {
+                        paramJTextArea.setText("{}");
+                    }
+
+                    Optional<String> params = ParameterUtils.validateParams(paramJTextArea.getText());
+                    if (params.isPresent()) {
+                        currentActivationId = null; // the runs still waiting must not overwrite the report
+                        updateResult("Benchmarking " + action.getFullyQualifiedName() + "...");
+                        indicator.setIndeterminate(false);
+                        report = benchmark.run(auth, action, params.get(), indicator).toReport();
+                    } else {
+                        NOTIFIER.notify(project, "The json format of the parameter is incorrect.", NotificationType.ERROR);
+                    }
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ProcessCanceledException(e);
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (report != null) {
+                    updateResult(report);
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                updateResult("The benchmark of " + action.getFullyQualifiedName() + " was cancelled.");
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                Throwable cause = error instanceof IllegalStateException && error.getCause() != null ? error.getCause() : error;
+                final String msg = "Failed to benchmark action: " + action.getFullyQualifiedName();
+                LOG.warn(msg, cause);
+                NOTIFIER.notify(project, msg, NotificationType.ERROR);
+                updateResult(msg + "\n\n" + Objects.toString(cause.getMessage(), cause.toString()));
+            }
+        });
+    }
 
+    /**
+     * A run that is still waiting does not overwrite the result of a later one.
+     */
+    private void updateLatestResult(String activationId, String result) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (Objects.equals(activationId, currentActivationId)) {
+                updateResult(result);
             }
         });
     }
 
+    /**
+     * The result followed by the status, the timings and the logs of the activation.
+     */
+    private String formatActivation(WhiskActivationWithLogs activation) {
+        AnnotationIndex annotations = AnnotationIndex.of(activation.getAnnotations());
+        Map<String, Object> response = activation.getResponse() != null ? activation.getResponse() : Collections.emptyMap();
+        StringBuilder text = new StringBuilder();
+        try {
+            text.append(JsonParserUtils.beautifyJson(JsonParserUtils.writeMapToJson(toMap(response.get("result")))));
+        } catch (IOException e) {
+            text.append(response.get("result"));
+        }
+
+        text.append("\n\nActivation: ").append(activation.getActivationId());
+        text.append("\nStatus: ").append(response.get("status"));
+        text.append("\nDuration: ").append(activation.getDuration()).append("ms");
+        annotations.get("waitTime").ifPresent(waitTime -> text.append(", wait time: ").append(waitTime).append("ms"));
+        Optional<Object> initTime = annotations.get("initTime");
+        if (initTime.isPresent()) {
+            text.append(", init time: ").append(initTime.get()).append("ms (cold start)");
+        } else {
+            text.append(" (warm start)");
+        }
+        text.append("\nLogs:");
+        for (String log : activation.getLogs()) {
+            text.append("\n").append(log);
+        }
+        return text.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMap(Object result) {
+        return result instanceof Map ? (Map<String, Object>) result : Collections.emptyMap();
+    }
+
     public void refreshActionMetaData(WhiskActionService whiskActionService, WhiskAuth auth, ExecutableWhiskAction action) {
         try {
             whiskActionService.getWhiskAction(auth, Optional.ofNullable(action.getNamespacePath()), action.getWhiskPackage(), action.getName())
@@ -202,13 +327,11 @@ public class WhiskRunWindowForm {
         }
     }
 
-    public void fireTrigger(WhiskTriggerService whiskTriggerService,
-                            WhiskActivationService whiskActivationService,
-                            WhiskAuth auth,
-                            ExecutableWhiskTrigger trigger) {
+    public void fireTrigger(WhiskTriggerService whiskTriggerService, WhiskAuth auth, ExecutableWhiskTrigger trigger) {
         ProgressManager.getInstance().run(new Task.Backgroundable(project, "Fire trigger") {
             @Override
             public void run(@NotNull ProgressIndicator indicator) {
+                String activationId = null; // the id of this run, the field may already belong to a later one
                 try {
                     if (StringUtils.isEmpty(paramJTextArea.getText())) {
                         paramJTextArea.setText("{}");
@@ -218,9 +341,10 @@ public class WhiskRunWindowForm {
                     if (params.isPresent()) {
                         Optional<String> result = whiskTriggerService.fireWhiskTrigger(auth, trigger.getName(), params.get());
                         if (result.isPresent()) {
-                            String activationId = (String) JsonParserUtils.parseMap(result.get()).get("activationId");
-                            getActivation(whiskActivationService, auth, activationId, 10)
-                                    .ifPresent(response -> updateResult(response));
+                            activationId = (String) JsonParserUtils.parseMap(result.get()).get("activationId");
+                            currentActivationId = activationId;
+                            updateResult("Activation " + activationId + " is running...");
+                            updateLatestResult(activationId, awaitTriggerActivation(auth, activationId, indicator));
                         } else {
                             updateResult("Trigger was fired (no return value)");
                         }
@@ -230,40 +354,51 @@ public class WhiskRunWindowForm {
                     }
                 } catch (IOException e) {
                     LOG.error("Failed to fire trigger: " + trigger.getName(), e);
+                } catch (ExecutionException e) {
+                    LOG.warn("Failed to get the activation of " + trigger.getName(), e.getCause());
+                    updateLatestResult(activationId, "The activation cannot be loaded: " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
             }
         });
     }
 
-    private Optional<String> getActivation(WhiskActivationService whiskActivationService, WhiskAuth auth, String activationId, int retryCount) {
-        if (retryCount == 0) {
-            LOG.error("Failed to get activation " + activationId);
-            return Optional.empty();
-        }
-        try {
-            return whiskActivationService.getWhiskActivation(auth, activationId).flatMap(this::getResponse);
-        } catch (IOException e) {
-            LOG.info("Get activation " + activationId + ", retry count: " + retryCount);
-            waitThread(500);
-            return getActivation(whiskActivationService, auth, activationId, retryCount - 1);
-        }
-    }
-
-    private Optional<String> getResponse(WhiskActivationWithLogs activation) {
-        try {
-            return Optional.ofNullable(JsonParserUtils.beautifyJson(JsonParserUtils.writeMapToJson(activation.getResponse())));
-        } catch (IOException e) {
-            LOG.error("Failed to parse response", e);
-            return Optional.empty();
+    /**
+     * Waits for the trigger activation, then for the activations of all the rules it fired at once.
+     * Each rule activation is given the timeout of its own action, the actions are read concurrently and only once each.
+     */
+    private String awaitTriggerActivation(WhiskAuth auth, String activationId, ProgressIndicator indicator)
+            throws ExecutionException, InterruptedException {
+        WhiskActivationPoller poller = WhiskActivationPoller.getInstance();
+        indicator.setText("Waiting for activation " + activationId);
+        WhiskActivationWithLogs triggerActivation = FutureUtils.waitFor(
+                poller.await(auth, activationId, WhiskActivationPoller.AWAIT_MARGIN_MS), indicator);
+
+        Map<String, String> ruleActions = WhiskActivationPoller.getRuleActivations(triggerActivation);
+        List<String> actionNames = ruleActions.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
+        Map<String, Long> timeoutsByAction = FutureUtils.waitFor(poller.getAwaitTimeouts(auth, actionNames), indicator);
+        Map<String, Long> timeouts = new LinkedHashMap<>();
+        for (Map.Entry<String, String> ruleAction : ruleActions.entrySet()) {
+            long timeout = ruleAction.getValue() == null
+                    ? WhiskActivationPoller.DEFAULT_ACTION_TIMEOUT_MS + WhiskActivationPoller.AWAIT_MARGIN_MS
+                    : timeoutsByAction.get(ruleAction.getValue());
+            timeouts.put(ruleAction.getKey(), timeout);
         }
-    }
-
-    private void waitThread(long ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException ex) {
-            // ignore
+        indicator.setText("Waiting for " + ruleActions.size() + " rule activations");
+        Map<String, WhiskActivationWithLogs> ruleActivations = FutureUtils.waitFor(poller.awaitAll(auth, timeouts), indicator);
+
+        StringBuilder text = new StringBuilder(formatActivation(triggerActivation));
+        for (String ruleActivationId : ruleActions.keySet()) {
+            text.append("\n\n");
+            WhiskActivationWithLogs ruleActivation = ruleActivations.get(ruleActivationId);
+            if (ruleActivation != null) {
+                text.append("Action ").append(ruleActivation.getName()).append(":\n").append(formatActivation(ruleActivation));
+            } else {
+                text.append("The activation ").append(ruleActivationId).append(" cannot be loaded.");
+            }
         }
+        return text.toString();
     }
 
     public void refreshTrigger(WhiskAuth auth, WhiskTriggerService whiskTriggerService, ExecutableWhiskTrigger old) {
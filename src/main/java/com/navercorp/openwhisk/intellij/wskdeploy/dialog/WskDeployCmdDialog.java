@@ -23,19 +23,28 @@ import com.navercorp.openwhisk.intellij.wskdeploy.dialog.ui.WskDeployCmdDialogFo
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.util.Collections;
+import java.util.List;
 
 public class WskDeployCmdDialog extends DialogWrapperWithApply {
 
 
     private WskDeployCmdDialogForm wskDeployCmdDialogForm;
-    private WskDeployCmd cmd;
+    private List<WskDeployCmd> cmds;
 
     public WskDeployCmdDialog(Project project, WskDeployCmd cmd) {
+        this(project, Collections.singletonList(cmd));
+    }
+
+    /**
+     * The commands must be of the same kind, every one of them runs against every selected namespace.
+     */
+    public WskDeployCmdDialog(Project project, List<WskDeployCmd> cmds) {
         super(project, true); // use current window as parent
         setTitle("Run WskDeploy Command");
         setResizable(false);
-        this.cmd = cmd;
-        wskDeployCmdDialogForm = new WskDeployCmdDialogForm(project, cmd);
+        this.cmds = cmds;
+        wskDeployCmdDialogForm = new WskDeployCmdDialogForm(project, cmds);
         init();
     }
 
@@ -21,23 +21,21 @@ import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.navercorp.openwhisk.intellij.common.service.WhiskService;
+import com.navercorp.openwhisk.intellij.common.service.WskDeployExecutionService;
 import com.navercorp.openwhisk.intellij.common.error.NotExistFileException;
-import com.navercorp.openwhisk.intellij.common.utils.EventUtils;
 import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
-import com.navercorp.openwhisk.intellij.explorer.toolwindow.listener.RefreshWhiskTreeListener;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuthWithName;
 import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
 import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmd;
-import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmdResponse;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmdDeploy;
 
 import javax.swing.*;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-
-import static com.navercorp.openwhisk.intellij.common.utils.CommandUtils.runCommand;
+import java.util.stream.Collectors;
 
 public class WskDeployCmdDialogForm {
     private static final Logger LOG = Logger.getInstance(WskDeployCmdDialogForm.class);
@@ -46,15 +44,19 @@ public class WskDeployCmdDialogForm {
     private JPanel mainJPanel;
     private JList namespaceJList;
     private JLabel selectMsgJabel;
+    private JCheckBox skipUnchangedJCheckBox;
 
     private Project project;
-    private WskDeployCmd cmd;
+    private List<WskDeployCmd> cmds;
 
-    public WskDeployCmdDialogForm(Project project, WskDeployCmd cmd) {
+    public WskDeployCmdDialogForm(Project project, List<WskDeployCmd> cmds) {
         this.project = project;
-        this.cmd = cmd;
+        this.cmds = cmds;
 
-        selectMsgJabel.setText("Please select the namespace you want to " + cmd.getCmdName() + ".");
+        String manifests = cmds.stream().map(cmd -> cmd.getManifest().getName()).collect(Collectors.joining(", "));
+        selectMsgJabel.setText("Please select the namespaces you want to " + cmds.get(0).getCmdName() + " " + manifests + ".");
+        namespaceJList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        skipUnchangedJCheckBox.setVisible(cmds.stream().allMatch(cmd -> cmd instanceof WskDeployCmdDeploy));
 
         try {
             WhiskService whiskService = ServiceManager.getService(project, WhiskService.class);
@@ -69,28 +71,32 @@ public class WskDeployCmdDialogForm {
         }
     }
 
+    /**
+     * Starts every command against every selected namespace in the background, their output is shown in the Run tool window.
+     */
     public void runWskDeploy() {
-        try {
-            WhiskAuthWithName auth = (WhiskAuthWithName) namespaceJList.getSelectedValue();
-
-            LOG.info(cmd.toCmdString());
-            WskDeployCmdResponse response = runCommand(cmd.toCmd(auth.getAuth())); // TODO running background thread
-            LOG.info(response.getSuccessOutput());
-            String errMsg = response.getErrorOutput();
-            if (!errMsg.isEmpty()) {
-                LOG.error(errMsg);
-            }
+        List<WhiskAuthWithName> auths = new ArrayList<>();
+        for (Object selected : namespaceJList.getSelectedValuesList()) {
+            auths.add((WhiskAuthWithName) selected);
+        }
+        if (auths.isEmpty()) {
+            NOTIFIER.notify(project, "Please select the namespace.", NotificationType.WARNING);
+            return;
+        }
 
-            if (response.getExistCode() == 0) {
-                NOTIFIER.notify(project, response.getSuccessOutput(), NotificationType.INFORMATION);
-                EventUtils.publish(project, RefreshWhiskTreeListener.TOPIC, RefreshWhiskTreeListener::refreshWhiskTree);
-            } else {
-                NOTIFIER.notify(project, response.getErrorOutput(), NotificationType.ERROR);
-            }
+        WskDeployExecutionService executionService = ServiceManager.getService(project, WskDeployExecutionService.class);
+        if (skipUnchangedJCheckBox.isVisible() && skipUnchangedJCheckBox.isSelected()) {
+            executionService.deployAll(cmds.stream().map(WskDeployCmd::getManifest).collect(Collectors.toList()), auths);
+            return;
+        }
 
-        } catch (NotExistFileException | IOException | InterruptedException ex) {
+        String cmdName = cmds.get(0).getCmdName();
+        try {
+            cmds.forEach(cmd -> LOG.info(cmd.toCmdString()));
+            executionService.runAll(cmds, auths);
+        } catch (NotExistFileException ex) {
             LOG.error(ex);
-            NOTIFIER.notify(project, "Failed to running command(" + cmd.getCmdName() + ") for " + ex.getMessage(), NotificationType.ERROR);
+            NOTIFIER.notify(project, "Failed to running command(" + cmdName + ") for " + ex.getMessage(), NotificationType.ERROR);
         }
     }
 
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.wskdeploy.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import com.navercorp.openwhisk.intellij.common.utils.ManifestParserUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Indexes the YAML files whose content is a wskdeploy manifest, with the entities they declare.
+ * A file is indexed again only when it changes, so the manifests are listed without reading every YAML file of the project.
+ */
+public class WskDeployManifestIndex extends FileBasedIndexExtension<String, List<String>> {
+    public static final ID<String, List<String>> NAME = ID.create("openwhisk.wskdeploy.manifests");
+
+    private static final String KEY = "manifest";
+    private static final int VERSION = 1;
+    private static final Set<String> EXTENSIONS = Set.of("yaml", "yml");
+
+    /**
+     * Must be called in a read action and in smart mode.
+     *
+     * @return the declared entities by manifest file.
+     */
+    public static Map<VirtualFile, List<String>> getManifests(Project project) {
+        Map<VirtualFile, List<String>> manifests = new LinkedHashMap<>();
+        FileBasedIndex.getInstance().processValues(NAME, KEY, null, (file, entities) -> {
+            manifests.put(file, entities);
+            return true;
+        }, GlobalSearchScope.projectScope(project));
+        return manifests;
+    }
+
+    public static boolean isCandidate(@NotNull VirtualFile file) {
+        String extension = file.getExtension();
+        return extension != null && EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    @NotNull
+    @Override
+    public ID<String, List<String>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<String>, FileContent> getIndexer() {
+        return inputData -> {
+            CharSequence content = inputData.getFileType().isBinary()
+                    ? new String(inputData.getContent(), UTF_8)
+                    : inputData.getContentAsText();
+            return ManifestParserUtils.readDeclaredEntities(content)
+                    .map(entities -> Collections.singletonMap(KEY, entities))
+                    .orElse(Collections.emptyMap());
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<String>> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            @Override
+            public void save(@NotNull DataOutput out, List<String> entities) throws IOException {
+                DataInputOutputUtil.writeINT(out, entities.size());
+                for (String entity : entities) {
+                    IOUtil.writeUTF(out, entity);
+                }
+            }
+
+            @Override
+            public List<String> read(@NotNull DataInput in) throws IOException {
+                int size = DataInputOutputUtil.readINT(in);
+                List<String> entities = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    entities.add(IOUtil.readUTF(in));
+                }
+                return entities;
+            }
+        };
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return WskDeployManifestIndex::isCandidate;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
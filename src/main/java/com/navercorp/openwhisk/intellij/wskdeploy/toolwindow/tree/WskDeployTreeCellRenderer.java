@@ -17,6 +17,7 @@
 package com.navercorp.openwhisk.intellij.wskdeploy.toolwindow.tree;
 
 import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
 import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.*;
 import org.jetbrains.annotations.NotNull;
 
@@ -37,6 +38,10 @@ public class WskDeployTreeCellRenderer extends ColoredTreeCellRenderer {
             WskDeployManifest manifest = (WskDeployManifest) userObject;
             setIcon(YAML);
             append(manifest.getPath());
+            if (!manifest.getEntities().isEmpty()) {
+                append("  " + manifest.getEntities().size() + " entities", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                setToolTipText("<html>" + String.join("<br>", manifest.getEntities()) + "</html>");
+            }
         } else if (userObject instanceof WskDeployCmdDeploy) {
             WskDeployCmdDeploy wskDeployCmdDeploy = (WskDeployCmdDeploy) userObject;
             setIcon(Execute);
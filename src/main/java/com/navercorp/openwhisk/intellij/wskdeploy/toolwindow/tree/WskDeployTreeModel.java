@@ -25,7 +25,10 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class WskDeployTreeModel implements TreeModel {
@@ -54,6 +57,63 @@ public class WskDeployTreeModel implements TreeModel {
         this.innerModel = new DefaultTreeModel(this.root);
     }
 
+    /**
+     * Removes, changes and inserts only the manifest nodes that differ, so the other nodes keep their expansion and selection.
+     * The manifests must be sorted like the ones the tree was built with.
+     *
+     * @return the nodes of the manifests that were not in the tree.
+     */
+    public List<DefaultMutableTreeNode> updateManifests(List<WskDeployManifest> manifests) {
+        Map<String, WskDeployManifest> updated = new HashMap<>();
+        for (WskDeployManifest manifest : manifests) {
+            updated.put(manifest.getFullPath(), manifest);
+        }
+
+        Optional<WskDeployBinary> wskDeployBinary = toWskDeployBinary((WskDeployFile) root.getUserObject());
+        for (int i = root.getChildCount() - 1; i >= 0; i--) {
+            DefaultMutableTreeNode manifestNode = (DefaultMutableTreeNode) root.getChildAt(i);
+            WskDeployManifest shown = (WskDeployManifest) manifestNode.getUserObject();
+            WskDeployManifest manifest = updated.get(shown.getFullPath());
+            if (manifest == null) {
+                innerModel.removeNodeFromParent(manifestNode);
+            } else if (!manifest.equals(shown) || !manifest.getEntities().equals(shown.getEntities())) {
+                manifestNode.setUserObject(manifest);
+                ((DefaultMutableTreeNode) manifestNode.getChildAt(0)).setUserObject(new WskDeployCmdDeploy(wskDeployBinary, manifest));
+                ((DefaultMutableTreeNode) manifestNode.getChildAt(1)).setUserObject(new WskDeployCmdUndeploy(wskDeployBinary, manifest));
+                innerModel.nodeChanged(manifestNode);
+                innerModel.nodesChanged(manifestNode, new int[]{0, 1});
+            }
+        }
+
+        List<DefaultMutableTreeNode> inserted = new ArrayList<>();
+        for (int i = 0; i < manifests.size(); i++) {
+            WskDeployManifest manifest = manifests.get(i);
+            if (i < root.getChildCount()
+                    && ((WskDeployManifest) ((DefaultMutableTreeNode) root.getChildAt(i)).getUserObject()).getFullPath().equals(manifest.getFullPath())) {
+                continue;
+            }
+            DefaultMutableTreeNode manifestNode = new DefaultMutableTreeNode(manifest);
+            manifestNode.add(new DefaultMutableTreeNode(new WskDeployCmdDeploy(wskDeployBinary, manifest)));
+            manifestNode.add(new DefaultMutableTreeNode(new WskDeployCmdUndeploy(wskDeployBinary, manifest)));
+            innerModel.insertNodeInto(manifestNode, root, i);
+            inserted.add(manifestNode);
+        }
+        return inserted;
+    }
+
+    /**
+     * @return whether a manifest of that path, or in that directory, is in the tree.
+     */
+    public boolean hasManifest(String fullPath) {
+        for (int i = 0; i < root.getChildCount(); i++) {
+            String manifestPath = ((WskDeployManifest) ((DefaultMutableTreeNode) root.getChildAt(i)).getUserObject()).getFullPath();
+            if (manifestPath.equals(fullPath) || manifestPath.startsWith(fullPath + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Optional<WskDeployBinary> toWskDeployBinary(WskDeployFile wskDeployFile) {
         if (wskDeployFile instanceof WskDeployBinary) {
             return Optional.of((WskDeployBinary) wskDeployFile);
@@ -20,28 +20,40 @@ import com.intellij.notification.NotificationType;
 import com.intellij.openapi.actionSystem.ActionGroup;
 import com.intellij.openapi.actionSystem.ActionManager;
 import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
 import com.intellij.openapi.wm.ToolWindow;
-import com.intellij.psi.search.FilenameIndex;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.navercorp.openwhisk.intellij.common.notification.SimpleNotifier;
 import com.navercorp.openwhisk.intellij.common.service.WskDeployService;
 import com.navercorp.openwhisk.intellij.common.utils.EventUtils;
 import com.navercorp.openwhisk.intellij.common.utils.ValidationUtils;
 import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.*;
 import com.navercorp.openwhisk.intellij.wskdeploy.dialog.WskDeployCmdDialog;
+import com.navercorp.openwhisk.intellij.wskdeploy.index.WskDeployManifestIndex;
 import com.navercorp.openwhisk.intellij.wskdeploy.toolwindow.listener.ChooseWskDeployBinaryListener;
 import com.navercorp.openwhisk.intellij.wskdeploy.toolwindow.listener.RefreshWskDeployManifestListener;
 import com.navercorp.openwhisk.intellij.wskdeploy.toolwindow.tree.WskDeployTreeCellRenderer;
 import com.navercorp.openwhisk.intellij.wskdeploy.toolwindow.tree.WskDeployTreeModel;
+import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+import javax.swing.tree.TreeSelectionModel;
 import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
@@ -49,11 +61,10 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class WskDeployWindowForm {
     private static final Logger LOG = Logger.getInstance(WskDeployWindowForm.class);
@@ -69,6 +80,8 @@ public class WskDeployWindowForm {
     private JLabel urlJLabel;
 
     private WskDeployService wskDeployService;
+    // only read and written in the EDT
+    private boolean updateWhenSmartScheduled;
 
     public WskDeployWindowForm(Project project, ToolWindow toolWindow) {
         this.wskDeployService = ServiceManager.getService(project, WskDeployService.class);
@@ -107,24 +120,23 @@ public class WskDeployWindowForm {
 
         wskdeployJTree.setModel(new WskDeployTreeModel(wskDeployFile, manifests));
         wskdeployJTree.setCellRenderer(new WskDeployTreeCellRenderer());
+        ToolTipManager.sharedInstance().registerComponent(wskdeployJTree);
         expandAllNode(wskdeployJTree);
+        wskdeployJTree.getSelectionModel().setSelectionMode(TreeSelectionModel.DISCONTIGUOUS_TREE_SELECTION);
         wskdeployJTree.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (e.getButton() == MouseEvent.BUTTON1 && e.getClickCount() > 1) {
-                    DefaultMutableTreeNode node = (DefaultMutableTreeNode) wskdeployJTree.getLastSelectedPathComponent();
-                    Object userObject = node.getUserObject();
-                    if (userObject instanceof WskDeployCmdDeploy) {
-                        WskDeployCmdDeploy cmd = (WskDeployCmdDeploy) userObject;
-                        if (new WskDeployCmdDialog(project, cmd).showAndGet()) {
-                            LOG.info("WskDeployCmdDialog(deploy) closed");
-                        }
-                    } else if (userObject instanceof WskDeployCmdUndeploy) {
-                        WskDeployCmdUndeploy cmd = (WskDeployCmdUndeploy) userObject;
-                        if (new WskDeployCmdDialog(project, cmd).showAndGet()) {
-                            LOG.info("WskDeployCmdDialog(undeploy) closed");
-                        }
-                    }
+                    runSelectedCmds(project);
+                }
+            }
+        });
+        // a double click selects only the clicked node, Enter keeps the whole selection
+        wskdeployJTree.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    runSelectedCmds(project);
                 }
             }
         });
@@ -137,6 +149,16 @@ public class WskDeployWindowForm {
             expandAllNode(wskdeployJTree);
         });
 
+        // saved manifests are indexed again, only their nodes are updated once the change is applied
+        EventUtils.subscribe(project, project, VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                if (events.stream().anyMatch(event -> isManifestEvent(project, event))) {
+                    ApplicationManager.getApplication().invokeLater(() -> updateManifestNodes(project), project.getDisposed());
+                }
+            }
+        });
+
         EventUtils.subscribe(project, project, ChooseWskDeployBinaryListener.TOPIC, (chosenWskDeployFile) -> {
             WskDeployBinary wskDeployBinary = new WskDeployBinary(chosenWskDeployFile.getPath(), chosenWskDeployFile.getName());
             wskDeployService.setWskdeployName(wskDeployBinary.getName());
@@ -149,6 +171,37 @@ public class WskDeployWindowForm {
     }
 
 
+    private void runSelectedCmds(Project project) {
+        DefaultMutableTreeNode node = (DefaultMutableTreeNode) wskdeployJTree.getLastSelectedPathComponent();
+        if (node == null) {
+            return;
+        }
+        Object userObject = node.getUserObject();
+        if (userObject instanceof WskDeployCmdDeploy || userObject instanceof WskDeployCmdUndeploy) {
+            List<WskDeployCmd> cmds = getSelectedCmds(userObject.getClass());
+            if (new WskDeployCmdDialog(project, cmds).showAndGet()) {
+                LOG.info("WskDeployCmdDialog(" + ((WskDeployCmd) userObject).getCmdName() + ") closed");
+            }
+        }
+    }
+
+    /**
+     * Commands of another kind among the selection are left out, so deploy and undeploy are never mixed.
+     */
+    private List<WskDeployCmd> getSelectedCmds(Class<?> cmdClass) {
+        List<WskDeployCmd> cmds = new ArrayList<>();
+        TreePath[] paths = wskdeployJTree.getSelectionPaths();
+        if (paths != null) {
+            for (TreePath path : paths) {
+                Object userObject = ((DefaultMutableTreeNode) path.getLastPathComponent()).getUserObject();
+                if (cmdClass.isInstance(userObject)) {
+                    cmds.add((WskDeployCmd) userObject);
+                }
+            }
+        }
+        return cmds;
+    }
+
     private Optional<WskDeployFile> loadRegisteredWskDeploy() {
         if (wskDeployService.getWskdeployPath() != null && wskDeployService.getWskdeployName() != null) {
             VirtualFile file = LocalFileSystem.getInstance().findFileByPath(wskDeployService.getWskdeployPath());
@@ -192,17 +245,70 @@ public class WskDeployWindowForm {
         }
     }
 
+    /**
+     * A YAML file in the content of this project may have become a manifest, and a manifest in the tree may have changed,
+     * moved or been deleted. Events for other files, such as the YAML files of libraries, are ignored.
+     */
+    private boolean isManifestEvent(Project project, VFileEvent event) {
+        WskDeployTreeModel model = (WskDeployTreeModel) wskdeployJTree.getModel();
+        if (model.hasManifest(event.getPath())) {
+            return true;
+        }
+        if (event instanceof VFileMoveEvent && model.hasManifest(((VFileMoveEvent) event).getOldPath())) {
+            return true;
+        }
+        if (event instanceof VFilePropertyChangeEvent && model.hasManifest(((VFilePropertyChangeEvent) event).getOldPath())) {
+            return true;
+        }
+        VirtualFile file = event.getFile();
+        return file != null && file.isValid() && WskDeployManifestIndex.isCandidate(file)
+                && ProjectFileIndex.getInstance(project).isInContent(file);
+    }
+
+    /**
+     * Manifests are read from the index, so only the YAML files changed since the last refresh are parsed again.
+     * While indexing, the manifest nodes are added once the index is ready.
+     */
     private List<WskDeployManifest> loadWskDeployManifest(Project project) {
+        if (DumbService.isDumb(project)) {
+            updateManifestNodesWhenSmart(project);
+            return new ArrayList<>();
+        }
+        return readWskDeployManifests(project);
+    }
+
+    private void updateManifestNodes(Project project) {
+        if (DumbService.isDumb(project)) {
+            updateManifestNodesWhenSmart(project);
+            return;
+        }
+        List<DefaultMutableTreeNode> inserted = ((WskDeployTreeModel) wskdeployJTree.getModel()).updateManifests(readWskDeployManifests(project));
+        inserted.forEach(node -> wskdeployJTree.expandPath(new TreePath(node.getPath())));
+    }
+
+    /**
+     * Every refresh in dumb mode lands here, but the update is registered only once until it has run.
+     */
+    private void updateManifestNodesWhenSmart(Project project) {
+        if (updateWhenSmartScheduled) {
+            return;
+        }
+        updateWhenSmartScheduled = true;
+        DumbService.getInstance(project).runWhenSmart(() -> {
+            updateWhenSmartScheduled = false;
+            updateManifestNodes(project);
+        });
+    }
+
+    private List<WskDeployManifest> readWskDeployManifests(Project project) {
         List<WskDeployManifest> manifests = new ArrayList<>();
-        Collection<VirtualFile> yamlFiles = FilenameIndex.getAllFilesByExt(project, "yaml", GlobalSearchScope.projectScope(project));
-        Collection<VirtualFile> ymlFiles = FilenameIndex.getAllFilesByExt(project, "yml", GlobalSearchScope.projectScope(project));
-        List<VirtualFile> files = Stream.of(yamlFiles, ymlFiles).flatMap(Collection::stream).collect(Collectors.toList());
-        for (VirtualFile f : files) {
-            String fullPath = f.getPath();
+        for (Map.Entry<VirtualFile, List<String>> manifest : WskDeployManifestIndex.getManifests(project).entrySet()) {
+            String fullPath = manifest.getKey().getPath();
             String path = fullPath.replaceAll(project.getBasePath() + "/", "");
-            String name = f.getName();
-            manifests.add(new WskDeployManifest(path, fullPath, name));
+            String name = manifest.getKey().getName();
+            manifests.add(new WskDeployManifest(path, fullPath, name, manifest.getValue()));
         }
+        manifests.sort(Comparator.comparing(WskDeployManifest::getPath));
         return manifests;
     }
 
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.utils.command;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.navercorp.openwhisk.intellij.common.utils.CommandRunner;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmdResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public class CommandRunnerTest {
+    private final AtomicInteger outputLines = new AtomicInteger();
+    private final AtomicInteger errorLines = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        assumeTrue(new File("/bin/sh").exists());
+    }
+
+    @Test
+    public void readBothStreamsAtOnce() throws Exception {
+        // given, far more than a pipe buffer on both streams
+        String script = "i=0; while [ $i -lt 20000 ]; do echo err$i 1>&2; echo out$i; i=$((i+1)); done";
+
+        // when
+        WskDeployCmdResponse response = CommandRunner.start(new String[]{"/bin/sh", "-c", script}, this::count, 100)
+                .await(30, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(0, response.getExistCode());
+        assertEquals(20000, outputLines.get());
+        assertEquals(20000, errorLines.get());
+        assertTrue(response.getErrorOutput().startsWith("... 19900 lines dropped ...\nerr19900\n"));
+        assertTrue(response.getSuccessOutput().endsWith("out19999\n"));
+    }
+
+    @Test
+    public void reportExitCode() throws Exception {
+        // when
+        WskDeployCmdResponse response = CommandRunner.start(new String[]{"/bin/sh", "-c", "echo failed 1>&2; exit 3"}, this::count, 100)
+                .await(30, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(3, response.getExistCode());
+        assertEquals("", response.getSuccessOutput());
+        assertEquals("failed\n", response.getErrorOutput());
+    }
+
+    @Test
+    public void killAfterTimeout() throws Exception {
+        // given
+        CommandRunner runner = CommandRunner.start(new String[]{"/bin/sh", "-c", "sleep 30 & wait"}, this::count, 100);
+
+        // when
+        try {
+            runner.await(200, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IOException e) {
+            // then
+            assertEquals("The command did not finish within 200 milliseconds and was killed.", e.getMessage());
+            runner.getResult().get(5, TimeUnit.SECONDS);
+            assertFalse(runner.isAlive());
+        }
+    }
+
+    @Test
+    public void killWhenCancelled() throws Exception {
+        // given
+        CommandRunner runner = CommandRunner.start(new String[]{"/bin/sh", "-c", "sleep 30 & wait"}, this::count, 100);
+        EmptyProgressIndicator indicator = new EmptyProgressIndicator();
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(indicator::cancel);
+
+        // when
+        try {
+            runner.await(30, TimeUnit.SECONDS, indicator);
+            fail();
+        } catch (ProcessCanceledException e) {
+            // then
+            runner.getResult().get(5, TimeUnit.SECONDS);
+            assertFalse(runner.isAlive());
+        }
+    }
+
+    private void count(String line, boolean error) {
+        (error ? errorLines : outputLines).incrementAndGet();
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.utils.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.navercorp.openwhisk.intellij.utils.FileHelper.readFile;
+import static junit.framework.TestCase.assertEquals;
+
+public class BeautifyJsonTests {
+
+    @Test
+    public void beautifyJsonLikeDefaultPrettyPrinter() throws IOException {
+        // given
+        String json = readFile("activation_with_log.json");
+        ObjectMapper mapper = new ObjectMapper();
+        String expected = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(mapper.readValue(json, Map.class));
+
+        // when
+        String actual = JsonParserUtils.beautifyJson(json);
+
+        // then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void beautifyCompactJson() throws IOException {
+        // given
+        String json = "{\"result\":{\"values\":[1,2.5,true,null],\"text\":\"a \\\"b\\\"\"}}";
+
+        // when
+        String actual = JsonParserUtils.beautifyJson(json);
+
+        // then
+        assertEquals(("{\n"
+                + "  \"result\" : {\n"
+                + "    \"values\" : [ 1, 2.5, true, null ],\n"
+                + "    \"text\" : \"a \\\"b\\\"\"\n"
+                + "  }\n"
+                + "}").replace("\n", System.lineSeparator()), actual);
+    }
+}
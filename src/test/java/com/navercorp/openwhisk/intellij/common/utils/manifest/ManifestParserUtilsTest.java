@@ -0,0 +1,198 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.utils.manifest;
+
+import com.navercorp.openwhisk.intellij.common.utils.ManifestParserUtils;
+import com.navercorp.openwhisk.intellij.common.utils.ParameterUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.ManifestEntity;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.WhiskManifest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ManifestParserUtilsTest {
+    private static final String MANIFEST = String.join("\n",
+            "packages:",
+            "  hello:",
+            "    inputs:",
+            "      greeting: Hello",
+            "    actions:",
+            "      world:",
+            "        function: src/world.js",
+            "        web: true",
+            "        limits:",
+            "          timeout: 3000",
+            "          memorySize: 128",
+            "        inputs:",
+            "          name: string",
+            "          count:",
+            "            type: integer",
+            "            default: 3",
+            "          path: $PATH",
+            "      inline:",
+            "        runtime: python",
+            "        code: |",
+            "          def main(args):",
+            "              return args",
+            "    sequences:",
+            "      both:",
+            "        actions: world, inline",
+            "    triggers:",
+            "      tick:",
+            "        annotations:",
+            "          owner: team",
+            "    rules:",
+            "      onTick:",
+            "        trigger: tick",
+            "        action: both",
+            "  default:",
+            "    actions:",
+            "      zipped:",
+            "        function: src/zipped",
+            "        runtime: nodejs:14",
+            "");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path manifest;
+
+    @Before
+    public void setUp() throws IOException {
+        manifest = folder.getRoot().toPath().resolve("manifest.yaml");
+        Files.write(manifest, MANIFEST.getBytes(UTF_8));
+        Path src = Files.createDirectories(folder.getRoot().toPath().resolve("src"));
+        Files.write(src.resolve("world.js"), "function main(params) { return params; }".getBytes(UTF_8));
+        Path zipped = Files.createDirectories(src.resolve("zipped"));
+        Files.write(zipped.resolve("index.js"), "exports.main = p => p;".getBytes(UTF_8));
+        Files.write(zipped.resolve("package.json"), "{\"main\": \"index.js\"}".getBytes(UTF_8));
+    }
+
+    @Test
+    public void parseEntitiesInDependencyOrder() throws IOException {
+        WhiskManifest actual = ManifestParserUtils.parse(manifest);
+
+        List<List<String>> levels = actual.getLevels().stream()
+                .map(level -> level.stream().map(ManifestEntity::toString).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        assertEquals(List.of(
+                List.of("package hello", "trigger tick"),
+                List.of("action hello/world", "action hello/inline", "action zipped"),
+                List.of("sequence hello/both"),
+                List.of("rule onTick")), levels);
+
+        Map<String, ManifestEntity> entities = byName(actual);
+        assertEquals(Map.of("kind", "sequence", "components", List.of("/_/hello/world", "/_/hello/inline")),
+                entities.get("hello/both").getPayload().get("exec"));
+        assertEquals("/_/tick", entities.get("onTick").getPayload().get("trigger"));
+        assertEquals("/_/hello/both", entities.get("onTick").getPayload().get("action"));
+        assertEquals("python:default", exec(entities.get("hello/inline")).get("kind"));
+        assertEquals("nodejs:default", exec(entities.get("hello/world")).get("kind"));
+        assertEquals(Map.of("timeout", 3000L, "memory", 128L), entities.get("hello/world").getPayload().get("limits"));
+    }
+
+    @Test
+    public void convertInputsAndAnnotations() throws IOException {
+        ManifestEntity world = byName(ManifestParserUtils.parse(manifest)).get("hello/world");
+
+        Map<String, Object> parameters = ParameterUtils.listMapToMap(list(world, "parameters"));
+        assertEquals("", parameters.get("name"));
+        assertEquals(3L, parameters.get("count"));
+        assertEquals(System.getenv("PATH"), parameters.get("path"));
+
+        Map<String, Object> annotations = ParameterUtils.listMapToMap(list(world, "annotations"));
+        assertEquals(true, annotations.get("web-export"));
+        assertEquals(true, annotations.get("final"));
+        assertEquals(world.getDigest(), annotations.get(ManifestEntity.DIGEST_ANNOTATION));
+    }
+
+    @Test
+    public void changeDigestOnlyWhenContentChanges() throws IOException {
+        Map<String, ManifestEntity> before = byName(ManifestParserUtils.parse(manifest));
+
+        Path src = folder.getRoot().toPath().resolve("src");
+        Files.write(src.resolve("world.js"), "function main(params) { return {}; }".getBytes(UTF_8));
+        Files.setLastModifiedTime(src.resolve("zipped").resolve("index.js"), FileTime.fromMillis(0));
+        Map<String, ManifestEntity> after = byName(ManifestParserUtils.parse(manifest));
+
+        assertNotEquals(before.get("hello/world").getDigest(), after.get("hello/world").getDigest());
+        for (String unchanged : List.of("hello", "hello/inline", "hello/both", "tick", "onTick", "zipped")) {
+            assertEquals(unchanged, before.get(unchanged).getDigest(), after.get(unchanged).getDigest());
+        }
+        assertEquals(true, exec(after.get("zipped")).get("binary"));
+    }
+
+    @Test
+    public void refuseTriggersWithFeeds() throws IOException {
+        Files.write(manifest, String.join("\n",
+                "packages:",
+                "  hello:",
+                "    triggers:",
+                "      everyMinute:",
+                "        feed: /whisk.system/alarms/alarm",
+                "").getBytes(UTF_8));
+
+        try {
+            ManifestParserUtils.parse(manifest);
+            fail("a trigger with a feed needs wskdeploy");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("everyMinute"));
+        }
+    }
+
+    @Test
+    public void readDeclaredEntitiesWithoutReadingCode() {
+        assertEquals(Optional.of(List.of(
+                "package hello", "action hello/world", "action hello/inline", "sequence hello/both", "trigger tick", "rule onTick",
+                "action zipped")), ManifestParserUtils.readDeclaredEntities(MANIFEST));
+
+        assertEquals(Optional.empty(), ManifestParserUtils.readDeclaredEntities("version: '3'\nservices:\n  web:\n    image: nginx\n"));
+        assertEquals(Optional.empty(), ManifestParserUtils.readDeclaredEntities("package: hello\n"));
+        assertEquals(Optional.empty(), ManifestParserUtils.readDeclaredEntities("packages:\n  hello: [\n"));
+    }
+
+    private Map<String, ManifestEntity> byName(WhiskManifest manifest) {
+        return manifest.getEntities().stream().collect(Collectors.toMap(ManifestEntity::getName, Function.identity()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> exec(ManifestEntity entity) {
+        return (Map<String, Object>) entity.getPayload().get("exec");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> list(ManifestEntity entity, String key) {
+        return (List<Map<String, Object>>) entity.getPayload().get(key);
+    }
+}
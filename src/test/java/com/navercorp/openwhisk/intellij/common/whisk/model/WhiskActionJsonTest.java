@@ -25,7 +25,9 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.exec.ExecMetaData;
 import junit.framework.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -236,4 +238,32 @@ public class WhiskActionJsonTest {
         // then
         Assert.assertEquals(expected, actual);
     }
+
+    @Test
+    public void streamWhiskActions() throws IOException {
+        // given
+        String actions = readFile("actions.json");
+        List<WhiskActionMetaData> expected = JsonParserUtils.parseWhiskActions(actions);
+
+        // when
+        List<WhiskActionMetaData> actual = new ArrayList<>();
+        int count = JsonParserUtils.streamWhiskActions(new ByteArrayInputStream(actions.getBytes(StandardCharsets.UTF_8)), actual::add);
+
+        // then
+        Assert.assertEquals(expected.size(), count);
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void streamEmptyWhiskActions() throws IOException {
+        // given
+        List<WhiskActionMetaData> actual = new ArrayList<>();
+
+        // when
+        int count = JsonParserUtils.streamWhiskActions(new ByteArrayInputStream(new byte[0]), actual::add);
+
+        // then
+        Assert.assertEquals(0, count);
+        Assert.assertEquals(0, actual.size());
+    }
 }
@@ -32,6 +32,7 @@ import java.util.Optional;
 
 import static com.navercorp.openwhisk.intellij.utils.AnnotationHelper.createActionAnnotation;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class WhiskActionTest {
@@ -148,6 +149,38 @@ public class WhiskActionTest {
     }
 
 
+    @Test
+    public void testGetKindOfUnlistedRuntime() {
+        List<Map<String, Object>> javaKindAnnotations = createActionAnnotation(false, false, false, false, "java:8");
+        List<Map<String, Object>> unknownKindAnnotations = createActionAnnotation(false, false, false, false, "dotnet:2.2");
+
+        WhiskActionMetaData javaAction = new WhiskActionMetaData(name, namespace, version, updated, publish, javaKindAnnotations, limits, exec);
+        WhiskActionMetaData unknownAction = new WhiskActionMetaData(name, namespace, version, updated, publish, unknownKindAnnotations, limits, exec);
+
+        assertEquals(Runtime.JAVA, javaAction.getRuntime());
+        assertEquals(".java", javaAction.getKindExtension());
+        assertEquals(Icons.KIND_JAVA, javaAction.getKindIcon());
+        assertEquals(Runtime.DOCKER, unknownAction.getRuntime());
+        assertEquals("", unknownAction.getKindExtension());
+    }
+
+    @Test
+    public void testSetAnnotationsRebuildsIndex() {
+        WhiskActionMetaData action = new WhiskActionMetaData(name, namespace, version, updated, publish,
+                createActionAnnotation(false, false, false, false, "nodejs:12"), limits, exec);
+        assertEquals(".js", action.getKindExtension());
+        assertFalse(action.isWebAction());
+
+        action.setAnnotations(createActionAnnotation(true, true, false, false, "python:3"));
+
+        assertEquals("python:3", action.getKind());
+        assertEquals(".py", action.getKindExtension());
+        assertEquals(Icons.KIND_PYTHON, action.getKindIcon());
+        assertTrue(action.isWebAction());
+        assertTrue(action.isRawHttp());
+    }
+
+
     @Test
     public void testIsSequenceAction() {
         List<Map<String, Object>> sequenceAnnotations = createActionAnnotation(false, false, false, false, "sequence");
@@ -22,7 +22,9 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
 import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackageWithActions;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -82,4 +84,19 @@ public class WhiskPackageJsonTest {
         // then
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void streamWhiskPackages() throws IOException {
+        // given
+        String packages = readFile("packages.json");
+        List<WhiskPackage> expected = JsonParserUtils.parseWhiskPackages(packages);
+
+        // when
+        List<WhiskPackage> actual = new ArrayList<>();
+        int count = JsonParserUtils.streamWhiskPackages(new ByteArrayInputStream(packages.getBytes(StandardCharsets.UTF_8)), actual::add);
+
+        // then
+        assertEquals(expected.size(), count);
+        assertEquals(expected, actual);
+    }
 }
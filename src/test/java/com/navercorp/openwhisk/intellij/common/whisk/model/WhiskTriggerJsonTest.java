@@ -21,7 +21,9 @@ import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.ExecutableWhi
 import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -72,4 +74,19 @@ public class WhiskTriggerJsonTest {
         // then
         assertEquals(actual, expected);
     }
+
+    @Test
+    public void streamWhiskTriggers() throws IOException {
+        // given
+        String triggers = readFile("triggers.json");
+        List<WhiskTriggerMetaData> expected = JsonParserUtils.parseWhiskTriggers(triggers);
+
+        // when
+        List<WhiskTriggerMetaData> actual = new ArrayList<>();
+        int count = JsonParserUtils.streamWhiskTriggers(new ByteArrayInputStream(triggers.getBytes(StandardCharsets.UTF_8)), actual::add);
+
+        // then
+        assertEquals(expected.size(), count);
+        assertEquals(expected, actual);
+    }
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.model.benchmark;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void keepSmallValuesExact() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        // then
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0.001);
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(90, histogram.getCountUpTo(90));
+    }
+
+    @Test
+    public void boundTheErrorOfLargeValues() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (long value = 1000; value <= 1000000; value += 1000) {
+            histogram.record(value);
+        }
+
+        // then
+        long p90 = histogram.getValueAtPercentile(90);
+        assertTrue("p90 " + p90, p90 >= 900000 && p90 <= 900000 * 1.02);
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void mapEveryValueToItsBucket() {
+        for (long value = 0; value < 100000; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.highestValueOf(index));
+            assertTrue(index == 0 || value > LatencyHistogram.highestValueOf(index - 1));
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE)));
+    }
+
+    @Test
+    public void clampOutOfRangeValues() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        // then
+        assertEquals(0, histogram.getMin());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+    }
+}
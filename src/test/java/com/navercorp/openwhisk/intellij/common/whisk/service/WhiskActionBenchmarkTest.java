@@ -0,0 +1,108 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.model.benchmark.BenchmarkResult;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WhiskActionBenchmarkTest {
+    private FakeWhiskController controller;
+    private WhiskAuth auth;
+    private ExecutableWhiskAction action;
+
+    @Before
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(0, 3, 0, 0).withLatency(20).start();
+        auth = controller.getAuth();
+        action = WhiskActionService.getInstance().getWhiskAction(auth, Optional.empty(), Optional.empty(), "action1").orElseThrow();
+    }
+
+    @After
+    public void tearDown() {
+        controller.close();
+    }
+
+    @Test
+    public void recordEveryInvocation() throws Exception {
+        // when
+        BenchmarkResult result = new WhiskActionBenchmark(40, 8, 0).run(auth, action, "{}", new EmptyProgressIndicator());
+
+        // then
+        assertEquals(40, result.getSucceeded());
+        assertEquals(0, result.getFailed());
+        assertEquals(40, result.getLatency().getTotalCount());
+        assertTrue(result.getLatency().getValueAtPercentile(50) >= 20);
+        assertEquals(40, result.getDuration().getValueAtPercentile(99));
+        assertEquals(12, result.getWaitTime().getValueAtPercentile(50));
+        assertEquals(40, result.getColdStarts());
+        assertEquals(40, result.getCompletionsPerSecond().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(40, controller.getActivationCount());
+    }
+
+    @Test
+    public void paceToTheTargetRate() throws Exception {
+        // when
+        long start = System.currentTimeMillis();
+        BenchmarkResult result = new WhiskActionBenchmark(10, 4, 20).run(auth, action, "{}", new EmptyProgressIndicator());
+        long elapsedMs = System.currentTimeMillis() - start;
+
+        // then
+        assertEquals(10, result.getSucceeded());
+        assertTrue("finished in " + elapsedMs + "ms", elapsedMs >= 450);
+    }
+
+    @Test
+    public void runMoreInvocationsAtOnceThanTheSharedPoolAllows() throws Exception {
+        // given
+        controller.withLatency(300);
+
+        // when
+        BenchmarkResult result = new WhiskActionBenchmark(32, 32, 0).run(auth, action, "{}", new EmptyProgressIndicator());
+
+        // then
+        assertEquals(32, result.getSucceeded());
+        // the shared pool would hold half of the invocations back for a whole round trip
+        assertTrue(result.getLatency().getMax() < 600);
+    }
+
+    @Test
+    public void countRejectedInvocationsAsFailures() throws Exception {
+        // given
+        controller.withErrorRate(0.5);
+
+        // when
+        BenchmarkResult result = new WhiskActionBenchmark(40, 8, 0).run(auth, action, "{}", new EmptyProgressIndicator());
+
+        // then
+        assertTrue(result.getFailed() > 0);
+        assertEquals(40, result.getSucceeded() + result.getFailed());
+        assertEquals(40, result.getLatency().getTotalCount());
+        assertTrue(result.toReport().startsWith("Invocations: 40 (" + result.getSucceeded() + " succeeded"));
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.navercorp.openwhisk.intellij.common.utils.FutureUtils;
+import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WhiskActivationPollerTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final WhiskActivationPoller poller = new WhiskActivationPoller(scheduler, 10, 50);
+
+    private FakeWhiskController controller;
+    private WhiskAuth auth;
+
+    @Before
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(0, 3, 1, 0).withActivationDelay(300).start();
+        auth = controller.getAuth();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        controller.close();
+    }
+
+    @Test
+    public void awaitRecordedActivation() throws Exception {
+        // given
+        String activationId = WhiskActionService.getInstance()
+                .invokeWhiskActionNonBlocking(auth, Optional.empty(), Optional.empty(), "action1", "{\"hello\":\"world\"}");
+
+        // when
+        WhiskActivationWithLogs activation = poller.await(auth, activationId, 5000).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(activationId, activation.getActivationId());
+        assertEquals(Map.of("payload", Map.of("hello", "world")), activation.getResponse().get("result"));
+        assertEquals(2, activation.getLogs().size());
+        assertTrue(controller.getRequestCount("GET activations") > 1);
+    }
+
+    @Test
+    public void failAfterDeadline() throws Exception {
+        try {
+            poller.await(auth, "unknown", 100).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void stopPollingWhenCancelled() throws Exception {
+        // given
+        CompletableFuture<WhiskActivationWithLogs> activation = poller.await(auth, "unknown", 5000);
+
+        // when
+        activation.cancel(false);
+        // wait for a poll that may have started before the cancel
+        scheduler.submit(() -> null).get();
+        controller.resetRequestCounts();
+        Thread.sleep(200);
+
+        // then
+        assertEquals(0, controller.getRequestCount("GET activations"));
+    }
+
+    @Test
+    public void awaitRuleActivationsOfTrigger() throws Exception {
+        // given
+        String fired = WhiskTriggerService.getInstance().fireWhiskTrigger(auth, "trigger0", "{}").orElseThrow();
+        String activationId = (String) JsonParserUtils.parseMap(fired).get("activationId");
+        WhiskActivationWithLogs triggerActivation = poller.await(auth, activationId, 5000).get(5, TimeUnit.SECONDS);
+
+        // when
+        Map<String, String> ruleActions = WhiskActivationPoller.getRuleActivations(triggerActivation);
+        List<String> ruleActivationIds = new ArrayList<>(ruleActions.keySet());
+        Map<String, WhiskActivationWithLogs> ruleActivations = poller.awaitAll(auth, ruleActivationIds, 5000).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(1, ruleActivationIds.size());
+        assertEquals(FakeWhiskController.NAMESPACE + "/action0", ruleActions.get(ruleActivationIds.get(0)));
+        assertEquals("action0", ruleActivations.get(ruleActivationIds.get(0)).getName());
+    }
+
+    @Test
+    public void takeAwaitTimeoutFromActionLimits() {
+        // when
+        long timeout = poller.getAwaitTimeout(auth, FakeWhiskController.NAMESPACE + "/action0");
+        long unknown = poller.getAwaitTimeout(auth, FakeWhiskController.NAMESPACE + "/unknown");
+
+        // then
+        assertEquals(60000 + WhiskActivationPoller.AWAIT_MARGIN_MS, timeout);
+        assertEquals(WhiskActivationPoller.DEFAULT_ACTION_TIMEOUT_MS + WhiskActivationPoller.AWAIT_MARGIN_MS, unknown);
+        assertEquals(2, controller.getRequestCount("GET actions"));
+    }
+
+    @Test
+    public void readAwaitTimeoutsOfActionsOnce() throws Exception {
+        // given
+        String action0 = FakeWhiskController.NAMESPACE + "/action0";
+        String action1 = FakeWhiskController.NAMESPACE + "/action1";
+        String unknown = FakeWhiskController.NAMESPACE + "/unknown";
+
+        // when
+        Map<String, Long> timeouts = poller.getAwaitTimeouts(auth, List.of(action0, action1, action0, unknown)).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(List.of(action0, action1, unknown), new ArrayList<>(timeouts.keySet()));
+        assertEquals(Long.valueOf(60000 + WhiskActivationPoller.AWAIT_MARGIN_MS), timeouts.get(action0));
+        assertEquals(Long.valueOf(WhiskActivationPoller.DEFAULT_ACTION_TIMEOUT_MS + WhiskActivationPoller.AWAIT_MARGIN_MS), timeouts.get(unknown));
+        assertEquals(3, controller.getRequestCount("GET actions"));
+    }
+
+    @Test
+    public void leaveOutActivationsNotRecorded() throws Exception {
+        // given
+        String activationId = WhiskActionService.getInstance()
+                .invokeWhiskActionNonBlocking(auth, Optional.empty(), Optional.empty(), "action1", "{}");
+
+        // when
+        Map<String, WhiskActivationWithLogs> activations = poller.awaitAll(auth, List.of("unknown", activationId), 1000).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(List.of(activationId), new ArrayList<>(activations.keySet()));
+    }
+
+    @Test
+    public void cancelWithTheTask() throws Exception {
+        // given
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+        CompletableFuture<WhiskActivationWithLogs> activation = poller.await(auth, "unknown", 5000);
+        scheduler.schedule(indicator::cancel, 100, TimeUnit.MILLISECONDS);
+
+        // when
+        try {
+            FutureUtils.waitFor(activation, indicator);
+            fail();
+        } catch (ProcessCanceledException e) {
+            // then
+            assertTrue(activation.isCancelled());
+        }
+    }
+}
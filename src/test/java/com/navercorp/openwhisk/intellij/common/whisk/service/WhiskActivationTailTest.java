@@ -0,0 +1,130 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class WhiskActivationTailTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final BlockingQueue<List<WhiskActivationMetaData>> polled = new LinkedBlockingQueue<>();
+
+    private FakeWhiskController controller;
+    private WhiskAuth auth;
+
+    @Before
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(0, 3, 1, 20).start();
+        auth = controller.getAuth();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        controller.close();
+    }
+
+    @Test
+    public void reportOnlyNewActivations() throws Exception {
+        // given
+        WhiskActivationTail tail = new WhiskActivationTail(auth, Optional.empty(), System.currentTimeMillis(), polled::add, scheduler, 10, 50);
+        tail.start();
+
+        // when
+        WhiskActionService.getInstance().invokeWhiskAction(auth, Optional.empty(), Optional.empty(), "action1", "{}");
+        List<WhiskActivationMetaData> first = polled.poll(5, TimeUnit.SECONDS);
+        WhiskActionService.getInstance().invokeWhiskAction(auth, Optional.empty(), Optional.empty(), "action2", "{}");
+        List<WhiskActivationMetaData> second = polled.poll(5, TimeUnit.SECONDS);
+        tail.stop();
+
+        // then
+        assertEquals(1, first.size());
+        assertEquals("action1", first.get(0).getName());
+        assertEquals(1, second.size());
+        assertEquals("action2", second.get(0).getName());
+    }
+
+    @Test
+    public void skipActivationsAlreadyShown() throws Exception {
+        // given
+        WhiskActionService.getInstance().invokeWhiskAction(auth, Optional.empty(), Optional.empty(), "action1", "{}");
+        WhiskActivationMetaData shown = WhiskActivationService.getInstance().getWhiskActivationsSince(auth, Optional.empty(), 0, 1, 0).get(0);
+        WhiskActivationTail tail = new WhiskActivationTail(auth, Optional.empty(), shown.getStart(), Set.of(shown.getActivationId()),
+                polled::add, scheduler, 10, 50);
+
+        // when
+        tail.start();
+        List<WhiskActivationMetaData> first = polled.poll(200, TimeUnit.MILLISECONDS);
+        tail.stop();
+
+        // then
+        assertNull(first);
+    }
+
+    @Test
+    public void followOneEntity() throws Exception {
+        // given
+        WhiskActivationTail tail = new WhiskActivationTail(auth, Optional.of("trigger0"), System.currentTimeMillis(), polled::add, scheduler, 10, 50);
+        tail.start();
+
+        // when
+        WhiskActionService.getInstance().invokeWhiskAction(auth, Optional.empty(), Optional.empty(), "action1", "{}");
+        WhiskTriggerService.getInstance().fireWhiskTrigger(auth, "trigger0", "{}");
+        List<WhiskActivationMetaData> first = polled.poll(5, TimeUnit.SECONDS);
+        tail.stop();
+
+        // then
+        assertEquals(1, first.size());
+        assertEquals("trigger0", first.get(0).getName());
+    }
+
+    @Test
+    public void stopPolling() throws Exception {
+        // given
+        WhiskActivationTail tail = new WhiskActivationTail(auth, Optional.empty(), System.currentTimeMillis(), polled::add, scheduler, 10, 50);
+        tail.start();
+
+        // when
+        tail.stop();
+        // wait for a poll that may have started before the stop
+        scheduler.submit(() -> null).get();
+        controller.resetRequestCounts();
+        WhiskActionService.getInstance().invokeWhiskAction(auth, Optional.empty(), Optional.empty(), "action1", "{}");
+
+        // then
+        assertNull(polled.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, controller.getRequestCount("GET activations"));
+    }
+}
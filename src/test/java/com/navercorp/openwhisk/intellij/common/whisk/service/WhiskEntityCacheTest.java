@@ -0,0 +1,112 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.navercorp.openwhisk.intellij.common.utils.JsonParserUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.navercorp.openwhisk.intellij.utils.FileHelper.readFile;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class WhiskEntityCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readEntitiesWrittenBeforeRestart() throws IOException {
+        // given
+        WhiskNamespace ns = createNamespace();
+        WhiskEntityCache cache = new WhiskEntityCache(folder.getRoot().toPath());
+        cache.put("https://localhost:31001", ns);
+        cache.flush();
+
+        // when
+        WhiskNamespace empty = new WhiskNamespace("auth", ns.getPath());
+        Optional<WhiskNamespace> actual = new WhiskEntityCache(folder.getRoot().toPath()).get("https://localhost:31001", empty);
+
+        // then
+        assertTrue(actual.isPresent());
+        assertEquals(names(ns.getPackages()), names(actual.get().getPackages()));
+        assertEquals(ns.getActions().stream().map(WhiskActionMetaData::getName).collect(Collectors.toList()),
+                actual.get().getActions().stream().map(WhiskActionMetaData::getName).collect(Collectors.toList()));
+        assertEquals(ns.getTriggers().stream().map(WhiskTriggerMetaData::getName).collect(Collectors.toList()),
+                actual.get().getTriggers().stream().map(WhiskTriggerMetaData::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void dropRemovedEndpoints() throws IOException {
+        // given
+        WhiskEntityCache cache = new WhiskEntityCache(folder.getRoot().toPath());
+        cache.put("https://localhost:31001", createNamespace());
+        cache.put("https://localhost:31002", createNamespace());
+        cache.flush();
+
+        // when
+        cache.retainEndpoints(Collections.singletonList("https://localhost:31002"));
+
+        // then
+        WhiskEntityCache reopened = new WhiskEntityCache(folder.getRoot().toPath());
+        assertFalse(reopened.get("https://localhost:31001", new WhiskNamespace("auth", "ns")).isPresent());
+        assertTrue(reopened.get("https://localhost:31002", new WhiskNamespace("auth", "ns")).isPresent());
+    }
+
+    @Test
+    public void writeOnlyWhenFlushed() throws IOException {
+        // given
+        WhiskEntityCache cache = new WhiskEntityCache(folder.getRoot().toPath());
+        WhiskNamespace ns = createNamespace();
+
+        // when
+        cache.put("https://localhost:31001", ns);
+        cache.put("https://localhost:31001", new WhiskNamespace("auth", "other"));
+
+        // then
+        assertTrue(cache.get("https://localhost:31001", new WhiskNamespace("auth", "ns")).isPresent());
+        assertFalse(new WhiskEntityCache(folder.getRoot().toPath()).get("https://localhost:31001", new WhiskNamespace("auth", "ns")).isPresent());
+        cache.flush();
+        WhiskEntityCache reopened = new WhiskEntityCache(folder.getRoot().toPath());
+        assertTrue(reopened.get("https://localhost:31001", new WhiskNamespace("auth", "ns")).isPresent());
+        assertTrue(reopened.get("https://localhost:31001", new WhiskNamespace("auth", "other")).isPresent());
+    }
+
+    private WhiskNamespace createNamespace() throws IOException {
+        WhiskNamespace ns = new WhiskNamespace("auth", "ns");
+        ns.setPackages(JsonParserUtils.parseWhiskPackages(readFile("packages.json")));
+        ns.setActions(JsonParserUtils.parseWhiskActions(readFile("actions.json")));
+        ns.setTriggers(JsonParserUtils.parseWhiskTriggers(readFile("triggers.json")));
+        return ns;
+    }
+
+    private List<String> names(List<WhiskPackage> packages) {
+        return packages.stream().map(WhiskPackage::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import com.navercorp.openwhisk.intellij.common.utils.ManifestParserUtils;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.DeployResult;
+import com.navercorp.openwhisk.intellij.common.whisk.model.manifest.ManifestEntity;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WhiskManifestDeployerTest {
+    private static final String MANIFEST = String.join("\n",
+            "packages:",
+            "  hello:",
+            "    actions:",
+            "      first:",
+            "        function: first.js",
+            "      second:",
+            "        function: second.js",
+            "    sequences:",
+            "      both:",
+            "        actions: first, second",
+            "    triggers:",
+            "      tick:",
+            "    rules:",
+            "      onTick:",
+            "        trigger: tick",
+            "        action: both",
+            "");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final WhiskManifestDeployer deployer = new WhiskManifestDeployer(executor);
+
+    private FakeWhiskController controller;
+    private WhiskAuth auth;
+    private Path manifest;
+
+    @Before
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(0, 0, 0, 0).start();
+        auth = controller.getAuth();
+        manifest = folder.getRoot().toPath().resolve("manifest.yaml");
+        Files.write(manifest, MANIFEST.getBytes(UTF_8));
+        writeCode("first.js", "function main(params) { return {first: true}; }");
+        writeCode("second.js", "function main(params) { return {second: true}; }");
+    }
+
+    @After
+    public void tearDown() {
+        controller.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void deployOnlyChangedEntities() throws Exception {
+        DeployResult first = deploy();
+        assertEquals(Set.of("package hello", "action hello/first", "action hello/second", "sequence hello/both", "trigger tick", "rule onTick"),
+                names(first.getDeployed()));
+
+        controller.resetRequestCounts();
+        DeployResult unchanged = deploy();
+        assertEquals(0, unchanged.getDeployed().size());
+        assertEquals(6, unchanged.getUnchanged().size());
+        assertEquals(0, controller.getRequestCount("PUT actions"));
+
+        writeCode("second.js", "function main(params) { return {second: 2}; }");
+        DeployResult changed = deploy();
+        assertEquals(Set.of("action hello/second"), names(changed.getDeployed()));
+        assertEquals(1, controller.getRequestCount("PUT actions"));
+        assertTrue(!changed.hasFailures() && changed.getSkipped().isEmpty());
+    }
+
+    @Test
+    public void deployAgainWhenTheRemoteEntityLostItsDigest() throws Exception {
+        deploy();
+        // updated by hand, without the annotations of the manifest
+        WhiskActionService.getInstance().updateWhiskAction(auth, Optional.of("hello"), "first",
+                Map.of("annotations", List.of()));
+
+        DeployResult actual = deploy();
+
+        assertEquals(Set.of("action hello/first"), names(actual.getDeployed()));
+    }
+
+    @Test
+    public void failWithTheErrorOfTheRequest() throws Exception {
+        // given
+        controller.close();
+
+        // when
+        try {
+            deploy();
+            fail();
+        } catch (ExecutionException e) {
+            // then
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private DeployResult deploy() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        return deployer.deploy(auth, ManifestParserUtils.parse(manifest), line -> {
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private void writeCode(String fileName, String code) throws IOException {
+        Files.write(folder.getRoot().toPath().resolve(fileName), code.getBytes(UTF_8));
+    }
+
+    private Set<String> names(List<ManifestEntity> entities) {
+        return entities.stream().map(ManifestEntity::toString).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.common.whisk.service;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WhiskPaginatorTest {
+    @Test
+    public void testCollectAllPages() throws IOException {
+        // given
+        List<Integer> entities = IntStream.range(0, 7).boxed().collect(Collectors.toList());
+        List<Integer> skips = new ArrayList<>();
+        WhiskPaginator<Integer> paginator = new WhiskPaginator<>((limit, skip) -> {
+            skips.add(skip);
+            return entities.subList(Math.min(skip, entities.size()), Math.min(skip + limit, entities.size()));
+        }, 3, Runnable::run);
+
+        // when
+        List<Integer> actual = paginator.collectAll();
+
+        // then
+        assertEquals(entities, actual);
+        // the page after the short one is requested before the short one is read
+        assertEquals(List.of(0, 3, 6, 9), skips);
+    }
+
+    @Test
+    public void testStopAfterEmptyPage() throws IOException {
+        // given
+        List<Integer> skips = new ArrayList<>();
+        WhiskPaginator<Integer> paginator = new WhiskPaginator<>((limit, skip) -> {
+            skips.add(skip);
+            return skip == 0 ? List.of(1, 2) : List.of();
+        }, 2, Runnable::run);
+
+        // when
+        List<Integer> actual = paginator.collectAll();
+
+        // then
+        assertEquals(List.of(1, 2), actual);
+        assertEquals(List.of(0, 2, 4), skips);
+    }
+
+    @Test
+    public void testIteratorIsLazy() {
+        // given
+        List<Integer> skips = new ArrayList<>();
+        WhiskPaginator<Integer> paginator = new WhiskPaginator<>((limit, skip) -> {
+            skips.add(skip);
+            return List.of(skip, skip + 1);
+        }, 2, Runnable::run);
+
+        // when
+        Iterator<Integer> iterator = paginator.iterator();
+
+        // then
+        assertTrue(skips.isEmpty());
+        assertEquals(Integer.valueOf(0), iterator.next());
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertEquals(Integer.valueOf(2), iterator.next());
+    }
+
+    @Test
+    public void testRequestNextPageWithCurrentPage() throws Exception {
+        // given
+        CountDownLatch nextPageRequested = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        WhiskPaginator<Integer> paginator = new WhiskPaginator<>((limit, skip) -> {
+            if (skip == 0) {
+                // the first page is returned only once the second one has been requested
+                try {
+                    assertTrue(nextPageRequested.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return List.of(1, 2);
+            }
+            nextPageRequested.countDown();
+            return skip == 2 ? List.of(3) : List.of();
+        }, 2, executor);
+
+        // when
+        try {
+            List<Integer> actual = paginator.collectAll();
+
+            // then
+            assertEquals(List.of(1, 2, 3), actual);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRethrowIOException() throws IOException {
+        // given
+        WhiskPaginator<Integer> paginator = new WhiskPaginator<>((limit, skip) -> {
+            if (skip > 0) {
+                throw new IOException("connection reset");
+            }
+            return List.of(1, 2);
+        }, 2, Runnable::run);
+
+        // when
+        paginator.collectAll();
+    }
+}
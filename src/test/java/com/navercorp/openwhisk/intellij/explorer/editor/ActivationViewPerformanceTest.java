@@ -0,0 +1,121 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.explorer.editor;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationWithLogs;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationService;
+import com.navercorp.openwhisk.intellij.explorer.editor.model.ActivationTableModel;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lists and opens activations from the fake controller the way the activation view does.
+ * A page of activations costs one request however many rows it has, so the table must fetch the next page only
+ * when its end is scrolled into view, and opening an activation must not list the activations again.
+ */
+public class ActivationViewPerformanceTest {
+    private static final int PAGE_SIZE = 200;
+    private static final int PREFETCH_ROWS = 50;
+
+    private final WhiskActivationService whiskActivationService = WhiskActivationService.getInstance();
+
+    private FakeWhiskController controller;
+    private WhiskAuth auth;
+
+    @Before
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(0, 100, 0, 5000).withLatency(2).start();
+        auth = controller.getAuth();
+    }
+
+    @After
+    public void tearDown() {
+        controller.close();
+    }
+
+    @Test
+    public void listAndOpenActivations() throws IOException {
+        // when
+        List<WhiskActivationMetaData> activations = whiskActivationService.getWhiskActivations(auth, Optional.empty(), 100, 0);
+        for (WhiskActivationMetaData activation : activations.subList(0, 10)) {
+            Optional<WhiskActivationWithLogs> withLogs = whiskActivationService.getWhiskActivation(auth, activation.getActivationId());
+            assertTrue(withLogs.isPresent());
+            assertFalse(withLogs.get().getLogs().isEmpty());
+        }
+
+        // then
+        assertEquals(100, activations.size());
+        assertTrue(activations.get(0).getStart() > activations.get(99).getStart());
+        // one list and one request for each opened activation
+        assertEquals(11, controller.getRequestCount("GET activations"));
+    }
+
+    @Test
+    public void listActivationsOfAction() throws IOException {
+        // when
+        List<WhiskActivationMetaData> activations = whiskActivationService.getWhiskActivations(auth, Optional.of("action7"), 100, 0);
+
+        // then
+        assertEquals(50, activations.size());
+        assertTrue(activations.stream().allMatch(a -> a.getName().equals("action7")));
+    }
+
+    @Test
+    public void loadPagesAsTableIsScrolled() throws Exception {
+        // given
+        ActivationTableModel model = new ActivationTableModel(PAGE_SIZE, PREFETCH_ROWS, Runnable::run, Runnable::run);
+
+        // when
+        model.reset((limit, skip) -> whiskActivationService.getWhiskActivations(auth, Optional.empty(), limit, skip)).get();
+        model.prefetch(0).get();
+        model.prefetch(PAGE_SIZE - PREFETCH_ROWS - 1).get();
+        int requestsBeforeEnd = controller.getRequestCount("GET activations");
+        model.prefetch(PAGE_SIZE - 1).get();
+
+        // then
+        // the second page is requested only once the scroll comes close to the end
+        assertEquals(1, requestsBeforeEnd);
+        assertEquals(2, controller.getRequestCount("GET activations"));
+        assertEquals(2 * PAGE_SIZE, model.getRowCount());
+        assertTrue(model.hasMore());
+    }
+
+    @Test
+    public void paginateAllActivations() throws IOException {
+        // when
+        List<WhiskActivationMetaData> activations = whiskActivationService.paginateWhiskActivations(auth, Optional.empty()).collectAll();
+
+        // then
+        assertEquals(5000, activations.size());
+        // 25 full pages and an empty one, and the page after it unless that is dropped before it is sent
+        int requests = controller.getRequestCount("GET activations");
+        assertTrue(String.valueOf(requests), requests == 26 || requests == 27);
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.explorer.editor.model;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.activation.WhiskActivationMetaData;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ActivationTableModelTest {
+    private final List<Integer> skips = new ArrayList<>();
+    private final List<WhiskActivationMetaData> activations = IntStream.range(0, 25)
+            .mapToObj(i -> new WhiskActivationMetaData("id" + i, "action", "ns", "0.0.1", null, 1000L - i, 1000L - i + 5, 5,
+                    false, new ArrayList<>(), 0))
+            .collect(Collectors.toList());
+
+    private final ActivationTableModel model = new ActivationTableModel(10, 3, Runnable::run, Runnable::run);
+
+    @Test
+    public void loadOnlyFirstPage() {
+        // when
+        model.reset(this::load);
+
+        // then
+        assertEquals(10, model.getRowCount());
+        assertEquals(List.of(0), skips);
+        assertEquals("id0", model.getValueAt(0, 1));
+        assertEquals("ns/action:0.0.1", model.getValueAt(0, 6));
+        assertEquals("5ms", model.getValueAt(0, 4));
+        assertTrue(model.hasMore());
+    }
+
+    @Test
+    public void prefetchNearEnd() {
+        // given
+        model.reset(this::load);
+
+        // when
+        model.prefetch(5);
+        model.prefetch(7);
+        model.prefetch(19);
+        model.prefetch(24);
+
+        // then
+        assertEquals(25, model.getRowCount());
+        assertEquals(List.of(0, 10, 20), skips);
+        assertFalse(model.hasMore());
+    }
+
+    @Test
+    public void skipShiftedActivations() {
+        // given
+        model.reset((limit, skip) -> {
+            skips.add(skip);
+            // a new activation arrived after the first page, so the second page starts one activation earlier
+            int from = skip == 0 ? 0 : skip - 1;
+            return activations.subList(from, Math.min(from + limit, activations.size()));
+        });
+
+        // when
+        model.prefetch(9);
+
+        // then
+        assertEquals(19, model.getRowCount());
+        assertEquals("id10", model.getActivation(10).getActivationId());
+    }
+
+    @Test
+    public void resetDropsLoadedActivations() {
+        // given
+        model.reset(this::load);
+        model.prefetch(9);
+
+        // when
+        model.reset((limit, skip) -> activations.subList(0, 2));
+
+        // then
+        assertEquals(2, model.getRowCount());
+        assertFalse(model.hasMore());
+    }
+
+    @Test
+    public void prependNewActivations() {
+        // given
+        model.reset(this::load);
+        WhiskActivationMetaData newest = new WhiskActivationMetaData("new", "action", "ns", "0.0.1", null, 2000L, 2005L, 5,
+                false, new ArrayList<>(), 0);
+
+        // when
+        model.prepend(List.of(newest, activations.get(0)));
+        model.prepend(List.of(newest));
+        model.prefetch(10);
+
+        // then
+        assertEquals("new", model.getActivation(0).getActivationId());
+        assertEquals(Long.valueOf(2000L), model.getNewestStart().get());
+        // only the activation that was not loaded yet has shifted the second page
+        assertEquals(List.of(0, 11), skips);
+    }
+
+    private List<WhiskActivationMetaData> load(int limit, int skip) throws IOException {
+        skips.add(skip);
+        return activations.subList(Math.min(skip, activations.size()), Math.min(skip + limit, activations.size()));
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskEntityCache;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskEntityLoader;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskNamespaceService;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.apache.http.client.HttpResponseException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Loads a large namespace from the fake controller the way the explorer does when a namespace is expanded.
+ * Expanding a namespace costs one request per page of each entity list, so 2000 actions are a dozen requests and
+ * reloading keeps the nodes that did not change. The loaded namespaces are cached in a temporary folder.
+ */
+public class WhiskExplorerPerformanceTest {
+    private static final long TIMEOUT_MS = 30000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FakeWhiskController controller;
+    private WhiskEntityCache whiskEntityCache;
+    private WhiskEntityLoader whiskEntityLoader;
+
+    @Before
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(50, 2000, 200, 0).withLatency(5).start();
+        whiskEntityCache = new WhiskEntityCache(folder.getRoot().toPath());
+        whiskEntityLoader = new WhiskEntityLoader(whiskEntityCache);
+    }
+
+    @After
+    public void tearDown() {
+        // the scheduled write would find the folder deleted
+        whiskEntityCache.flush();
+        controller.close();
+    }
+
+    @Test
+    public void loadLargeNamespace() throws Exception {
+        // given
+        WhiskAuth auth = controller.getAuth();
+        WhiskNamespace validated = WhiskNamespaceService.getInstance().validateNamespace(auth).orElseThrow();
+        controller.resetRequestCounts();
+
+        // when
+        WhiskNamespace ns = whiskEntityLoader.loadNamespace(auth, validated).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        WhiskTree tree = new WhiskTree(Collections.singletonList(new WhiskEndpoint("fake", auth.getApihost(), Collections.singletonList(ns))),
+                null, null);
+        WhiskLazyTreeNode namespaceNode = (WhiskLazyTreeNode) ((DefaultMutableTreeNode) tree.getRoot()).getFirstChild().getChildAt(0);
+        tree.replaceChildren(namespaceNode, WhiskTree.createNamespaceChildren(ns));
+
+        // then
+        assertTrue("the given namespace is shared with the UI", validated.getPackages().isEmpty());
+        assertEquals(50, ns.getPackages().size());
+        assertEquals(2000, ns.getActions().size());
+        assertEquals(200, ns.getTriggers().size());
+        // 10 full pages and an empty one, and a page for each of the other lists
+        // the page after the last one is requested as well, unless it is dropped before it is sent
+        assertPageRequests(11, "GET actions");
+        assertPageRequests(1, "GET packages");
+        assertPageRequests(2, "GET triggers");
+        assertTrue(controller.getTotalRequestCount() >= 14 && controller.getTotalRequestCount() <= 17);
+        // the trigger root, the packages and the actions that are not in a package
+        long actionsWithoutPackage = ns.getActions().stream().filter(a -> a.getWhiskPackage().isEmpty()).count();
+        assertEquals(1 + 50 + actionsWithoutPackage, namespaceNode.getChildCount());
+        assertTrue(tree.findNode(auth.getApihost(), "/" + FakeWhiskController.NAMESPACE + "/pkg0").isPresent());
+        assertTrue(tree.findNode(auth.getApihost(), "/" + FakeWhiskController.NAMESPACE + "/action1999").isPresent());
+    }
+
+    @Test
+    public void refreshKeepsUnchangedNodes() throws Exception {
+        // given
+        WhiskAuth auth = controller.getAuth();
+        WhiskNamespace ns = whiskEntityLoader
+                .loadNamespace(auth, new WhiskNamespace(auth.getAuth(), FakeWhiskController.NAMESPACE))
+                .get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        WhiskTree tree = new WhiskTree(Collections.singletonList(new WhiskEndpoint("fake", auth.getApihost(), Collections.singletonList(ns))),
+                null, null);
+        WhiskLazyTreeNode namespaceNode = (WhiskLazyTreeNode) ((DefaultMutableTreeNode) tree.getRoot()).getFirstChild().getChildAt(0);
+        tree.replaceChildren(namespaceNode, WhiskTree.createNamespaceChildren(ns));
+        DefaultMutableTreeNode pkg0 = tree.findNode(auth.getApihost(), "/" + FakeWhiskController.NAMESPACE + "/pkg0").orElseThrow();
+        controller.resetRequestCounts();
+
+        // when
+        WhiskNamespace reloaded = whiskEntityLoader.loadNamespace(auth, ns).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        List<DefaultMutableTreeNode> kept = tree.applyChildren(namespaceNode, WhiskTree.createNamespaceChildren(reloaded));
+
+        // then
+        assertTrue(controller.getTotalRequestCount() >= 14 && controller.getTotalRequestCount() <= 17);
+        assertEquals(namespaceNode.getChildCount(), kept.size());
+        assertSame(pkg0, tree.findNode(auth.getApihost(), "/" + FakeWhiskController.NAMESPACE + "/pkg0").orElseThrow());
+    }
+
+    @Test
+    public void invalidateOnlyLoadedNamespacesOfTheAuth() {
+        // given
+        WhiskAuth auth = controller.getAuth();
+        WhiskNamespace ns = new WhiskNamespace(auth.getAuth(), FakeWhiskController.NAMESPACE);
+        WhiskNamespace other = new WhiskNamespace("other:key", "other");
+        WhiskTree tree = new WhiskTree(Collections.singletonList(new WhiskEndpoint("fake", auth.getApihost(), Arrays.asList(ns, other))),
+                null, null);
+        DefaultMutableTreeNode endpointNode = (DefaultMutableTreeNode) ((DefaultMutableTreeNode) tree.getRoot()).getFirstChild();
+        WhiskLazyTreeNode namespaceNode = (WhiskLazyTreeNode) endpointNode.getChildAt(0);
+        WhiskLazyTreeNode otherNode = (WhiskLazyTreeNode) endpointNode.getChildAt(1);
+
+        // when, then
+        assertTrue("a namespace that is not loaded yet is loaded fresh anyway", tree.invalidate(auth).isEmpty());
+        namespaceNode.setLoading(CompletableFuture.completedFuture(null));
+        otherNode.setLoading(CompletableFuture.completedFuture(null));
+        assertEquals(Collections.singletonList(namespaceNode), tree.invalidate(auth));
+        assertTrue(namespaceNode.isStale());
+        assertFalse(otherNode.isStale());
+        assertTrue(tree.invalidate(new WhiskAuth(auth.getAuth(), "https://other.host")).isEmpty());
+    }
+
+    @Test
+    public void failWhenControllerIsUnavailable() throws Exception {
+        // given
+        controller.withErrorRate(1);
+        WhiskAuth auth = controller.getAuth();
+
+        // when
+        assertFalse(WhiskNamespaceService.getInstance().validateNamespace(auth).isPresent());
+        try {
+            whiskEntityLoader
+                    .loadNamespace(auth, new WhiskNamespace(auth.getAuth(), FakeWhiskController.NAMESPACE))
+                    .get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            // then
+            assertTrue(e.getCause().getCause() instanceof HttpResponseException);
+            assertEquals(503, ((HttpResponseException) e.getCause().getCause()).getStatusCode());
+        }
+    }
+
+    private void assertPageRequests(int pages, String route) {
+        int requests = controller.getRequestCount(route);
+        assertTrue(route + ": " + requests, requests == pages || requests == pages + 1);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class WhiskTreeDiffTest {
+    private DefaultMutableTreeNode root;
+    private DefaultTreeModel model;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        root = new DefaultMutableTreeNode("root");
+        model = new DefaultTreeModel(root);
+        events = new ArrayList<>();
+        model.addTreeModelListener(new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {
+                events.add("changed");
+            }
+
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                events.add("inserted");
+            }
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {
+                events.add("removed");
+            }
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {
+                events.add("structureChanged");
+            }
+        });
+    }
+
+    @Test
+    public void testUnchangedSnapshotFiresNothing() {
+        // given
+        DefaultMutableTreeNode foo = new DefaultMutableTreeNode(action("foo", "0.0.1", 1L));
+        root.add(foo);
+
+        // when
+        List<DefaultMutableTreeNode> kept = WhiskTreeDiff.apply(model, root, nodes(action("foo", "0.0.1", 1L)));
+
+        // then
+        assertEquals(0, events.size());
+        assertSame(foo, kept.get(0));
+    }
+
+    @Test
+    public void testApplyInsertRemoveAndChange() {
+        // given
+        DefaultMutableTreeNode bar = new DefaultMutableTreeNode(action("bar", "0.0.1", 1L));
+        root.add(bar);
+        root.add(new DefaultMutableTreeNode(action("foo", "0.0.1", 1L)));
+
+        // when
+        List<DefaultMutableTreeNode> kept = WhiskTreeDiff.apply(model, root,
+                nodes(action("bar", "0.0.2", 2L), action("baz", "0.0.1", 1L)));
+
+        // then
+        assertEquals(List.of("removed", "changed", "inserted"), events);
+        assertEquals(2, root.getChildCount());
+        assertSame(bar, root.getChildAt(0));
+        assertEquals("0.0.2", ((WhiskActionMetaData) bar.getUserObject()).getVersion());
+        assertEquals("baz", ((WhiskActionMetaData) ((DefaultMutableTreeNode) root.getChildAt(1)).getUserObject()).getName());
+        assertEquals(List.of(bar), kept);
+    }
+
+    @Test
+    public void testKeepChildrenOfUpdatedNode() {
+        // given
+        DefaultMutableTreeNode bar = new DefaultMutableTreeNode(action("bar", "0.0.1", 1L));
+        bar.add(new DefaultMutableTreeNode("child"));
+        root.add(bar);
+
+        // when
+        WhiskTreeDiff.apply(model, root, nodes(action("bar", "0.0.1", 2L)));
+
+        // then
+        assertEquals(List.of("changed"), events);
+        assertEquals(1, bar.getChildCount());
+    }
+
+    private WhiskActionMetaData action(String name, String version, long updated) {
+        return new WhiskActionMetaData(name, "ns", version, updated, false, new ArrayList<>(), null, null);
+    }
+
+    private List<DefaultMutableTreeNode> nodes(WhiskActionMetaData... actions) {
+        List<DefaultMutableTreeNode> nodes = new ArrayList<>();
+        for (WhiskActionMetaData action : actions) {
+            nodes.add(new DefaultMutableTreeNode(action));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.explorer.toolwindow.tree;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskEndpoint;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskNamespace;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.WhiskActionMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.pkg.WhiskPackage;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerMetaData;
+import com.navercorp.openwhisk.intellij.common.whisk.model.trigger.WhiskTriggerRoot;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class WhiskTreeIndexTest {
+    private static final String APIHOST = "https://localhost:31001";
+
+    private DefaultMutableTreeNode root;
+    private DefaultMutableTreeNode namespaceNode;
+    private DefaultTreeModel model;
+    private WhiskTreeIndex index;
+
+    @Before
+    public void setUp() {
+        root = new DefaultMutableTreeNode("root");
+        DefaultMutableTreeNode endpointNode = new DefaultMutableTreeNode(new WhiskEndpoint("local", APIHOST, new ArrayList<>()));
+        namespaceNode = new DefaultMutableTreeNode(new WhiskNamespace("auth", "ns"));
+        endpointNode.add(namespaceNode);
+        root.add(endpointNode);
+
+        model = new DefaultTreeModel(root);
+        index = new WhiskTreeIndex();
+        index.indexSubtree(root);
+        model.addTreeModelListener(index);
+    }
+
+    @Test
+    public void findInsertedNodes() {
+        // given
+        DefaultMutableTreeNode triggerRoot = new DefaultMutableTreeNode(new WhiskTriggerRoot());
+        DefaultMutableTreeNode trigger = new DefaultMutableTreeNode(trigger("t1"));
+        triggerRoot.add(trigger);
+        DefaultMutableTreeNode pkg = new DefaultMutableTreeNode(pkg("pkg"));
+        DefaultMutableTreeNode action = new DefaultMutableTreeNode(action("a1"));
+        pkg.add(action);
+
+        // when
+        model.insertNodeInto(triggerRoot, namespaceNode, 0);
+        model.insertNodeInto(pkg, namespaceNode, 1);
+
+        // then
+        assertSame(namespaceNode, index.find(APIHOST, "/ns").get());
+        assertSame(trigger, index.find(APIHOST, "/ns/t1").get());
+        assertSame(action, index.find(APIHOST, "/ns/pkg/a1").get());
+        assertSame(pkg, index.find(APIHOST, "/ns/pkg").get());
+    }
+
+    @Test
+    public void dropRemovedNodes() {
+        // given
+        DefaultMutableTreeNode pkg = new DefaultMutableTreeNode(pkg("pkg"));
+        pkg.add(new DefaultMutableTreeNode(action("a1")));
+        model.insertNodeInto(pkg, namespaceNode, 0);
+
+        // when
+        model.removeNodeFromParent(pkg);
+
+        // then
+        assertFalse(index.find(APIHOST, "/ns/pkg").isPresent());
+        assertFalse(index.find(APIHOST, "/ns/pkg/a1").isPresent());
+    }
+
+    @Test
+    public void reindexChangedStructure() {
+        // given
+        model.insertNodeInto(new DefaultMutableTreeNode(action("a1")), namespaceNode, 0);
+
+        // when
+        namespaceNode.removeAllChildren();
+        DefaultMutableTreeNode a2 = new DefaultMutableTreeNode(action("a2"));
+        namespaceNode.add(a2);
+        model.nodeStructureChanged(namespaceNode);
+
+        // then
+        assertFalse(index.find(APIHOST, "/ns/a1").isPresent());
+        assertSame(a2, index.find(APIHOST, "/ns/a2").get());
+        assertEquals(APIHOST + "/ns/a2", WhiskTreeIndex.keyOf(a2).get());
+    }
+
+    @Test
+    public void keepOtherSubtreesOnStructureChange() {
+        // given
+        DefaultMutableTreeNode otherNamespaceNode = new DefaultMutableTreeNode(new WhiskNamespace("auth", "other"));
+        model.insertNodeInto(otherNamespaceNode, (DefaultMutableTreeNode) namespaceNode.getParent(), 1);
+        DefaultMutableTreeNode kept = new DefaultMutableTreeNode(action("kept"));
+        model.insertNodeInto(kept, otherNamespaceNode, 0);
+        DefaultMutableTreeNode pkg = new DefaultMutableTreeNode(pkg("pkg"));
+        pkg.add(new DefaultMutableTreeNode(action("a1")));
+        model.insertNodeInto(pkg, namespaceNode, 0);
+
+        // when
+        namespaceNode.removeAllChildren();
+        model.nodeStructureChanged(namespaceNode);
+
+        // then
+        assertFalse(index.find(APIHOST, "/ns/pkg").isPresent());
+        assertFalse(index.find(APIHOST, "/ns/pkg/a1").isPresent());
+        assertSame(kept, index.find(APIHOST, "/other/kept").get());
+    }
+
+    private WhiskActionMetaData action(String name) {
+        return new WhiskActionMetaData(name, "ns", "0.0.1", 1L, false, new ArrayList<>(), null, null);
+    }
+
+    private WhiskPackage pkg(String name) {
+        return new WhiskPackage(name, "ns", false, 1L, "0.0.1", new ArrayList<>(), false);
+    }
+
+    private WhiskTriggerMetaData trigger(String name) {
+        return new WhiskTriggerMetaData(name, "ns", "0.0.1", 1L, false, new ArrayList<>());
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.run.toolwindow;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.navercorp.openwhisk.intellij.common.whisk.model.action.ExecutableWhiskAction;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActionService;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskActivationService;
+import com.navercorp.openwhisk.intellij.common.whisk.service.WhiskTriggerService;
+import com.navercorp.openwhisk.intellij.utils.FakeWhiskController;
+import org.apache.http.client.HttpResponseException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Invokes actions and fires triggers against the fake controller the way the run window does.
+ * Every run reads the action once and invokes it once, and a failed invocation is reported rather than retried,
+ * so each activation on the controller matches exactly one successful run.
+ */
+public class WhiskRunPerformanceTest {
+    private static final int RUNS = 50;
+
+    private final WhiskActionService whiskActionService = WhiskActionService.getInstance();
+    private final WhiskTriggerService whiskTriggerService = WhiskTriggerService.getInstance();
+    private final WhiskActivationService whiskActivationService = WhiskActivationService.getInstance();
+
+    private FakeWhiskController controller;
+    private WhiskAuth auth;
+
+    @Before
+    public void setUp() throws IOException {
+        controller = new FakeWhiskController(2, 10, 2, 0).withLatency(2).start();
+        auth = controller.getAuth();
+    }
+
+    @After
+    public void tearDown() {
+        controller.close();
+    }
+
+    @Test
+    public void invokeActionRepeatedly() throws IOException {
+        // when
+        for (int i = 0; i < RUNS; i++) {
+            ExecutableWhiskAction action = whiskActionService.getWhiskAction(auth, Optional.empty(), Optional.empty(), "action1").orElseThrow();
+            String result = whiskActionService.invokeWhiskAction(auth, Optional.empty(), action.getWhiskPackage(), action.getName(),
+                    "{\"run\": " + i + "}");
+            assertTrue(result.contains("\"run\" : " + i));
+        }
+
+        // then
+        assertEquals(RUNS, controller.getActivationCount());
+        // every run reads the action once and invokes it once
+        assertEquals(RUNS, controller.getRequestCount("GET actions"));
+        assertEquals(RUNS, controller.getRequestCount("POST actions"));
+        assertEquals(2 * RUNS, controller.getTotalRequestCount());
+    }
+
+    @Test
+    public void fireTriggerAndOpenActivation() throws IOException {
+        // when
+        String fired = whiskTriggerService.fireWhiskTrigger(auth, "trigger0", "{}").orElseThrow();
+        String activationId = fired.replaceAll("(?s).*\"activationId\" : \"([0-9a-f]+)\".*", "$1");
+
+        // then
+        assertTrue(whiskActivationService.getWhiskActivation(auth, activationId).isPresent());
+        assertEquals(1, controller.getRequestCount("POST triggers"));
+        assertEquals(1, controller.getRequestCount("GET activations"));
+    }
+
+    @Test
+    public void surviveFailingInvocations() throws IOException {
+        // given
+        controller.withErrorRate(0.5);
+        int failures = 0;
+
+        // when
+        for (int i = 0; i < RUNS; i++) {
+            try {
+                whiskActionService.invokeWhiskAction(auth, Optional.empty(), Optional.empty(), "action1", "{}");
+            } catch (HttpResponseException e) {
+                assertEquals(503, e.getStatusCode());
+                failures++;
+            }
+        }
+
+        // then
+        assertTrue(failures > 0 && failures < RUNS);
+        assertEquals(RUNS - failures, controller.getActivationCount());
+    }
+}
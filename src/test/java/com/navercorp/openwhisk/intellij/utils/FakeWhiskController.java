@@ -0,0 +1,599 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.openwhisk.intellij.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.openwhisk.intellij.common.whisk.model.WhiskAuth;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An in-process stand-in for the OpenWhisk controller, for load and performance tests without a live cluster.
+ * It serves the /api/v1/namespaces routes used by the services for one synthetic namespace of the given size:
+ * packages, actions, triggers, rules and activations can be listed, read, updated, deleted, invoked and fired.
+ * Every fourth action is in a package, every trigger has a rule to an action, and the newest activation is listed first.
+ * Latency, error rate and the largest page can be injected.
+ */
+public class FakeWhiskController implements AutoCloseable {
+    public static final String NAMESPACE = "guest";
+    public static final String AUTH = "23bc46b1-71f6-4ed5-8c54-816aa4f8c502:123zO3xZCLrMN6v2BKK1dXYFpXlPkccOFqm12CdAsMgRU4VrNZ9lyGVCGuMDGIwP";
+
+    /**
+     * The largest limit the controller accepts.
+     */
+    public static final int DEFAULT_MAX_PAGE_SIZE = 200;
+
+    private static final int DEFAULT_PAGE_SIZE = 30;
+    private static final int SERVER_THREADS = 64;
+    private static final long BASE_TIME = 1600000000000L;
+    private static final String[] KINDS = {"nodejs:12", "python:3", "go:1.15"};
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, Map<String, Object>> packages = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> actions = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> triggers = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> rules = new LinkedHashMap<>();
+    private final List<Map<String, Object>> activations = new ArrayList<>();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final Random random = new Random(42);
+
+    private volatile long latencyMs;
+    private volatile double errorRate;
+    private volatile int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+    private volatile long activationDelayMs;
+    private int nextActivation;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Generates the namespace, every action has a code of about 1KB.
+     */
+    public FakeWhiskController(int packageCount, int actionCount, int triggerCount, int activationCount) {
+        this(packageCount, actionCount, triggerCount, activationCount, 1024);
+    }
+
+    public FakeWhiskController(int packageCount, int actionCount, int triggerCount, int activationCount, int codeSize) {
+        for (int i = 0; i < packageCount; i++) {
+            packages.put("pkg" + i, createPackage("pkg" + i, i));
+        }
+        for (int i = 0; i < actionCount; i++) {
+            String pkg = i % 4 == 0 && packageCount > 0 ? "pkg" + (i / 4 % packageCount) : null;
+            String name = pkg == null ? "action" + i : pkg + "/action" + i;
+            actions.put(name, createAction(pkg, "action" + i, KINDS[i % KINDS.length], codeSize, i));
+        }
+        List<String> actionNames = new ArrayList<>(actions.keySet());
+        for (int i = 0; i < triggerCount; i++) {
+            triggers.put("trigger" + i, createTrigger("trigger" + i, i));
+            if (!actionNames.isEmpty()) {
+                rules.put("rule" + i, createRule("rule" + i, "trigger" + i, actionNames.get(i % actionNames.size()), i));
+            }
+        }
+        for (int i = 0; i < activationCount && !actionNames.isEmpty(); i++) {
+            String actionName = actionNames.get(i % actionNames.size());
+            activations.add(0, createActivation(actionName, BASE_TIME + i * 1000L, Map.of("index", i)));
+        }
+    }
+
+    public FakeWhiskController withLatency(long millis) {
+        this.latencyMs = millis;
+        return this;
+    }
+
+    /**
+     * @param rate the share of requests, between 0 and 1, that are answered with 503 Service Unavailable.
+     */
+    public FakeWhiskController withErrorRate(double rate) {
+        this.errorRate = rate;
+        return this;
+    }
+
+    public FakeWhiskController withMaxPageSize(int size) {
+        this.maxPageSize = size;
+        return this;
+    }
+
+    /**
+     * @param millis how long an activation stays unknown, as if it were still running, after it is started.
+     */
+    public FakeWhiskController withActivationDelay(long millis) {
+        this.activationDelayMs = millis;
+        return this;
+    }
+
+    public FakeWhiskController start() throws IOException {
+        // without it every response waits for the delayed ACK of its headers
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(SERVER_THREADS);
+        server.setExecutor(executor);
+        server.createContext("/api/v1/namespaces", this::handle);
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public String getApihost() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public WhiskAuth getAuth() {
+        return new WhiskAuth(AUTH, getApihost());
+    }
+
+    /**
+     * @param route the method and the collection, such as "GET actions" or "POST triggers".
+     */
+    public int getRequestCount(String route) {
+        AtomicInteger count = requestCounts.get(route);
+        return count == null ? 0 : count.get();
+    }
+
+    public int getTotalRequestCount() {
+        return requestCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    public void resetRequestCounts() {
+        requestCounts.clear();
+    }
+
+    public synchronized int getActivationCount() {
+        return activations.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            // /api/v1/namespaces/{namespace}/{collection}/{name...}
+            List<String> segments = Arrays.stream(exchange.getRequestURI().getPath().split("/"))
+                    .filter(s -> !s.isEmpty())
+                    .skip(3)
+                    .collect(Collectors.toList());
+            String collection = segments.size() > 1 ? segments.get(1) : "namespaces";
+            requestCounts.computeIfAbsent(method + " " + collection, k -> new AtomicInteger()).incrementAndGet();
+
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (errorRate > 0 && nextRandom() < errorRate) {
+                sendError(exchange, 503, "The server is currently unavailable (because it is overloaded or down for maintenance).");
+                return;
+            }
+
+            if (segments.isEmpty()) {
+                send(exchange, 200, List.of(NAMESPACE));
+                return;
+            }
+            if (!segments.get(0).equals("_") && !segments.get(0).equals(NAMESPACE)) {
+                sendError(exchange, 401, "The supplied authentication is not authorized to access '" + segments.get(0) + "'.");
+                return;
+            }
+
+            String name = String.join("/", segments.subList(Math.min(2, segments.size()), segments.size()));
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            synchronized (this) {
+                route(exchange, method, collection, name, query, body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String collection, String name, Map<String, String> query, byte[] body)
+            throws IOException {
+        if (collection.equals("activations")) {
+            routeActivations(exchange, name, query);
+            return;
+        }
+
+        Map<String, Map<String, Object>> entities = getCollection(collection);
+        if (entities == null) {
+            sendError(exchange, 404, "The requested resource does not exist.");
+        } else if (name.isEmpty() && method.equals("GET")) {
+            List<Map<String, Object>> all = entities.values().stream().map(this::toMetaData).collect(Collectors.toList());
+            send(exchange, 200, page(all, query));
+        } else if (method.equals("GET")) {
+            sendEntity(exchange, "false".equals(query.get("code")) ? withoutCode(entities.get(name)) : entities.get(name));
+        } else if (method.equals("DELETE")) {
+            sendEntity(exchange, entities.remove(name));
+        } else if (method.equals("PUT")) {
+            put(exchange, collection, entities, name, query, body);
+        } else if (method.equals("POST") && collection.equals("actions")) {
+            invoke(exchange, name, query, body);
+        } else if (method.equals("POST") && collection.equals("triggers")) {
+            fire(exchange, name, body);
+        } else {
+            sendError(exchange, 405, "Method not allowed.");
+        }
+    }
+
+    private void routeActivations(HttpExchange exchange, String name, Map<String, String> query) throws IOException {
+        if (name.isEmpty()) {
+            String filter = query.get("name");
+            long since = Long.parseLong(query.getOrDefault("since", "0"));
+            long upto = Long.parseLong(query.getOrDefault("upto", String.valueOf(Long.MAX_VALUE)));
+            List<Map<String, Object>> matched = activations.stream()
+                    .filter(a -> filter == null || filter.equals(a.get("name")))
+                    .filter(a -> (long) a.get("start") >= since && (long) a.get("start") <= upto)
+                    .filter(this::isRecorded)
+                    .map(this::toMetaData)
+                    .collect(Collectors.toList());
+            send(exchange, 200, page(matched, query));
+            return;
+        }
+
+        String[] idAndPart = name.split("/", 2);
+        Map<String, Object> activation = activations.stream()
+                .filter(a -> a.get("activationId").equals(idAndPart[0]))
+                .filter(this::isRecorded)
+                .findFirst()
+                .orElse(null);
+        if (activation == null) {
+            sendError(exchange, 404, "The requested resource does not exist.");
+        } else if (idAndPart.length == 1) {
+            send(exchange, 200, activation);
+        } else if (idAndPart[1].equals("logs")) {
+            send(exchange, 200, Map.of("logs", activation.get("logs")));
+        } else {
+            send(exchange, 200, activation.get("response"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void put(HttpExchange exchange,
+                     String collection,
+                     Map<String, Map<String, Object>> entities,
+                     String name,
+                     Map<String, String> query,
+                     byte[] body) throws IOException {
+        Map<String, Object> old = entities.get(name);
+        if (old != null && !Boolean.parseBoolean(query.get("overwrite"))) {
+            sendError(exchange, 409, "resource already exists");
+            return;
+        }
+
+        Map<String, Object> entity = old == null ? createEntity(collection, name) : new LinkedHashMap<>(old);
+        Map<String, Object> payload = body.length == 0 ? Map.of() : MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {
+        });
+        payload.forEach((key, value) -> {
+            if (!key.equals("name") && !key.equals("namespace")) {
+                entity.put(key, value);
+            }
+        });
+        if (entity.get("exec") instanceof Map) {
+            Map<String, Object> exec = new LinkedHashMap<>((Map<String, Object>) entity.get("exec"));
+            exec.putIfAbsent("binary", false);
+            entity.put("exec", exec);
+        }
+        for (String reference : List.of("trigger", "action")) {
+            // rules are PUT with fully qualified names and answered with their path and name
+            if (collection.equals("rules") && entity.get(reference) instanceof String) {
+                entity.put(reference, toPathAndName((String) entity.get(reference)));
+            }
+        }
+        entity.put("version", old == null ? "0.0.1" : nextVersion((String) old.get("version")));
+        entity.put("updated", System.currentTimeMillis());
+        entities.put(name, entity);
+        send(exchange, 200, entity);
+    }
+
+    private void invoke(HttpExchange exchange, String name, Map<String, String> query, byte[] body) throws IOException {
+        if (!actions.containsKey(name)) {
+            sendError(exchange, 404, "The requested resource does not exist.");
+            return;
+        }
+
+        Map<String, Object> params = body.length == 0 ? Map.of() : MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {
+        });
+        Map<String, Object> activation = createActivation(name, System.currentTimeMillis(), params);
+        activations.add(0, activation);
+        if (!Boolean.parseBoolean(query.get("blocking"))) {
+            send(exchange, 202, Map.of("activationId", activation.get("activationId")));
+        } else if (Boolean.parseBoolean(query.get("result"))) {
+            send(exchange, 200, ((Map<?, ?>) activation.get("response")).get("result"));
+        } else {
+            send(exchange, 200, activation);
+        }
+    }
+
+    private void fire(HttpExchange exchange, String name, byte[] body) throws IOException {
+        if (!triggers.containsKey(name)) {
+            sendError(exchange, 404, "The requested resource does not exist.");
+            return;
+        }
+
+        Map<String, Object> params = body.length == 0 ? Map.of() : MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {
+        });
+        long start = System.currentTimeMillis();
+        Map<String, Object> activation = createActivation(name, start, params);
+        // like the controller, the trigger activation logs one line per rule with the activation of its action
+        List<String> logs = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> rule : rules.entrySet()) {
+            String action = (String) ((Map<?, ?>) rule.getValue().get("action")).get("name");
+            if (name.equals(((Map<?, ?>) rule.getValue().get("trigger")).get("name")) && actions.containsKey(action)) {
+                Map<String, Object> ruleActivation = createActivation(action, start, params);
+                activations.add(0, ruleActivation);
+                logs.add(MAPPER.writeValueAsString(Map.of(
+                        "statusCode", 0,
+                        "success", true,
+                        "activationId", ruleActivation.get("activationId"),
+                        "rule", NAMESPACE + "/" + rule.getKey(),
+                        "action", NAMESPACE + "/" + action)));
+            }
+        }
+        activation.put("logs", logs);
+        activations.add(0, activation);
+        send(exchange, 202, Map.of("activationId", activation.get("activationId")));
+    }
+
+    private boolean isRecorded(Map<String, Object> activation) {
+        return (long) activation.get("start") + activationDelayMs <= System.currentTimeMillis();
+    }
+
+    private List<Map<String, Object>> page(List<Map<String, Object>> all, Map<String, String> query) {
+        int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE)));
+        int skip = Integer.parseInt(query.getOrDefault("skip", "0"));
+        int size = limit <= 0 ? maxPageSize : Math.min(limit, maxPageSize);
+        return all.subList(Math.min(skip, all.size()), Math.min(skip + size, all.size()));
+    }
+
+    private Map<String, Map<String, Object>> getCollection(String collection) {
+        switch (collection) {
+            case "packages":
+                return packages;
+            case "actions":
+                return actions;
+            case "triggers":
+                return triggers;
+            case "rules":
+                return rules;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * An action read with code=false keeps everything but the code.
+     */
+    private Map<String, Object> withoutCode(Map<String, Object> entity) {
+        if (entity == null || !(entity.get("exec") instanceof Map)) {
+            return entity;
+        }
+        Map<Object, Object> exec = new LinkedHashMap<>((Map<?, ?>) entity.get("exec"));
+        exec.remove("code");
+        Map<String, Object> copy = new LinkedHashMap<>(entity);
+        copy.put("exec", exec);
+        return copy;
+    }
+
+    /**
+     * Lists carry the entities without their code, parameters, logs and results, like the controller.
+     * Only actions are listed with their limits.
+     */
+    private Map<String, Object> toMetaData(Map<String, Object> entity) {
+        Map<String, Object> metaData = new LinkedHashMap<>(entity);
+        metaData.remove("parameters");
+        metaData.remove("actions");
+        metaData.remove("feeds");
+        metaData.remove("rules");
+        metaData.remove("logs");
+        metaData.remove("response");
+        metaData.remove("subject");
+        if (metaData.containsKey("activationId")) {
+            metaData.put("statusCode", 0);
+        }
+        if (!metaData.containsKey("exec")) {
+            metaData.remove("limits");
+        }
+        if (metaData.get("exec") instanceof Map) {
+            metaData.put("exec", Map.of("binary", ((Map<?, ?>) metaData.get("exec")).get("binary")));
+        }
+        return metaData;
+    }
+
+    private Map<String, Object> createEntity(String collection, String name) {
+        switch (collection) {
+            case "packages":
+                return createPackage(name, 0);
+            case "actions":
+                String[] pkgAndName = name.contains("/") ? name.split("/", 2) : new String[]{null, name};
+                return createAction(pkgAndName[0], pkgAndName[1], KINDS[0], 0, 0);
+            case "triggers":
+                return createTrigger(name, 0);
+            default:
+                return createRule(name, null, null, 0);
+        }
+    }
+
+    private Map<String, Object> createPackage(String name, int index) {
+        Map<String, Object> pkg = createCommon(name, NAMESPACE, index);
+        pkg.put("annotations", List.of(keyValue("description", "package " + index)));
+        pkg.put("binding", Map.of());
+        pkg.put("parameters", List.of());
+        pkg.put("actions", new ArrayList<>());
+        pkg.put("feeds", List.of());
+        return pkg;
+    }
+
+    private Map<String, Object> createAction(String pkg, String name, String kind, int codeSize, int index) {
+        Map<String, Object> action = createCommon(name, pkg == null ? NAMESPACE : NAMESPACE + "/" + pkg, index);
+        action.put("annotations", List.of(keyValue("exec", kind), keyValue("provide-api-key", false)));
+        Map<String, Object> exec = new LinkedHashMap<>();
+        exec.put("kind", kind);
+        exec.put("code", createCode(codeSize));
+        exec.put("binary", false);
+        action.put("exec", exec);
+        action.put("limits", Map.of("concurrency", 1, "logs", 10, "memory", 256, "timeout", 60000));
+        action.put("parameters", List.of(keyValue("index", index)));
+        if (pkg != null && packages.containsKey(pkg)) {
+            @SuppressWarnings("unchecked")
+            List<Object> packageActions = (List<Object>) packages.get(pkg).get("actions");
+            packageActions.add(Map.of("name", name, "version", "0.0.1", "annotations", action.get("annotations")));
+        }
+        return action;
+    }
+
+    private Map<String, Object> createTrigger(String name, int index) {
+        Map<String, Object> trigger = createCommon(name, NAMESPACE, index);
+        trigger.put("annotations", List.of());
+        trigger.put("limits", Map.of());
+        trigger.put("parameters", List.of());
+        trigger.put("rules", Map.of(NAMESPACE + "/rule" + index, Map.of(
+                "action", Map.of("name", "action" + index, "path", NAMESPACE),
+                "status", "active")));
+        return trigger;
+    }
+
+    private Map<String, Object> createRule(String name, String trigger, String action, int index) {
+        Map<String, Object> rule = createCommon(name, NAMESPACE, index);
+        rule.put("status", "active");
+        rule.put("trigger", Map.of("name", String.valueOf(trigger), "path", NAMESPACE));
+        rule.put("action", Map.of("name", String.valueOf(action), "path", NAMESPACE));
+        return rule;
+    }
+
+    private Map<String, Object> createActivation(String name, long start, Map<String, Object> params) {
+        String activationId = String.format("%032x", nextActivation++);
+        Map<String, Object> activation = new LinkedHashMap<>();
+        activation.put("activationId", activationId);
+        activation.put("annotations", List.of(
+                keyValue("path", NAMESPACE + "/" + name),
+                keyValue("waitTime", 12),
+                keyValue("kind", KINDS[0]),
+                keyValue("timeout", false),
+                keyValue("initTime", 30)));
+        activation.put("duration", 40);
+        activation.put("start", start);
+        activation.put("end", start + 40);
+        activation.put("logs", List.of(
+                Instant.ofEpochMilli(start) + " stdout: invoked " + name,
+                Instant.ofEpochMilli(start + 40) + " stdout: done"));
+        activation.put("name", name.substring(name.lastIndexOf('/') + 1));
+        activation.put("namespace", NAMESPACE);
+        activation.put("publish", false);
+        activation.put("response", Map.of("result", Map.of("payload", params), "size", 32, "status", "success", "success", true));
+        activation.put("subject", NAMESPACE);
+        activation.put("version", "0.0.1");
+        return activation;
+    }
+
+    private Map<String, Object> createCommon(String name, String namespace, int index) {
+        Map<String, Object> entity = new LinkedHashMap<>();
+        entity.put("name", name);
+        entity.put("namespace", namespace);
+        entity.put("publish", false);
+        entity.put("updated", BASE_TIME + index);
+        entity.put("version", "0.0.1");
+        return entity;
+    }
+
+    private Map<String, Object> toPathAndName(String fullyQualifiedName) {
+        String[] segments = fullyQualifiedName.replaceFirst("^/_/", "").replaceFirst("^/" + NAMESPACE + "/", "").split("/");
+        String path = segments.length == 1 ? NAMESPACE : NAMESPACE + "/" + segments[0];
+        return Map.of("path", path, "name", segments[segments.length - 1]);
+    }
+
+    private Map<String, Object> keyValue(String key, Object value) {
+        Map<String, Object> keyValue = new LinkedHashMap<>();
+        keyValue.put("key", key);
+        keyValue.put("value", value);
+        return keyValue;
+    }
+
+    private String createCode(int size) {
+        StringBuilder code = new StringBuilder("function main(params) {\n");
+        while (code.length() < size) {
+            code.append("    // ").append(code.length()).append('\n');
+        }
+        return code.append("    return params;\n}\n").toString();
+    }
+
+    private String nextVersion(String version) {
+        String[] parts = version.split("\\.");
+        parts[2] = String.valueOf(Integer.parseInt(parts[2]) + 1);
+        return String.join(".", parts);
+    }
+
+    private synchronized double nextRandom() {
+        return random.nextDouble();
+    }
+
+    private Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                String[] keyValue = pair.split("=", 2);
+                query.put(keyValue[0], keyValue.length > 1 ? URLDecoder.decode(keyValue[1], UTF_8) : "");
+            }
+        }
+        return query;
+    }
+
+    private void sendEntity(HttpExchange exchange, Map<String, Object> entity) throws IOException {
+        if (entity == null) {
+            sendError(exchange, 404, "The requested resource does not exist.");
+        } else {
+            send(exchange, 200, entity);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String error) throws IOException {
+        send(exchange, status, Map.of("error", error, "code", Integer.toHexString(System.identityHashCode(exchange))));
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
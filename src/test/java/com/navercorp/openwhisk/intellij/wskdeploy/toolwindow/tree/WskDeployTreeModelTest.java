@@ -0,0 +1,86 @@
+/**
+ * Copyright 2020-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.openwhisk.intellij.wskdeploy.toolwindow.tree;
+
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.NullWskDeployBinary;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployCmdDeploy;
+import com.navercorp.openwhisk.intellij.common.whisk.model.wskdeploy.WskDeployManifest;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WskDeployTreeModelTest {
+    private WskDeployTreeModel model;
+    private DefaultMutableTreeNode root;
+    private DefaultMutableTreeNode first;
+    private DefaultMutableTreeNode third;
+
+    @Before
+    public void setUp() {
+        model = new WskDeployTreeModel(new NullWskDeployBinary(), List.of(manifest("a.yaml", "action a"), manifest("c.yaml", "action c")));
+        root = (DefaultMutableTreeNode) model.getRoot();
+        first = (DefaultMutableTreeNode) root.getChildAt(0);
+        third = (DefaultMutableTreeNode) root.getChildAt(1);
+    }
+
+    @Test
+    public void insertOnlyNewManifests() {
+        // when
+        List<DefaultMutableTreeNode> inserted = model.updateManifests(List.of(
+                manifest("a.yaml", "action a"), manifest("b.yaml", "action b"), manifest("c.yaml", "action c")));
+
+        // then
+        assertEquals(1, inserted.size());
+        assertSame(inserted.get(0), root.getChildAt(1));
+        assertSame(first, root.getChildAt(0));
+        assertSame(third, root.getChildAt(2));
+        assertEquals(2, inserted.get(0).getChildCount());
+    }
+
+    @Test
+    public void removeAndChangeManifestsInPlace() {
+        // when
+        List<DefaultMutableTreeNode> inserted = model.updateManifests(List.of(manifest("c.yaml", "action c", "action d")));
+
+        // then
+        assertTrue(inserted.isEmpty());
+        assertEquals(1, root.getChildCount());
+        assertSame(third, root.getChildAt(0));
+        assertEquals(List.of("action c", "action d"), ((WskDeployManifest) third.getUserObject()).getEntities());
+        WskDeployCmdDeploy deploy = (WskDeployCmdDeploy) ((DefaultMutableTreeNode) third.getChildAt(0)).getUserObject();
+        assertSame(third.getUserObject(), deploy.getManifest());
+    }
+
+    @Test
+    public void findManifestsByPathOrDirectory() {
+        assertTrue(model.hasManifest("/project/a.yaml"));
+        assertTrue(model.hasManifest("/project"));
+        assertFalse(model.hasManifest("/project/b.yaml"));
+        assertFalse(model.hasManifest("/proj"));
+    }
+
+    private static WskDeployManifest manifest(String path, String... entities) {
+        return new WskDeployManifest(path, "/project/" + path, path, List.of(entities));
+    }
+}